@@ -143,12 +143,15 @@ const DoctorAppointments = () => {
                               ? 'bg-blue-100 text-blue-800 dark:bg-blue-900 dark:text-blue-200'
                               : appointment.status === 'COMPLETED'
                               ? 'bg-green-100 text-green-800 dark:bg-green-900 dark:text-green-200'
+                              : appointment.status === 'NO_SHOW'
+                              ? 'bg-gray-100 text-gray-800 dark:bg-gray-700 dark:text-gray-200'
                               : 'bg-red-100 text-red-800 dark:bg-red-900 dark:text-red-200'
                           }`}
                       >
                         <option value="SCHEDULED">SCHEDULED</option>
                         <option value="CONFIRMED">CONFIRMED</option>
                         <option value="COMPLETED">COMPLETED</option>
+                        <option value="NO_SHOW">NO_SHOW</option>
                         <option value="CANCELED">CANCELED</option>
                       </select>
                     </td>
@@ -221,12 +224,15 @@ const DoctorAppointments = () => {
                           ? 'bg-blue-100 text-blue-800 dark:bg-blue-900 dark:text-blue-200'
                           : appointment.status === 'COMPLETED'
                           ? 'bg-green-100 text-green-800 dark:bg-green-900 dark:text-green-200'
+                          : appointment.status === 'NO_SHOW'
+                          ? 'bg-gray-100 text-gray-800 dark:bg-gray-700 dark:text-gray-200'
                           : 'bg-red-100 text-red-800 dark:bg-red-900 dark:text-red-200'
                       }`}
                   >
                     <option value="SCHEDULED">SCHEDULED</option>
                     <option value="CONFIRMED">CONFIRMED</option>
                     <option value="COMPLETED">COMPLETED</option>
+                    <option value="NO_SHOW">NO_SHOW</option>
                     <option value="CANCELED">CANCELED</option>
                   </select>
                 </div>
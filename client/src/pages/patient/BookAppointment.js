@@ -1,9 +1,10 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import DashboardLayout from '../../components/layout/DashboardLayout';
 import { useAuth } from '../../contexts/AuthContext';
 import { doctorService } from '../../services/doctorService';
 import { appointmentService } from '../../services/appointmentService';
 import { scheduleService } from '../../services/scheduleService';
+import { waitlistService } from '../../services/waitlistService';
 import LoadingSpinner from '../../components/common/LoadingSpinner';
 import { ClockIcon, CalendarIcon } from '@heroicons/react/24/outline';
 
@@ -22,8 +23,11 @@ const BookAppointment = () => {
   });
   const [loading, setLoading] = useState(true);
   const [booking, setBooking] = useState(false);
+  const [joiningWaitlist, setJoiningWaitlist] = useState(false);
   const [error, setError] = useState('');
   const [success, setSuccess] = useState('');
+  // Kept across submits until the server answers, so resubmitting after a timeout cannot book twice
+  const idempotencyKeyRef = useRef(null);
 
   useEffect(() => {
     fetchDoctors();
@@ -89,6 +93,25 @@ const BookAppointment = () => {
     }
   };
 
+  const handleJoinWaitlist = async () => {
+    setError('');
+    setSuccess('');
+    setJoiningWaitlist(true);
+    try {
+      const response = await waitlistService.joinWaitlist(user.id, formData.doctorId, selectedDate);
+      if (response.statusCode === 200) {
+        setSuccess(`You are #${response.waitlistEntry?.position || 1} on the waitlist. We will notify you if a time opens up.`);
+      } else {
+        setError(response.message || 'Failed to join the waitlist');
+      }
+    } catch (error) {
+      console.error('Failed to join waitlist:', error);
+      setError(error.response?.data?.message || 'Failed to join the waitlist');
+    } finally {
+      setJoiningWaitlist(false);
+    }
+  };
+
   const handleSlotSelect = (slot) => {
     setFormData({
       ...formData,
@@ -108,6 +131,9 @@ const BookAppointment = () => {
     }
 
     setBooking(true);
+    if (!idempotencyKeyRef.current) {
+      idempotencyKeyRef.current = crypto.randomUUID();
+    }
 
     try {
       const appointmentData = {
@@ -119,8 +145,10 @@ const BookAppointment = () => {
       const response = await appointmentService.createAppointment(
         user.id,
         formData.doctorId,
-        appointmentData
+        appointmentData,
+        idempotencyKeyRef.current
       );
+      idempotencyKeyRef.current = null;
 
       if (response.statusCode === 200) {
         setSuccess('Appointment booked successfully!');
@@ -134,6 +162,9 @@ const BookAppointment = () => {
       }
     } catch (error) {
       console.error('Failed to book appointment:', error);
+      if (error.response) {
+        idempotencyKeyRef.current = null;
+      }
       setError(error.response?.data?.message || 'Failed to book appointment');
     } finally {
       setBooking(false);
@@ -284,6 +315,16 @@ const BookAppointment = () => {
                     <p className="text-sm text-gray-500 dark:text-gray-500 mt-1">
                       Try another date or use manual booking
                     </p>
+                    <button
+                      type="button"
+                      onClick={handleJoinWaitlist}
+                      disabled={joiningWaitlist}
+                      className="mt-4 px-4 py-2 text-sm font-medium text-blue-600 border border-blue-600 rounded-lg
+                                 hover:bg-blue-50 disabled:opacity-50 dark:text-blue-400 dark:border-blue-400
+                                 dark:hover:bg-gray-700"
+                    >
+                      {joiningWaitlist ? 'Joining...' : 'Join the waitlist for this day'}
+                    </button>
                   </div>
                 )}
               </div>
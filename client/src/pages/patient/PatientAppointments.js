@@ -2,17 +2,20 @@ import React, { useState, useEffect } from 'react';
 import DashboardLayout from '../../components/layout/DashboardLayout';
 import { useAuth } from '../../contexts/AuthContext';
 import { appointmentService } from '../../services/appointmentService';
+import { waitlistService } from '../../services/waitlistService';
 import LoadingSpinner from '../../components/common/LoadingSpinner';
 
 const PatientAppointments = () => {
   const { user } = useAuth();
   const [appointments, setAppointments] = useState([]);
+  const [waitlist, setWaitlist] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
 
   useEffect(() => {
     if (user?.id) {
       fetchAppointments();
+      fetchWaitlist();
     }
     // eslint-disable-next-line react-hooks/exhaustive-deps
   }, [user]);
@@ -32,6 +35,43 @@ const PatientAppointments = () => {
     }
   };
 
+  const fetchWaitlist = async () => {
+    try {
+      const response = await waitlistService.getPatientWaitlist(user.id);
+      if (response.statusCode === 200) {
+        setWaitlist(response.waitlistEntryList || []);
+      }
+    } catch (error) {
+      console.error('Failed to fetch waitlist:', error);
+    }
+  };
+
+  const handleAcceptOffer = async (entryId) => {
+    setError('');
+    try {
+      const response = await waitlistService.acceptOffer(entryId);
+      if (response.statusCode !== 200) {
+        setError(response.message || 'Failed to book the offered time');
+      }
+    } catch (error) {
+      console.error('Failed to accept offer:', error);
+      setError(error.response?.data?.message || 'Failed to book the offered time');
+    }
+    fetchAppointments();
+    fetchWaitlist();
+  };
+
+  const handleLeaveWaitlist = async (entryId) => {
+    setError('');
+    try {
+      await waitlistService.leaveWaitlist(entryId);
+    } catch (error) {
+      console.error('Failed to leave waitlist:', error);
+      setError(error.response?.data?.message || 'Failed to leave the waitlist');
+    }
+    fetchWaitlist();
+  };
+
   const formatDateTime = (dateTimeString) => {
     if (!dateTimeString) return 'N/A';
     const date = new Date(dateTimeString);
@@ -71,6 +111,50 @@ const PatientAppointments = () => {
           </div>
         )}
 
+        {/* Waitlist */}
+        {waitlist.length > 0 && (
+          <div className="bg-white dark:bg-gray-900 rounded-lg shadow-md p-4 mb-6 space-y-3">
+            <h2 className="text-lg font-semibold text-gray-900 dark:text-gray-100">Waitlist</h2>
+            {waitlist.map((entry) => (
+              <div
+                key={entry.id}
+                className="flex flex-col sm:flex-row sm:items-center sm:justify-between gap-2 border-t
+                           border-gray-200 dark:border-gray-700 pt-3"
+              >
+                <div className="text-sm text-gray-700 dark:text-gray-300">
+                  <p className="font-medium text-gray-900 dark:text-gray-100">
+                    Dr. {entry.doctorName || 'N/A'} on {entry.desiredDate}
+                  </p>
+                  {entry.status === 'OFFERED' ? (
+                    <p className="text-green-700 dark:text-green-300">
+                      {formatDateTime(entry.offeredDateTime)} is free for you until {formatDateTime(entry.offerExpiresAt)}
+                    </p>
+                  ) : (
+                    <p>{entry.position ? `#${entry.position} in line` : 'Waiting'}</p>
+                  )}
+                </div>
+                <div className="flex gap-2">
+                  {entry.status === 'OFFERED' && (
+                    <button
+                      onClick={() => handleAcceptOffer(entry.id)}
+                      className="px-3 py-1 text-sm font-medium text-white bg-blue-600 rounded hover:bg-blue-700"
+                    >
+                      Book
+                    </button>
+                  )}
+                  <button
+                    onClick={() => handleLeaveWaitlist(entry.id)}
+                    className="px-3 py-1 text-sm font-medium text-gray-700 border border-gray-300 rounded
+                               hover:bg-gray-50 dark:text-gray-300 dark:border-gray-600 dark:hover:bg-gray-800"
+                  >
+                    {entry.status === 'OFFERED' ? 'Decline' : 'Leave'}
+                  </button>
+                </div>
+              </div>
+            ))}
+          </div>
+        )}
+
         {/* Desktop Table - Hidden on mobile */}
         <div className="hidden md:block bg-white dark:bg-gray-900 rounded-lg shadow-md overflow-hidden">
           <div className="overflow-x-auto">
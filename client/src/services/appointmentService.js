@@ -30,13 +30,16 @@ export const appointmentService = {
     return response.data;
   },
 
-  createAppointment: async (patientId, doctorId, appointmentData) => {
-    const response = await api.post(`/api/appointments/${patientId}/${doctorId}`, appointmentData);
+  // Retrying with the same idempotencyKey returns the first attempt's result instead of booking twice
+  createAppointment: async (patientId, doctorId, appointmentData, idempotencyKey) => {
+    const headers = idempotencyKey ? { 'Idempotency-Key': idempotencyKey } : {};
+    const response = await api.post(`/api/appointments/${patientId}/${doctorId}`, appointmentData, { headers });
     return response.data;
   },
 
-  updateAppointmentStatus: async (id, status) => {
-    const response = await api.put(`/api/appointments/${id}/status`, { status });
+  updateAppointmentStatus: async (id, status, idempotencyKey) => {
+    const headers = idempotencyKey ? { 'Idempotency-Key': idempotencyKey } : {};
+    const response = await api.put(`/api/appointments/${id}/status`, { status }, { headers });
     return response.data;
   },
 
@@ -1,12 +1,34 @@
 import api from './api';
 
+const NOTIFICATION_PAGE_SIZE = 20;
+
 export const notificationService = {
-  // Get all notifications for a user
-  getUserNotifications: async (userId) => {
-    const response = await api.get(`/api/notifications/user/${userId}`);
+  // Get one page of a user's notifications, newest first. Pass the last notification of the previous page
+  // as the cursor to load the next one; a page shorter than size is the last.
+  getUserNotificationsPage: async (userId, cursor = null, size = NOTIFICATION_PAGE_SIZE) => {
+    const params = { size };
+    if (cursor) {
+      params.beforeTimestamp = cursor.timestamp;
+      params.beforeId = cursor.id;
+    }
+    const response = await api.get(`/api/notifications/user/${userId}`, { params });
     return response.data;
   },
 
+  // Get all notifications for a user, following the cursor page by page
+  getUserNotifications: async (userId) => {
+    const notifications = [];
+    let cursor = null;
+    for (;;) {
+      const page = await notificationService.getUserNotificationsPage(userId, cursor);
+      notifications.push(...page);
+      if (page.length < NOTIFICATION_PAGE_SIZE) {
+        return notifications;
+      }
+      cursor = page[page.length - 1];
+    }
+  },
+
   // Get unread notifications
   getUnreadNotifications: async (userId) => {
     const response = await api.get(`/api/notifications/user/${userId}/unread`);
@@ -0,0 +1,35 @@
+import api from './api';
+
+export const waitlistService = {
+  // Join a doctor's waitlist for a day; a freed time on that day is offered through notifications
+  joinWaitlist: async (patientId, doctorId, date) => {
+    const response = await api.post(`/api/waitlist/${patientId}/${doctorId}`, null, {
+      params: { date }
+    });
+    return response.data;
+  },
+
+  getPatientWaitlist: async (patientId) => {
+    const response = await api.get(`/api/waitlist/patient/${patientId}`);
+    return response.data;
+  },
+
+  getDoctorWaitlist: async (doctorId, date) => {
+    const response = await api.get(`/api/waitlist/doctor/${doctorId}`, {
+      params: { date }
+    });
+    return response.data;
+  },
+
+  // Book the offered time
+  acceptOffer: async (entryId) => {
+    const response = await api.post(`/api/waitlist/${entryId}/accept`);
+    return response.data;
+  },
+
+  // Leave the waitlist, or decline an open offer
+  leaveWaitlist: async (entryId) => {
+    const response = await api.delete(`/api/waitlist/${entryId}`);
+    return response.data;
+  },
+};
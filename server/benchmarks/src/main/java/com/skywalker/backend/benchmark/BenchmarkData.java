@@ -0,0 +1,136 @@
+package com.skywalker.backend.benchmark;
+
+import com.skywalker.backend.domain.GENDER;
+import com.skywalker.backend.domain.STATUS;
+import com.skywalker.backend.domain.SlotStatus;
+import com.skywalker.backend.domain.USER_ROLE;
+import com.skywalker.backend.dto.Response;
+import com.skywalker.backend.dto.TimeSlotDTO;
+import com.skywalker.backend.model.Appointment;
+import com.skywalker.backend.model.Doctor;
+import com.skywalker.backend.model.DoctorSchedule;
+import com.skywalker.backend.model.Patient;
+import com.skywalker.backend.model.User;
+import com.skywalker.backend.security.Utils;
+
+import java.lang.reflect.Field;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entity and DTO fixtures shaped like the seed data in data.sql.
+ */
+final class BenchmarkData {
+
+    private static final String[] SPECIALIZATIONS = {
+            "Cardiology", "Pediatrics", "Orthopedics", "Dermatology", "Neurology", "Gynecology"
+    };
+
+    private BenchmarkData() {
+    }
+
+    static User user(long id, String name, USER_ROLE role) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setEmail(name.toLowerCase().replace("dr. ", "").replace(' ', '.') + "@healthmate.com");
+        user.setPassword("$2b$12$vs4Gwtm0qMU06MrhG/sFduGgvoBoecKce/C2KoVtV8pK8LlmhZnL.");
+        user.setPhoneNumber("+91-98765" + String.format("%05d", id));
+        user.setRole(role);
+        user.setGender(id % 2 == 0 ? GENDER.FEMALE : GENDER.MALE);
+        user.setDateOfBirth(LocalDate.of(1975 + (int) (id % 20), 1 + (int) (id % 12), 1 + (int) (id % 28)));
+        user.setAddress("Apollo Hospital, Sarita Vihar, New Delhi 110076, India");
+        return user;
+    }
+
+    static Doctor doctor(long id) {
+        Doctor doctor = new Doctor();
+        doctor.setId(id);
+        doctor.setUser(user(id, "Dr. Doctor " + id, USER_ROLE.ROLE_DOCTOR));
+        doctor.setSpecialization(SPECIALIZATIONS[(int) (id % SPECIALIZATIONS.length)]);
+        doctor.setExperience(5 + (int) (id % 25));
+        doctor.setAvailableHours("09:00-17:00");
+        return doctor;
+    }
+
+    static List<Doctor> doctors(int count) {
+        List<Doctor> doctors = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            doctors.add(doctor(i));
+        }
+        return doctors;
+    }
+
+    static Patient patient(long id) {
+        Patient patient = new Patient();
+        patient.setId(id);
+        patient.setUser(user(id, "Patient " + id, USER_ROLE.ROLE_PATIENT));
+        return patient;
+    }
+
+    static Appointment appointment(long id, Doctor doctor, Patient patient) {
+        Appointment appointment = new Appointment();
+        appointment.setId(id);
+        appointment.setDoctor(doctor);
+        appointment.setPatient(patient);
+        appointment.setAppointmentDateTime(LocalDateTime.of(2026, 1, 15, 9, 0).plusMinutes(30 * id));
+        appointment.setStatus(STATUS.SCHEDULED);
+        appointment.setNotes("Follow-up consultation");
+        appointment.setAppointmentCode(String.format("APT-%010X", id));
+        return appointment;
+    }
+
+    static DoctorSchedule schedule(Doctor doctor, LocalTime start, LocalTime end) {
+        DoctorSchedule schedule = new DoctorSchedule();
+        schedule.setId(1L);
+        schedule.setDoctor(doctor);
+        schedule.setDayOfWeek(DayOfWeek.MONDAY);
+        schedule.setStartTime(start);
+        schedule.setEndTime(end);
+        schedule.setIsActive(true);
+        return schedule;
+    }
+
+    static Response slotsResponse(int slotCount) {
+        List<TimeSlotDTO> slots = new ArrayList<>(slotCount);
+        LocalTime start = LocalTime.of(9, 0);
+        for (int i = 0; i < slotCount; i++) {
+            TimeSlotDTO slot = new TimeSlotDTO();
+            slot.setId(1000L + i);
+            slot.setDoctorId(3L);
+            slot.setDoctorName("Dr. Rajesh Kumar");
+            slot.setSlotDate(LocalDate.of(2026, 1, 15));
+            slot.setStartTime(start.plusMinutes(15L * i));
+            slot.setEndTime(start.plusMinutes(15L * (i + 1)));
+            slot.setStatus(SlotStatus.AVAILABLE);
+            slots.add(slot);
+        }
+        Response response = new Response();
+        response.setStatusCode(200);
+        response.setMessage("Available slots fetched successfully");
+        response.setTimeSlotList(slots);
+        return response;
+    }
+
+    static Response doctorsResponse(int doctorCount) {
+        Response response = new Response();
+        response.setStatusCode(200);
+        response.setMessage("Doctors fetched successfully");
+        response.setDoctorList(Utils.mapDoctorListToDTOList(doctors(doctorCount)));
+        return response;
+    }
+
+    static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
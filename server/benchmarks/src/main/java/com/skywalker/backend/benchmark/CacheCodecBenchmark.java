@@ -0,0 +1,63 @@
+package com.skywalker.backend.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.skywalker.backend.cache.CachePayloadSerializer;
+import com.skywalker.backend.cache.CachedHttpResponse;
+import com.skywalker.backend.cache.CachedHttpResponseSerializer;
+import com.skywalker.backend.dto.Response;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis value codec round trips: the typed Smile codec, the pre-serialized HTTP body codec and the
+ * GenericJackson2Json default used by the other caches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheCodecBenchmark {
+
+    private CachePayloadSerializer<Response> compactSerializer;
+    private GenericJackson2JsonRedisSerializer genericSerializer;
+    private CachedHttpResponseSerializer httpSerializer;
+    private Response response;
+    private CachedHttpResponse httpResponse;
+
+    @Setup
+    public void setUp() throws Exception {
+        compactSerializer = new CachePayloadSerializer<>(Response.class, 1024);
+
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.activateDefaultTyping(mapper.getPolymorphicTypeValidator(),
+                ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        genericSerializer = new GenericJackson2JsonRedisSerializer(mapper);
+
+        httpSerializer = new CachedHttpResponseSerializer();
+        response = BenchmarkData.slotsResponse(32);
+        byte[] json = new ObjectMapper().registerModule(new JavaTimeModule()).writeValueAsBytes(response);
+        httpResponse = new CachedHttpResponse("\"0123456789abcdef0123456789abcdef\"", false, json);
+    }
+
+    @Benchmark
+    public Response compactRoundTrip() {
+        return compactSerializer.deserialize(compactSerializer.serialize(response));
+    }
+
+    @Benchmark
+    public Object genericJsonRoundTrip() {
+        return genericSerializer.deserialize(genericSerializer.serialize(response));
+    }
+
+    @Benchmark
+    public CachedHttpResponse httpBodyRoundTrip() {
+        return httpSerializer.deserialize(httpSerializer.serialize(httpResponse));
+    }
+}
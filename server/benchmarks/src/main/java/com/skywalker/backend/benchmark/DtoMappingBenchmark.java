@@ -0,0 +1,54 @@
+package com.skywalker.backend.benchmark;
+
+import com.skywalker.backend.dto.AppointmentDTO;
+import com.skywalker.backend.dto.DoctorDTO;
+import com.skywalker.backend.model.Appointment;
+import com.skywalker.backend.model.Doctor;
+import com.skywalker.backend.security.Utils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping done on every appointment and directory response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private Appointment appointment;
+
+    @Setup
+    public void setUp() {
+        appointment = BenchmarkData.appointment(1L, BenchmarkData.doctor(3L), BenchmarkData.patient(20L));
+    }
+
+    @Benchmark
+    public AppointmentDTO mapAppointmentToDTO() {
+        return Utils.mapAppointmentToDTO(appointment);
+    }
+
+    @Benchmark
+    public List<DoctorDTO> mapDoctorListToDTOList(DoctorPage page) {
+        return Utils.mapDoctorListToDTOList(page.doctors);
+    }
+
+    @State(Scope.Benchmark)
+    public static class DoctorPage {
+
+        @Param({"10", "100"})
+        private int doctorCount;
+
+        private List<Doctor> doctors;
+
+        @Setup
+        public void setUp() {
+            doctors = BenchmarkData.doctors(doctorCount);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.skywalker.backend.benchmark;
+
+import com.skywalker.backend.domain.USER_ROLE;
+import com.skywalker.backend.model.User;
+import com.skywalker.backend.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT issue and verification; every authenticated request runs isValidToken in JwtAuthenticationFilter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtTokenProvider jwtTokenProvider;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider();
+        byte[] secret = new byte[64];
+        for (int i = 0; i < secret.length; i++) {
+            secret[i] = (byte) (i * 31 + 7);
+        }
+        BenchmarkData.setField(jwtTokenProvider, "secretString", Base64.getEncoder().encodeToString(secret));
+        jwtTokenProvider.init();
+
+        user = BenchmarkData.user(3L, "Dr. Rajesh Kumar", USER_ROLE.ROLE_DOCTOR);
+        token = jwtTokenProvider.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenProvider.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUserName() {
+        return jwtTokenProvider.extractUserName(token);
+    }
+
+    @Benchmark
+    public boolean isValidToken() {
+        return jwtTokenProvider.isValidToken(token, user);
+    }
+}
@@ -0,0 +1,44 @@
+package com.skywalker.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.skywalker.backend.dto.Response;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response to JSON, configured like the Spring Boot ObjectMapper used by the controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Response slotsResponse;
+    private Response doctorsResponse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        slotsResponse = BenchmarkData.slotsResponse(32);
+        doctorsResponse = BenchmarkData.doctorsResponse(10);
+    }
+
+    @Benchmark
+    public byte[] serializeSlots() throws Exception {
+        return objectMapper.writeValueAsBytes(slotsResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeDoctorPage() throws Exception {
+        return objectMapper.writeValueAsBytes(doctorsResponse);
+    }
+}
@@ -0,0 +1,57 @@
+package com.skywalker.backend.benchmark;
+
+import com.skywalker.backend.model.Doctor;
+import com.skywalker.backend.model.DoctorSchedule;
+import com.skywalker.backend.model.TimeSlot;
+import com.skywalker.backend.service.impl.TimeSlotService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slot computation for one schedule block, as done per day by TimeSlotService.generateTimeSlots.
+ * No slot exists yet for the day, so every candidate slot is created.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlotGenerationBenchmark {
+
+    @Param({"15", "30"})
+    private int slotDurationMinutes;
+
+    private TimeSlotService timeSlotService;
+    private MethodHandle generateSlotsForSchedule;
+    private Doctor doctor;
+    private DoctorSchedule schedule;
+    private LocalDate date;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        timeSlotService = new TimeSlotService(null, null, null, null, null, null);
+        generateSlotsForSchedule = MethodHandles.privateLookupIn(TimeSlotService.class, MethodHandles.lookup())
+                .findVirtual(TimeSlotService.class, "generateSlotsForSchedule", MethodType.methodType(
+                        List.class, Doctor.class, LocalDate.class, DoctorSchedule.class, Integer.class, Set.class));
+
+        doctor = BenchmarkData.doctor(3L);
+        schedule = BenchmarkData.schedule(doctor, LocalTime.of(9, 0), LocalTime.of(17, 0));
+        date = LocalDate.of(2026, 1, 19);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<TimeSlot> generateSlotsForSchedule() throws Throwable {
+        return (List<TimeSlot>) generateSlotsForSchedule.invoke(
+                timeSlotService, doctor, date, schedule, slotDurationMinutes, Set.of());
+    }
+}
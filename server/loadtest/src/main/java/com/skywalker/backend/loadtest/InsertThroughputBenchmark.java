@@ -0,0 +1,121 @@
+package com.skywalker.backend.loadtest;
+
+import com.skywalker.backend.dto.Response;
+import com.skywalker.backend.dto.SlotGenerationRequest;
+import com.skywalker.backend.observability.QueryInspector;
+import com.skywalker.backend.observability.QueryStats;
+import com.skywalker.backend.service.impl.AuditLogService;
+import com.skywalker.backend.service.impl.TimeSlotService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput of the bulk write paths against the embedded Postgres stand-in:
+ * slot generation ({@code saveAll} of a doctor's slots) and audit logging, both inside one
+ * transaction and one transaction per entry.
+ *
+ * <p>Arguments are {@code key=value} pairs: {@code doctors} (default 20), {@code slot-days} (default 30)
+ * and {@code audit-entries} (default 5000).
+ */
+@Slf4j
+public class InsertThroughputBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadTestHarness.parse(args);
+        int doctors = Integer.parseInt(options.getOrDefault("doctors", "20"));
+        int slotDays = Integer.parseInt(options.getOrDefault("slot-days", "30"));
+        int auditEntries = Integer.parseInt(options.getOrDefault("audit-entries", "5000"));
+
+        try (StandIns standIns = StandIns.start();
+             ConfigurableApplicationContext context = LoadTestHarness.boot(standIns)) {
+            LoadTestHarness.seed(context, doctors, doctors, 100, 0);
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            List<Long> doctorIds = jdbcTemplate.queryForList("SELECT user_id FROM doctors ORDER BY user_id", Long.class);
+            Long userId = doctorIds.get(0);
+
+            TimeSlotService timeSlotService = context.getBean(TimeSlotService.class);
+            AuditLogService auditLogService = context.getBean(AuditLogService.class);
+            TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+
+            // Warm-up on dates outside the measured range
+            generate(timeSlotService, doctorIds.subList(0, Math.min(3, doctorIds.size())), 365, 7);
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < 500; i++) {
+                    auditLogService.logAction(userId, "WARM_UP", "entry " + i);
+                }
+            });
+
+            StringBuilder report = new StringBuilder()
+                    .append("## Insert throughput ").append(LocalDateTime.now().withNano(0)).append("\n\n")
+                    .append("| Path | Rows | Time (ms) | Rows/s | JDBC statements |\n")
+                    .append("|------|------|-----------|--------|-----------------|\n");
+
+            Measurement slots = measure(() -> generate(timeSlotService, doctorIds, 30, slotDays),
+                    () -> jdbcTemplate.queryForObject("SELECT count(*) FROM time_slots", Long.class));
+            report.append(slots.row("Slot generation, " + doctors + " doctors x " + slotDays + " days"));
+
+            Measurement batchedAudit = measure(() -> transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < auditEntries; i++) {
+                    auditLogService.logAction(userId, "BENCHMARK", "entry " + i);
+                }
+            }), () -> jdbcTemplate.queryForObject("SELECT count(*) FROM audit_logs", Long.class));
+            report.append(batchedAudit.row("Audit logging, one transaction"));
+
+            int singleEntries = auditEntries / 5;
+            Measurement singleAudit = measure(() -> {
+                for (int i = 0; i < singleEntries; i++) {
+                    auditLogService.logAction(userId, "BENCHMARK", "entry " + i);
+                }
+            }, () -> jdbcTemplate.queryForObject("SELECT count(*) FROM audit_logs", Long.class));
+            report.append(singleAudit.row("Audit logging, one transaction per entry"));
+
+            System.out.println(report);
+            String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            log.info("Report written to {}",
+                    LoadTestHarness.write("inserts-" + stamp + ".md", report.toString()).toAbsolutePath());
+        }
+    }
+
+    private static void generate(TimeSlotService timeSlotService, List<Long> doctorIds, int offsetDays, int days) {
+        SlotGenerationRequest request = new SlotGenerationRequest();
+        request.setStartDate(LocalDate.now().plusDays(offsetDays));
+        request.setEndDate(request.getStartDate().plusDays(days - 1));
+        request.setSlotDurationMinutes(15);
+        for (Long doctorId : doctorIds) {
+            Response response = timeSlotService.generateTimeSlots(doctorId, request);
+            if (response.getStatusCode() != 200) {
+                throw new IllegalStateException("Slot generation failed: " + response.getMessage());
+            }
+        }
+    }
+
+    private static Measurement measure(Runnable action, Supplier<Long> rowCount) {
+        long before = rowCount.get();
+        QueryStats stats = QueryInspector.begin();
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            QueryInspector.end();
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Measurement(rowCount.get() - before, elapsed, stats.getQueryCount());
+    }
+
+    private record Measurement(long rows, long nanos, int statements) {
+
+        String row(String label) {
+            double ms = nanos / 1_000_000.0;
+            return String.format("| %s | %d | %.0f | %.0f | %d |%n", label, rows, ms, rows / (ms / 1000.0), statements);
+        }
+    }
+}
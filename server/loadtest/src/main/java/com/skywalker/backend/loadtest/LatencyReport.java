@@ -0,0 +1,92 @@
+package com.skywalker.backend.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Per-endpoint latency samples for one load phase.
+ * Keeps every sample (a few million longs at most) so percentiles are exact.
+ */
+final class LatencyReport {
+
+    private final String phase;
+    private final Map<String, Recorder> recorders = new ConcurrentSkipListMap<>();
+    private long startNanos;
+    private long endNanos;
+
+    LatencyReport(String phase) {
+        this.phase = phase;
+    }
+
+    void start() {
+        startNanos = System.nanoTime();
+    }
+
+    void stop() {
+        endNanos = System.nanoTime();
+    }
+
+    void record(String endpoint, long nanos, boolean success) {
+        recorders.computeIfAbsent(endpoint, key -> new Recorder()).add(nanos, success);
+    }
+
+    Duration elapsed() {
+        return Duration.ofNanos(endNanos - startNanos);
+    }
+
+    String toMarkdown() {
+        double seconds = Math.max(elapsed().toMillis(), 1) / 1000.0;
+        StringBuilder out = new StringBuilder()
+                .append("### ").append(phase).append(" (").append(String.format("%.1f", seconds)).append(" s)\n\n")
+                .append("| Endpoint | Requests | Errors | Throughput (req/s) | p50 (ms) | p90 (ms) | p99 (ms) | Max (ms) |\n")
+                .append("|----------|----------|--------|--------------------|----------|----------|----------|----------|\n");
+        long total = 0;
+        for (Map.Entry<String, Recorder> entry : recorders.entrySet()) {
+            Recorder.Snapshot s = entry.getValue().snapshot();
+            total += s.count();
+            out.append(String.format("| %s | %d | %d | %.1f | %.2f | %.2f | %.2f | %.2f |%n",
+                    entry.getKey(), s.count(), s.errors(), s.count() / seconds,
+                    s.percentileMs(50), s.percentileMs(90), s.percentileMs(99), s.percentileMs(100)));
+        }
+        out.append(String.format("| **All** | %d | | %.1f | | | | |%n", total, total / seconds));
+        return out.toString();
+    }
+
+    private static final class Recorder {
+        private long[] samples = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void add(long nanos, boolean success) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = nanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized Snapshot snapshot() {
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            return new Snapshot(sorted, errors);
+        }
+
+        record Snapshot(long[] sorted, long errors) {
+            long count() {
+                return sorted.length;
+            }
+
+            double percentileMs(double percentile) {
+                if (sorted.length == 0) {
+                    return 0;
+                }
+                int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+                return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+            }
+        }
+    }
+}
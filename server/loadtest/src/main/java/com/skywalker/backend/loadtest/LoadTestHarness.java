@@ -0,0 +1,188 @@
+package com.skywalker.backend.loadtest;
+
+import com.skywalker.backend.HealthmateApplication;
+import com.skywalker.backend.service.impl.DoctorDirectoryIndex;
+import com.skywalker.backend.service.impl.SlotAvailabilityEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * End-to-end load test: boots the application against embedded Postgres, Redis and SMTP stand-ins,
+ * seeds a generated data set and drives HTTP traffic through the full stack.
+ *
+ * <p>Arguments are {@code key=value} pairs:
+ * <ul>
+ *     <li>{@code scale} - fraction of the reference volume of 10k doctors, 1M patients and 10M appointments (default 0.01)</li>
+ *     <li>{@code duration} - seconds of mixed traffic (default 60)</li>
+ *     <li>{@code concurrency} - concurrent clients in the mixed phase (default 64)</li>
+ *     <li>{@code storm-threads} / {@code storm-rounds} - booking storm shape (default 50 x 10)</li>
+ *     <li>{@code slot-days} - days of generated time slots (default 14)</li>
+ *     <li>{@code replicas} - read replica pools, all pointed at the one embedded database (default 0).
+ *     Exercises read routing and its connection handling, not replication itself</li>
+ * </ul>
+ */
+@Slf4j
+public class LoadTestHarness {
+
+    private static final int REFERENCE_DOCTORS = 10_000;
+    private static final int REFERENCE_PATIENTS = 1_000_000;
+    private static final int REFERENCE_APPOINTMENTS = 10_000_000;
+    private static final int LOGGED_IN_PATIENTS = 20;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        double scale = Double.parseDouble(options.getOrDefault("scale", "0.01"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "64"));
+        int stormThreads = Integer.parseInt(options.getOrDefault("storm-threads", "50"));
+        int stormRounds = Integer.parseInt(options.getOrDefault("storm-rounds", "10"));
+        int slotDays = Integer.parseInt(options.getOrDefault("slot-days", "14"));
+        int replicas = Integer.parseInt(options.getOrDefault("replicas", "0"));
+
+        int doctors = Math.max(10, (int) (REFERENCE_DOCTORS * scale));
+        int patients = Math.max(stormThreads, (int) (REFERENCE_PATIENTS * scale));
+        int appointments = Math.max(100, (int) (REFERENCE_APPOINTMENTS * scale));
+
+        try (StandIns standIns = StandIns.start();
+             ConfigurableApplicationContext context = boot(standIns, replicaArgs(standIns, replicas))) {
+            seed(context, doctors, patients, appointments, slotDays);
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Workload.Fixture fixture = fixture(context, "http://localhost:" + port, doctors, patients, slotDays);
+            Workload workload = new Workload("http://localhost:" + port, fixture);
+
+            log.info("Warming up for 10s");
+            workload.runMixed(Math.min(concurrency, 16), Duration.ofSeconds(10));
+
+            log.info("Running mixed workload for {}s with {} clients", duration.toSeconds(), concurrency);
+            LatencyReport mixed = workload.runMixed(concurrency, duration);
+
+            log.info("Running booking storm: {} patients x {} rounds", stormThreads, stormRounds);
+            Workload.StormResult storm = workload.runBookingStorm(stormThreads, stormRounds);
+
+            String report = "## HealthMate load test " + LocalDateTime.now().withNano(0) + "\n\n"
+                    + "Data set: " + doctors + " doctors, " + patients + " patients, "
+                    + appointments + " appointments, " + slotDays + " days of slots (scale " + scale + ")"
+                    + (replicas > 0 ? ", " + replicas + " replica pool(s)" : "") + "\n\n"
+                    + mixed.toMarkdown() + "\n" + storm.toMarkdown()
+                    + "\nEmails captured by the SMTP stand-in: " + standIns.receivedEmails() + "\n";
+            System.out.println(report);
+            String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            Path file = write("report-" + stamp + ".md", report);
+            log.info("Report written to {}", file.toAbsolutePath());
+
+            // Server-side view of the same run: service/repository timers, cache hit ratios, pool usage
+            String metrics = workload.scrapeMetrics(
+                    "http://localhost:" + context.getEnvironment().getProperty("local.management.port"));
+            if (!metrics.isEmpty()) {
+                log.info("Metrics written to {}", write("metrics-" + stamp + ".prom", metrics).toAbsolutePath());
+            }
+        }
+    }
+
+    static ConfigurableApplicationContext boot(StandIns standIns, String... extraArgs) {
+        byte[] secret = new byte[64];
+        ThreadLocalRandom.current().nextBytes(secret);
+
+        // Passed as command-line arguments so they take precedence over application.yml
+        List<String> args = new ArrayList<>(standIns.applicationArgs());
+        args.add("--jwt.secret=" + Base64.getEncoder().encodeToString(secret));
+        args.add("--server.port=0");
+        args.add("--management.server.port=0");
+        args.add("--spring.jpa.show-sql=false");
+        args.add("--logging.level.root=WARN");
+        args.add("--logging.level.com.skywalker.backend.loadtest=INFO");
+        args.addAll(List.of(extraArgs));
+        return new SpringApplicationBuilder(HealthmateApplication.class).run(args.toArray(String[]::new));
+    }
+
+    static void seed(ConfigurableApplicationContext context, int doctors, int patients, int appointments,
+                             int slotDays) throws IOException {
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(Workload.Fixture.PASSWORD);
+        String script = new ClassPathResource("loadtest/seed.sql").getContentAsString(StandardCharsets.UTF_8)
+                .replace("{{doctors}}", Integer.toString(doctors))
+                .replace("{{patients}}", Integer.toString(patients))
+                .replace("{{appointments}}", Integer.toString(appointments))
+                .replace("{{slotDays}}", Integer.toString(slotDays))
+                .replace("{{passwordHash}}", passwordHash);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        long start = System.nanoTime();
+        for (String statement : script.split(";\\s*\\n")) {
+            String sql = statement.lines()
+                    .filter(line -> !line.trim().startsWith("--"))
+                    .reduce("", (a, b) -> a + b + "\n")
+                    .trim();
+            if (!sql.isEmpty()) {
+                jdbcTemplate.execute(sql);
+            }
+        }
+        log.info("Seeded {} doctors, {} patients, {} appointments in {}s", doctors, patients, appointments,
+                Duration.ofNanos(System.nanoTime() - start).toSeconds());
+
+        // In-memory indexes were built against the empty schema at startup
+        context.getBean(DoctorDirectoryIndex.class).rebuild();
+        context.getBean(SlotAvailabilityEngine.class).rebuild();
+    }
+
+    private static Workload.Fixture fixture(ConfigurableApplicationContext context, String baseUrl, int doctors,
+                                            int patients, int slotDays) throws Exception {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Long firstDoctorId = jdbcTemplate.queryForObject("SELECT min(user_id) FROM doctors", Long.class);
+        Long firstPatientId = jdbcTemplate.queryForObject("SELECT min(user_id) FROM patients", Long.class);
+
+        Workload login = new Workload(baseUrl, null);
+        String adminToken = login.login("admin@load.healthmate.com");
+        List<String> patientTokens = new ArrayList<>();
+        for (int i = 1; i <= Math.min(LOGGED_IN_PATIENTS, patients); i++) {
+            patientTokens.add(login.login("patient" + i + "@load.healthmate.com"));
+        }
+        return new Workload.Fixture(firstDoctorId, doctors, firstPatientId, patients, slotDays,
+                adminToken, patientTokens);
+    }
+
+    static Path write(String fileName, String content) throws IOException {
+        Path dir = Path.of("target", "loadtest");
+        Files.createDirectories(dir);
+        return Files.writeString(dir.resolve(fileName), content);
+    }
+
+    private static String[] replicaArgs(StandIns standIns, int replicas) {
+        if (replicas <= 0) {
+            return new String[0];
+        }
+        return new String[]{"--datasource.replicas.urls=" + String.join(",", Collections.nCopies(replicas, standIns.jdbcUrl()))};
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+}
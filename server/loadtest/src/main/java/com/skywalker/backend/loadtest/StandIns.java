@@ -0,0 +1,94 @@
+package com.skywalker.backend.loadtest;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Containerless Postgres, Redis and SMTP for the load test, each on a free local port.
+ */
+final class StandIns implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+    private final RedisServer redis;
+    private final GreenMail smtp;
+    private final int redisPort;
+    private final int smtpPort;
+
+    private StandIns(EmbeddedPostgres postgres, RedisServer redis, int redisPort, GreenMail smtp, int smtpPort) {
+        this.postgres = postgres;
+        this.redis = redis;
+        this.redisPort = redisPort;
+        this.smtp = smtp;
+        this.smtpPort = smtpPort;
+    }
+
+    static StandIns start() throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+                // Sized for bulk seeding rather than durability
+                .setServerConfig("shared_buffers", "512MB")
+                .setServerConfig("max_connections", "300")
+                .setServerConfig("fsync", "off")
+                .setServerConfig("synchronous_commit", "off")
+                .setServerConfig("full_page_writes", "off")
+                .setServerConfig("max_wal_size", "4GB")
+                .start();
+
+        int redisPort = freePort();
+        RedisServer redis = new RedisServer(redisPort);
+        redis.start();
+
+        int smtpPort = freePort();
+        GreenMail smtp = new GreenMail(new ServerSetup(smtpPort, "127.0.0.1", ServerSetup.PROTOCOL_SMTP));
+        smtp.start();
+
+        return new StandIns(postgres, redis, redisPort, smtp, smtpPort);
+    }
+
+    /**
+     * Command-line style overrides pointing the application at the stand-ins.
+     */
+    List<String> applicationArgs() {
+        List<String> args = new ArrayList<>();
+        args.add("--env.DB_URL=" + jdbcUrl());
+        args.add("--env.DB_USERNAME=postgres");
+        args.add("--env.DB_PASSWORD=postgres");
+        args.add("--spring.data.redis.host=127.0.0.1");
+        args.add("--spring.data.redis.port=" + redisPort);
+        args.add("--spring.mail.host=127.0.0.1");
+        args.add("--spring.mail.port=" + smtpPort);
+        args.add("--spring.mail.properties.mail.smtp.auth=false");
+        args.add("--spring.mail.properties.mail.smtp.starttls.enable=false");
+        return args;
+    }
+
+    String jdbcUrl() {
+        return postgres.getJdbcUrl("postgres", "postgres");
+    }
+
+    int receivedEmails() {
+        return smtp.getReceivedMessages().length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        smtp.stop();
+        redis.stop();
+        postgres.close();
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.skywalker.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP traffic against a running instance: a weighted read-heavy mix and a same-doctor booking storm.
+ */
+final class Workload {
+
+    private static final String[] SPECIALIZATIONS = {
+            "Cardiology", "Pediatrics", "Orthopedics", "Dermatology", "Neurology", "Gynecology",
+            "Psychiatry", "Ophthalmology", "ENT", "General Medicine", "Oncology", "Urology"
+    };
+    private static final String[] SEARCH_TERMS = {"sharma", "priya", "kumar", "cardio", "apollo", "mehta", "neuro"};
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Fixture fixture;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    Workload(String baseUrl, Fixture fixture) {
+        this.baseUrl = baseUrl;
+        this.fixture = fixture;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    String login(String email) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(loginRequest(email), HttpResponse.BodyHandlers.ofString());
+        JsonNode body = objectMapper.readTree(response.body());
+        if (response.statusCode() != 200 || !body.hasNonNull("token")) {
+            throw new IllegalStateException("Login failed for " + email + ": " + response.body());
+        }
+        return body.get("token").asText();
+    }
+
+    /**
+     * Raw Prometheus exposition from the actuator on the management port, or an empty string when it is not exposed.
+     */
+    String scrapeMetrics(String managementUrl) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(managementUrl + "/actuator/prometheus"))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        return response.statusCode() == 200 ? response.body() : "";
+    }
+
+    /**
+     * Mixed traffic: logins, directory browse and search, slot lookups, batched booking page loads,
+     * availability search and dashboards.
+     */
+    LatencyReport runMixed(int concurrency, Duration duration) throws InterruptedException {
+        LatencyReport report = new LatencyReport("Mixed workload, " + concurrency + " concurrent clients");
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        report.start();
+        for (int i = 0; i < concurrency; i++) {
+            pool.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    nextMixedRequest(report);
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        report.stop();
+        return report;
+    }
+
+    /**
+     * Releases {@code concurrency} patients at once against the same doctor and time, once per round.
+     * More than one success in a round is a double booking.
+     */
+    StormResult runBookingStorm(int concurrency, int rounds) throws InterruptedException {
+        LatencyReport report = new LatencyReport("Booking storm, " + concurrency + " patients x " + rounds + " rounds");
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        List<Integer> bookedPerRound = new ArrayList<>();
+        report.start();
+        for (int round = 0; round < rounds; round++) {
+            long doctorId = fixture.doctorId(round % fixture.doctorCount());
+            LocalDateTime slot = LocalDate.now().plusDays(45 + round).atTime(18, 0);
+            String body = "{\"appointmentDateTime\":\"" + slot + "\",\"notes\":\"Booking storm\"}";
+
+            CountDownLatch ready = new CountDownLatch(concurrency);
+            CountDownLatch go = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(concurrency);
+            AtomicInteger booked = new AtomicInteger();
+            for (int i = 0; i < concurrency; i++) {
+                long patientId = fixture.patientId(i);
+                pool.execute(() -> {
+                    try {
+                        ready.countDown();
+                        go.await();
+                        HttpRequest request = authorized("/api/appointments/" + patientId + "/" + doctorId,
+                                fixture.patientToken())
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(body))
+                                .build();
+                        // A clean rejection is the expected outcome for all but one request
+                        int status = send("POST /api/appointments (storm)", request, report, true);
+                        if (status == 200) {
+                            booked.incrementAndGet();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            ready.await();
+            go.countDown();
+            done.await();
+            bookedPerRound.add(booked.get());
+        }
+        report.stop();
+        pool.shutdown();
+        return new StormResult(report, bookedPerRound, concurrency);
+    }
+
+    private void nextMixedRequest(LatencyReport report) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int roll = random.nextInt(100);
+        LocalDate date = LocalDate.now().plusDays(1 + random.nextInt(fixture.slotDays()));
+        long doctorId = fixture.doctorId(random.nextInt(fixture.doctorCount()));
+        try {
+            if (roll < 5) {
+                String email = "patient" + (1 + random.nextInt(Math.min(fixture.patientCount(), 1000)))
+                        + "@load.healthmate.com";
+                send("POST /api/auth/login", loginRequest(email), report, false);
+            } else if (roll < 25) {
+                get("GET /api/doctors", "/api/doctors?page=" + random.nextInt(20) + "&size=10",
+                        fixture.patientToken(), report);
+            } else if (roll < 40) {
+                String term = SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)];
+                get("GET /api/doctors?search", "/api/doctors?search=" + term + "&page=0&size=10",
+                        fixture.patientToken(), report);
+            } else if (roll < 65) {
+                get("GET /api/doctors/{id}/slots", "/api/doctors/" + doctorId + "/slots?date=" + date,
+                        fixture.patientToken(), report);
+            } else if (roll < 70) {
+                // Booking page load: doctor, weekly schedule and the day's slots in one round trip
+                String body = "{\"requests\":["
+                        + "{\"id\":\"doctor\",\"path\":\"/api/doctors/" + doctorId + "\"},"
+                        + "{\"id\":\"schedule\",\"path\":\"/api/doctors/" + doctorId + "/schedule\"},"
+                        + "{\"id\":\"slots\",\"path\":\"/api/doctors/" + doctorId + "/slots?date=" + date + "\"}]}";
+                send("POST /api/batch", authorized("/api/batch", fixture.patientToken())
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(), report, false);
+            } else if (roll < 85) {
+                String specialization = SPECIALIZATIONS[random.nextInt(SPECIALIZATIONS.length)];
+                get("GET /api/doctors/slots/search", "/api/doctors/slots/search?specialization="
+                        + specialization.replace(" ", "%20") + "&startDate=" + date + "&limit=10",
+                        fixture.patientToken(), report);
+            } else if (roll < 90) {
+                get("GET /api/dashboard/admin", "/api/dashboard/admin", fixture.adminToken(), report);
+            } else {
+                get("GET /api/dashboard/doctor/{id}", "/api/dashboard/doctor/" + doctorId,
+                        fixture.adminToken(), report);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void get(String endpoint, String path, String token, LatencyReport report) throws InterruptedException {
+        send(endpoint, authorized(path, token).GET().build(), report, false);
+    }
+
+    private int send(String endpoint, HttpRequest request, LatencyReport report, boolean clientErrorIsSuccess)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            int status = response.statusCode();
+            boolean success = status < 400 || (clientErrorIsSuccess && status < 500);
+            report.record(endpoint, System.nanoTime() - start, success);
+            return status;
+        } catch (IOException e) {
+            report.record(endpoint, System.nanoTime() - start, false);
+            return -1;
+        }
+    }
+
+    private HttpRequest.Builder authorized(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept-Encoding", "gzip");
+    }
+
+    private HttpRequest loginRequest(String email) {
+        String body = "{\"email\":\"" + email + "\",\"password\":\"" + Fixture.PASSWORD + "\"}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    record StormResult(LatencyReport report, List<Integer> bookedPerRound, int attemptsPerRound) {
+
+        long doubleBookedRounds() {
+            return bookedPerRound.stream().filter(booked -> booked > 1).count();
+        }
+
+        String toMarkdown() {
+            return report.toMarkdown() + "\n"
+                    + "Successful bookings per round (expected 1): " + bookedPerRound + "\n"
+                    + "Rounds with a double booking: " + doubleBookedRounds() + " of " + bookedPerRound.size() + "\n";
+        }
+    }
+
+    /**
+     * Seeded id ranges and pre-fetched tokens shared by all workers.
+     */
+    record Fixture(long firstDoctorId, int doctorCount, long firstPatientId, int patientCount, int slotDays,
+                   String adminToken, List<String> patientTokens) {
+
+        static final String PASSWORD = "loadtest123";
+
+        long doctorId(int index) {
+            return firstDoctorId + index;
+        }
+
+        long patientId(int index) {
+            return firstPatientId + (index % patientCount);
+        }
+
+        String patientToken() {
+            return patientTokens.get(ThreadLocalRandom.current().nextInt(patientTokens.size()));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+-- =========================================
+-- HealthMate Load Test - Generated Data
+-- =========================================
+-- Same shape as data.sql, generated in bulk with generate_series.
+-- Placeholders are substituted by LoadTestHarness:
+--   {{doctors}}, {{patients}}, {{appointments}}, {{slotDays}}, {{passwordHash}}
+-- All generated accounts share the password "loadtest123".
+
+-- =========================================
+-- ADMIN
+-- =========================================
+INSERT INTO users (name, email, password, phone_number, role, gender, date_of_birth, address, created_date, updated_date)
+VALUES ('Load Test Admin', 'admin@load.healthmate.com', '{{passwordHash}}', '+91-6000000000', 'ROLE_ADMIN', 'MALE',
+        '1985-05-15', 'HealthMate Headquarters, Noida', now(), now());
+
+-- =========================================
+-- DOCTORS
+-- =========================================
+INSERT INTO users (name, email, password, phone_number, role, gender, date_of_birth, address, created_date, updated_date)
+SELECT 'Dr. ' || (ARRAY['Rajesh','Priya','Amit','Sneha','Vikram','Anjali','Rahul','Kavita','Arjun','Neha'])[1 + g % 10]
+           || ' ' || (ARRAY['Kumar','Sharma','Patel','Reddy','Singh','Gupta','Verma','Desai','Mehta','Kapoor','Iyer','Nair'])[1 + (g / 10) % 12]
+           || ' ' || g,
+       'doctor' || g || '@load.healthmate.com',
+       '{{passwordHash}}',
+       '+91-7' || lpad(g::text, 9, '0'),
+       'ROLE_DOCTOR',
+       CASE WHEN g % 2 = 0 THEN 'FEMALE' ELSE 'MALE' END,
+       date '1965-01-01' + (g % 10000),
+       (ARRAY['Apollo Hospital','Fortis Hospital','Manipal Hospital','Max Hospital','AIIMS'])[1 + g % 5] || ', Block ' || (g % 50),
+       now(), now()
+FROM generate_series(1, {{doctors}}) g;
+
+INSERT INTO doctors (user_id, experience, available_hours, specialization, created_at, updated_at)
+SELECT u.id,
+       1 + u.id % 35,
+       '09:00-17:00',
+       (ARRAY['Cardiology','Pediatrics','Orthopedics','Dermatology','Neurology','Gynecology',
+              'Psychiatry','Ophthalmology','ENT','General Medicine','Oncology','Urology'])[1 + u.id % 12],
+       now(), now()
+FROM users u
+WHERE u.role = 'ROLE_DOCTOR' AND u.email LIKE 'doctor%@load.healthmate.com';
+
+-- Monday to Friday, 09:00-17:00
+INSERT INTO doctor_schedules (doctor_id, day_of_week, start_time, end_time, is_active, created_at, updated_at)
+SELECT d.user_id, dow, time '09:00', time '17:00', true, now(), now()
+FROM doctors d
+CROSS JOIN unnest(ARRAY['MONDAY','TUESDAY','WEDNESDAY','THURSDAY','FRIDAY']) dow;
+
+-- =========================================
+-- PATIENTS
+-- =========================================
+INSERT INTO users (name, email, password, phone_number, role, gender, date_of_birth, address, created_date, updated_date)
+SELECT (ARRAY['Aarav','Diya','Vihaan','Ananya','Aditya','Isha','Kabir','Myra','Reyansh','Saanvi'])[1 + g % 10]
+           || ' ' || (ARRAY['Kumar','Sharma','Patel','Reddy','Singh','Gupta','Verma','Desai','Mehta','Kapoor','Iyer','Nair'])[1 + (g / 10) % 12]
+           || ' ' || g,
+       'patient' || g || '@load.healthmate.com',
+       '{{passwordHash}}',
+       '+91-8' || lpad(g::text, 9, '0'),
+       'ROLE_PATIENT',
+       CASE WHEN g % 2 = 0 THEN 'FEMALE' ELSE 'MALE' END,
+       date '1950-01-01' + (g % 25000),
+       'House ' || (g % 500) || ', Sector ' || (g % 100) || ', New Delhi',
+       now(), now()
+FROM generate_series(1, {{patients}}) g;
+
+INSERT INTO patients (user_id, created_at, updated_at)
+SELECT u.id, now(), now()
+FROM users u
+WHERE u.role = 'ROLE_PATIENT' AND u.email LIKE 'patient%@load.healthmate.com';
+
+-- =========================================
+-- APPOINTMENTS (history over the last two years plus the coming month)
+-- =========================================
+INSERT INTO appointments (appointment_date_time, status, notes, appointment_code, created_at, updated_at, doctor_id, patient_id)
+SELECT date_trunc('day', now()) - interval '730 days'
+           + ((g * 7) % 760) * interval '1 day'
+           + interval '9 hours' + ((g / 760) % 16) * interval '30 minutes',
+       CASE WHEN (g * 7) % 760 >= 730 THEN 'SCHEDULED'
+            ELSE (ARRAY['COMPLETED','COMPLETED','COMPLETED','CANCELED','CONFIRMED'])[1 + g % 5] END,
+       'Load test appointment',
+       'APT-' || lpad(upper(to_hex(g)), 10, '0'),
+       now(), now(),
+       b.doctor_base + (g % {{doctors}}),
+       b.patient_base + ((g * 31) % {{patients}})
+FROM (SELECT (SELECT min(user_id) FROM doctors) AS doctor_base,
+             (SELECT min(user_id) FROM patients) AS patient_base) b
+CROSS JOIN generate_series(1, {{appointments}}) g;
+
+-- =========================================
+-- TIME SLOTS (30 minute slots on weekdays for the coming days)
+-- =========================================
+INSERT INTO time_slots (doctor_id, slot_date, start_time, end_time, status, created_at, updated_at, version)
+SELECT d.user_id, day::date, time '09:00' + s * interval '30 minutes', time '09:30' + s * interval '30 minutes',
+       CASE WHEN (d.user_id + s + extract(doy FROM day)::int) % 4 = 0 THEN 'BOOKED' ELSE 'AVAILABLE' END,
+       now(), now(), 0
+FROM doctors d
+CROSS JOIN generate_series(current_date + 1, current_date + {{slotDays}}, interval '1 day') day
+CROSS JOIN generate_series(0, 15) s
+WHERE extract(isodow FROM day) < 6;
+
+ANALYZE;
@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+# Runs the k6 mixed workload against the packaged app twice, once on platform threads and once on
+# virtual threads, and prints per-endpoint p50/p99 and throughput side by side.
+#
+# Requires: Java 21+ (virtual threads), k6, jq, and the usual DB_URL/DB_USERNAME/DB_PASSWORD/JWT_SECRET
+# environment of the app. Usage: perf/compare-thread-modes.sh [VUS] [DURATION]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+VUS="${1:-400}"
+DURATION="${2:-2m}"
+PORT="${PORT:-8085}"
+OUT="target/perf/thread-modes"
+mkdir -p "$OUT"
+
+if [ "$(java -XshowSettings:properties -version 2>&1 | awk -F'= ' '/java.specification.version/ {print $2}')" -lt 21 ]; then
+    echo "Java 21+ is required to compare virtual threads" >&2
+    exit 1
+fi
+
+JAR="$(ls target/healthmate-*.jar 2>/dev/null | grep -v original | head -1 || true)"
+if [ -z "$JAR" ]; then
+    ./mvnw -q -DskipTests package
+    JAR="$(ls target/healthmate-*.jar | grep -v original | head -1)"
+fi
+
+run_mode() {
+    local mode="$1" virtual="$2"
+    echo "== $mode threads =="
+    VIRTUAL_THREADS_ENABLED="$virtual" java -jar "$JAR" --server.port="$PORT" --spring.jpa.show-sql=false \
+        > "$OUT/$mode-app.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+
+    for _ in $(seq 1 90); do
+        curl -s -o /dev/null "http://localhost:$PORT/api/auth/login" && break
+        sleep 1
+    done
+
+    k6 run --quiet -e BASE_URL="http://localhost:$PORT" -e VUS="$VUS" -e DURATION="$DURATION" \
+        --summary-export "$OUT/$mode-summary.json" --out json="$OUT/$mode-points.json" \
+        perf/k6/thread-modes.js > "$OUT/$mode-k6.log" || true
+
+    kill "$pid" && wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+report() {
+    local mode="$1"
+    jq -r --arg mode "$mode" '
+        select(.type == "Point" and .metric == "http_req_duration")
+        | {endpoint: .data.tags.endpoint, value: .data.value}' "$OUT/$mode-points.json" \
+    | jq -rs --arg mode "$mode" '
+        group_by(.endpoint)[]
+        | (map(.value) | sort) as $v
+        | [$mode, .[0].endpoint, ($v | length),
+           ($v[(($v | length) * 0.50 | floor)] | . * 100 | round / 100),
+           ($v[(($v | length) * 0.99 | floor)] | . * 100 | round / 100)]
+        | @tsv'
+}
+
+run_mode platform false
+run_mode virtual true
+
+printf "mode\tendpoint\trequests\tp50_ms\tp99_ms\n"
+report platform
+report virtual
+for mode in platform virtual; do
+    jq -r --arg mode "$mode" '"\($mode)\ttotal rps \(.metrics.http_reqs.rate | floor)\tfailed \(.metrics.http_req_failed.value)"' \
+        "$OUT/$mode-summary.json"
+done
@@ -0,0 +1,62 @@
+// Mixed read workload used to compare platform-thread and virtual-thread modes.
+// Each iteration: directory page, slot lookup, availability search; every 20th iteration also logs in (BCrypt).
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=400 -e DURATION=2m k6/thread-modes.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const EMAIL = __ENV.EMAIL || 'rajesh.kumar@healthmate.com';
+const PASSWORD = __ENV.PASSWORD || 'doctor123';
+const DOCTOR_IDS = (__ENV.DOCTOR_IDS || '3,4,5,6,7,8,9,10,11,12').split(',');
+const SPECIALIZATIONS = (__ENV.SPECIALIZATIONS || 'Cardiology,Pediatrics,Orthopedics,Dermatology').split(',');
+
+export const options = {
+    scenarios: {
+        mixed: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: Number(__ENV.VUS || 400) },
+                { duration: __ENV.DURATION || '2m', target: Number(__ENV.VUS || 400) },
+                { duration: '15s', target: 0 },
+            ],
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(90)', 'p(99)', 'max'],
+    thresholds: {
+        'http_req_failed': ['rate<0.01'],
+    },
+};
+
+function login() {
+    const res = http.post(`${BASE_URL}/api/auth/login`, JSON.stringify({ email: EMAIL, password: PASSWORD }),
+        { headers: { 'Content-Type': 'application/json' }, tags: { endpoint: 'login' } });
+    check(res, { 'login 200': (r) => r.status === 200 });
+    return res.json('token');
+}
+
+export function setup() {
+    return { token: login() };
+}
+
+export default function (data) {
+    const params = (endpoint) => ({
+        headers: { Authorization: `Bearer ${data.token}`, 'Accept-Encoding': 'gzip' },
+        tags: { endpoint },
+    });
+    const doctorId = DOCTOR_IDS[Math.floor(Math.random() * DOCTOR_IDS.length)];
+    const specialization = SPECIALIZATIONS[Math.floor(Math.random() * SPECIALIZATIONS.length)];
+    const date = new Date(Date.now() + 86400000 * (1 + Math.floor(Math.random() * 7))).toISOString().slice(0, 10);
+
+    check(http.get(`${BASE_URL}/api/doctors?page=${Math.floor(Math.random() * 3)}&size=10`, params('directory')),
+        { 'directory 200': (r) => r.status === 200 });
+    check(http.get(`${BASE_URL}/api/doctors/${doctorId}/slots?date=${date}`, params('slots')),
+        { 'slots 200': (r) => r.status === 200 });
+    check(http.get(`${BASE_URL}/api/doctors/slots/search?specialization=${specialization}&limit=10`, params('search')),
+        { 'search 200': (r) => r.status === 200 });
+
+    if (__ITER % 20 === 0) {
+        login();
+    }
+}
@@ -0,0 +1,109 @@
+-- =========================================
+-- HealthMate - Trigram Search Benchmark
+-- =========================================
+-- Seeds 1,000,000 users (10,000 of them doctors) into a THROWAWAY database created by
+-- the application (ddl-auto), then times the old LIKE search against the pg_trgm search.
+--
+-- Usage:
+--   createdb healthmate_perf
+--   (start the app once against healthmate_perf so the schema exists, then stop it)
+--   psql -d healthmate_perf -f perf/sql/trigram-search-benchmark.sql
+--
+-- Compare the "Execution Time" lines of each EXPLAIN block.
+
+\timing on
+
+-- =========================================
+-- SEED (1M users, 10k doctors, 990k patients)
+-- =========================================
+TRUNCATE appointments, time_slots, doctor_schedules, notifications, audit_logs, doctors, patients, users RESTART IDENTITY CASCADE;
+
+INSERT INTO users (name, email, password, phone_number, role, gender, date_of_birth, address)
+SELECT
+    (ARRAY['Rajesh','Priya','Amit','Sneha','Vikram','Anjali','Rahul','Kavita','Arjun','Neha',
+           'Sanjay','Deepika','Rohit','Swati','Karan','Meera','Vijay','Nisha','Rohan','Divya'])[1 + (g % 20)]
+        || ' ' ||
+    (ARRAY['Kumar','Sharma','Patel','Reddy','Singh','Gupta','Verma','Desai','Mehta','Kapoor',
+           'Malhotra','Nair','Bansal','Joshi','Chopra','Iyer','Rao','Das','Menon','Pillai'])[1 + ((g / 20) % 20)]
+        || ' ' || g,
+    'user' || g || '@perf.healthmate.com',
+    '$2b$12$deBSKaDqzEec7AA4.oizHeFVW7C1CNRCU8OZsd/6jrLRKxGmjgyCu',
+    '+91-' || (7000000000 + g),
+    CASE WHEN g <= 10000 THEN 'ROLE_DOCTOR' ELSE 'ROLE_PATIENT' END,
+    CASE WHEN g % 2 = 0 THEN 'MALE' ELSE 'FEMALE' END,
+    DATE '1960-01-01' + (g % 15000),
+    'Perf Street ' || g
+FROM generate_series(1, 1000000) AS g;
+
+INSERT INTO doctors (user_id, experience, available_hours, specialization)
+SELECT id, 1 + (id % 30), '09:00-17:00',
+       (ARRAY['Cardiology','Pediatrics','Orthopedics','Dermatology','Neurology','Gynecology',
+              'General Medicine','ENT','Gastroenterology','Psychiatry','Endocrinology','Oncology',
+              'Pulmonology','Rheumatology','Urology'])[1 + (id % 15)]
+FROM users WHERE role = 'ROLE_DOCTOR';
+
+INSERT INTO patients (user_id)
+SELECT id FROM users WHERE role = 'ROLE_PATIENT';
+
+ANALYZE users;
+ANALYZE doctors;
+ANALYZE patients;
+
+-- =========================================
+-- BASELINE: LIKE '%kw%' (sequential scan + count scan)
+-- =========================================
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT d.* FROM doctors d JOIN users u ON u.id = d.user_id
+WHERE lower(u.name) LIKE '%sharma 4%' OR lower(d.specialization) LIKE '%sharma 4%'
+LIMIT 10;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.* FROM patients p JOIN users u ON u.id = p.user_id
+WHERE lower(u.name) LIKE '%meera iyer%' OR lower(u.email) LIKE '%meera iyer%'
+LIMIT 10;
+
+-- =========================================
+-- TRIGRAM INDEXES (same DDL as the V4 migration)
+-- =========================================
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_users_name_trgm ON users USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_email_trgm ON users USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_doctors_specialization_trgm ON doctors USING gin (lower(specialization) gin_trgm_ops);
+ANALYZE users;
+ANALYZE doctors;
+
+-- =========================================
+-- RANKED: pg_trgm (index scan, typo tolerant)
+-- =========================================
+-- Substring
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT d.* FROM doctors d JOIN users u ON u.id = d.user_id
+WHERE lower(u.name) LIKE '%sharma 4%' OR lower(d.specialization) LIKE '%sharma 4%'
+   OR lower(u.name) % 'sharma 4' OR lower(d.specialization) % 'sharma 4'
+ORDER BY (lower(u.name) LIKE 'sharma 4%') DESC,
+         greatest(similarity(lower(u.name), 'sharma 4'), similarity(lower(d.specialization), 'sharma 4')) DESC,
+         d.user_id
+LIMIT 10;
+
+-- Typo ("cardiolgy")
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT d.* FROM doctors d JOIN users u ON u.id = d.user_id
+WHERE lower(u.name) LIKE '%cardiolgy%' OR lower(d.specialization) LIKE '%cardiolgy%'
+   OR lower(u.name) % 'cardiolgy' OR lower(d.specialization) % 'cardiolgy'
+ORDER BY (lower(u.name) LIKE 'cardiolgy%') DESC,
+         greatest(similarity(lower(u.name), 'cardiolgy'), similarity(lower(d.specialization), 'cardiolgy')) DESC,
+         d.user_id
+LIMIT 10;
+
+-- Patient search over 1M users
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.* FROM patients p JOIN users u ON u.id = p.user_id
+WHERE lower(u.name) LIKE '%meera iyer%' OR lower(u.email) LIKE '%meera iyer%' OR lower(u.name) % 'meera iyer'
+ORDER BY (lower(u.name) LIKE 'meera iyer%' OR lower(u.email) LIKE 'meera iyer%') DESC,
+         similarity(lower(u.name), 'meera iyer') DESC, p.user_id
+LIMIT 10;
+
+-- Count query used for pagination metadata
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM patients p JOIN users u ON u.id = p.user_id
+WHERE lower(u.name) LIKE '%meera iyer%' OR lower(u.email) LIKE '%meera iyer%' OR lower(u.name) % 'meera iyer';
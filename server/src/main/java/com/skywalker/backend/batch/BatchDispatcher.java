@@ -0,0 +1,141 @@
+package com.skywalker.backend.batch;
+
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.skywalker.backend.dto.BatchRequest;
+import com.skywalker.backend.dto.BatchResponse;
+import com.skywalker.backend.exception.OurException;
+import com.skywalker.backend.observability.QueryInspector;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.access.WebInvocationPrivilegeEvaluator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Runs the GET sub-requests of a batch through the DispatcherServlet in parallel. The batch request went
+ * through the security filter chain once; each sub-request reuses its authentication, is checked against
+ * the chain's URL rules here and against method security as usual, and skips the filters otherwise.
+ * <p>
+ * Sub-requests share one bounded pool. When it is saturated the batch request's own thread runs the
+ * sub-request, so a busy node slows batches down instead of queueing them without limit.
+ */
+@Slf4j
+@Component
+public class BatchDispatcher implements DisposableBean {
+
+    private static final String API_PREFIX = "/api/";
+    private static final String BATCH_PATH = "/api/batch";
+
+    private final DispatcherServlet dispatcherServlet;
+    private final WebInvocationPrivilegeEvaluator privilegeEvaluator;
+    private final ThreadPoolTaskExecutor executor;
+    private final int maxRequests;
+
+    public BatchDispatcher(DispatcherServlet dispatcherServlet,
+                           WebInvocationPrivilegeEvaluator privilegeEvaluator,
+                           @Value("${batch.threads:16}") int threads,
+                           @Value("${batch.queue-capacity:64}") int queueCapacity,
+                           @Value("${batch.max-requests:20}") int maxRequests) {
+        this.dispatcherServlet = dispatcherServlet;
+        this.privilegeEvaluator = privilegeEvaluator;
+        this.maxRequests = maxRequests;
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("batch-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        // Trace context and the batch's query inspection scope follow each sub-request
+        ContextPropagatingTaskDecorator tracing = new ContextPropagatingTaskDecorator();
+        executor.setTaskDecorator(task -> tracing.decorate(QueryInspector.propagate(task)));
+        executor.initialize();
+    }
+
+    public BatchResponse dispatch(BatchRequest batch, HttpServletRequest request, HttpServletResponse response) {
+        List<BatchRequest.SubRequest> subRequests = batch.getRequests();
+        if (subRequests == null || subRequests.isEmpty()) {
+            throw new OurException("Batch contains no requests");
+        }
+        if (subRequests.size() > maxRequests) {
+            throw new OurException("Batch exceeds the limit of " + maxRequests + " requests");
+        }
+        List<UriComponents> targets = subRequests.stream().map(subRequest -> target(subRequest.getPath())).toList();
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Executor securedExecutor = new DelegatingSecurityContextExecutor(executor, SecurityContextHolder.getContext());
+        List<CompletableFuture<BatchResponse.SubResponse>> futures = new ArrayList<>(subRequests.size());
+        for (int i = 0; i < subRequests.size(); i++) {
+            String id = subRequests.get(i).getId() != null ? subRequests.get(i).getId() : String.valueOf(i);
+            UriComponents target = targets.get(i);
+            if (!privilegeEvaluator.isAllowed(request.getContextPath(), target.getPath(), "GET", authentication)) {
+                futures.add(CompletableFuture.completedFuture(
+                        new BatchResponse.SubResponse(id, HttpServletResponse.SC_FORBIDDEN, null)));
+                continue;
+            }
+            BatchSubRequest subRequest = new BatchSubRequest(request, target);
+            BatchSubResponse subResponse = new BatchSubResponse(response);
+            futures.add(CompletableFuture.supplyAsync(() -> execute(id, subRequest, subResponse), securedExecutor));
+        }
+        // No timeout: a sub-request still running would touch the batch request after it is recycled
+        return new BatchResponse(futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private BatchResponse.SubResponse execute(String id, BatchSubRequest request, BatchSubResponse response) {
+        try {
+            dispatcherServlet.service(request, response);
+        } catch (Exception e) {
+            log.warn("Batched GET {} failed: {}", request.getRequestURI(), e.getMessage());
+            return new BatchResponse.SubResponse(id, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, null);
+        }
+        return new BatchResponse.SubResponse(id, response.getStatus(), body(response));
+    }
+
+    private static Object body(BatchSubResponse response) {
+        byte[] bytes = response.getBody();
+        if (bytes.length == 0) {
+            return null;
+        }
+        String text = new String(bytes, response.getCharset());
+        String contentType = response.getContentType();
+        if (contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            // Already JSON: embedded without another parse and serialize round
+            return new RawValue(text);
+        }
+        return text;
+    }
+
+    private static UriComponents target(String path) {
+        if (path == null || !path.startsWith(API_PREFIX)) {
+            throw new OurException("Batched paths must start with " + API_PREFIX + ": " + path);
+        }
+        UriComponents target = UriComponentsBuilder.fromUriString(path).build();
+        String targetPath = target.getPath();
+        if (target.getHost() != null || targetPath == null || targetPath.contains("/.") || targetPath.contains("//")
+                || targetPath.equals(BATCH_PATH) || targetPath.startsWith(BATCH_PATH + "/")) {
+            throw new OurException("Path cannot be batched: " + path);
+        }
+        return target;
+    }
+}
@@ -0,0 +1,73 @@
+package com.skywalker.backend.cache;
+
+import com.skywalker.backend.event.AppointmentChangedEvent;
+import com.skywalker.backend.event.DoctorChangedEvent;
+import com.skywalker.backend.event.TimeSlotChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+
+/**
+ * Evicts the service-level and HTTP-level caches together once the change that triggered them is committed.
+ * Appointments closed in bulk by AppointmentAutoCloseJob publish no events; the dashboards catch up with
+ * those through their TTL.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidationListener {
+
+    private static final String DASHBOARD_STATS = "dashboardStats";
+
+    private final CacheManager cacheManager;
+    private final HttpResponseCache httpResponseCache;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        try {
+            // Directory pages are keyed by page/filter, so any doctor change invalidates all of them.
+            // DoctorDirectoryIndex has applied the change by now, so evicted pages are rebuilt from it.
+            httpResponseCache.clear(HttpResponseCache.DOCTORS);
+        } catch (RuntimeException e) {
+            log.warn("Failed to invalidate doctor caches: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        try {
+            // Both the admin dashboard and the doctor's own count appointments
+            for (String key : new String[]{"admin", "doctor-" + event.getDoctorId()}) {
+                evict(DASHBOARD_STATS, key);
+                httpResponseCache.evict(HttpResponseCache.DASHBOARD, key);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to invalidate dashboard caches for doctor {}: {}", event.getDoctorId(), e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTimeSlotChanged(TimeSlotChangedEvent event) {
+        try {
+            LocalDate date = event.getStartDate();
+            while (!date.isAfter(event.getEndDate())) {
+                httpResponseCache.evict(HttpResponseCache.TIME_SLOTS, event.getDoctorId() + "-" + date);
+                date = date.plusDays(1);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to invalidate slot caches for doctor {}: {}", event.getDoctorId(), e.getMessage());
+        }
+    }
+
+    private void evict(String cacheName, String key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.skywalker.backend.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Typed, schema-less cache value codec.
+ * Values are written as Smile (binary JSON) without embedded class metadata - the target type is fixed
+ * per cache - and deflated when the encoded payload exceeds a size threshold.
+ * <p>
+ * Layout: one format byte ({@link #FORMAT_SMILE} or {@link #FORMAT_SMILE_DEFLATED}) followed by the payload.
+ * Unknown formats (e.g. entries written by the previous JSON serializer) decode to null, i.e. a cache miss.
+ */
+public class CachePayloadSerializer<T> implements RedisSerializer<T> {
+
+    static final byte FORMAT_SMILE = 1;
+    static final byte FORMAT_SMILE_DEFLATED = 2;
+
+    private static final ObjectMapper SMILE_MAPPER = createMapper();
+
+    private final JavaType type;
+    private final int compressionThreshold;
+
+    public CachePayloadSerializer(Class<T> type, int compressionThreshold) {
+        this.type = SMILE_MAPPER.constructType(type);
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        try {
+            byte[] smile = SMILE_MAPPER.writerFor(type).writeValueAsBytes(value);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(smile.length / 2 + 16);
+            if (smile.length < compressionThreshold) {
+                out.write(FORMAT_SMILE);
+                out.write(smile);
+            } else {
+                out.write(FORMAT_SMILE_DEFLATED);
+                try (DeflaterOutputStream deflater = new DeflaterOutputStream(out)) {
+                    deflater.write(smile);
+                }
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("Could not encode cache value: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            InputStream payload = new ByteArrayInputStream(bytes, 1, bytes.length - 1);
+            return switch (bytes[0]) {
+                case FORMAT_SMILE -> SMILE_MAPPER.readValue(payload, type);
+                case FORMAT_SMILE_DEFLATED -> SMILE_MAPPER.readValue(new InflaterInputStream(payload), type);
+                default -> null;
+            };
+        } catch (IOException e) {
+            throw new SerializationException("Could not decode cache value: " + e.getMessage(), e);
+        }
+    }
+
+    private static ObjectMapper createMapper() {
+        SmileFactory factory = SmileFactory.builder()
+                // Repeated strings (doctor names, statuses) are written once and back-referenced
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        ObjectMapper mapper = new ObjectMapper(factory);
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return mapper;
+    }
+}
@@ -0,0 +1,17 @@
+package com.skywalker.backend.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Final JSON body of a successful GET response, stored ready to be written to the socket.
+ */
+@Getter
+@AllArgsConstructor
+public class CachedHttpResponse {
+
+    // Strong ETag of the identity (uncompressed) representation
+    private final String etag;
+    private final boolean gzipped;
+    private final byte[] body;
+}
@@ -0,0 +1,41 @@
+package com.skywalker.backend.cache;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Layout: [gzipped flag: 1 byte][etag length: 2 bytes][etag: US-ASCII][body bytes]
+ */
+public class CachedHttpResponseSerializer implements RedisSerializer<CachedHttpResponse> {
+
+    @Override
+    public byte[] serialize(CachedHttpResponse value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        byte[] etag = value.getEtag().getBytes(StandardCharsets.US_ASCII);
+        return ByteBuffer.allocate(3 + etag.length + value.getBody().length)
+                .put((byte) (value.isGzipped() ? 1 : 0))
+                .putShort((short) etag.length)
+                .put(etag)
+                .put(value.getBody())
+                .array();
+    }
+
+    @Override
+    public CachedHttpResponse deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length < 3) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        boolean gzipped = buffer.get() == 1;
+        byte[] etag = new byte[buffer.getShort()];
+        buffer.get(etag);
+        byte[] body = new byte[buffer.remaining()];
+        buffer.get(body);
+        return new CachedHttpResponse(new String(etag, StandardCharsets.US_ASCII), gzipped, body);
+    }
+}
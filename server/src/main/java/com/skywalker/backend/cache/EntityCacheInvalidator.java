@@ -0,0 +1,115 @@
+package com.skywalker.backend.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Keeps the second-level cache of every node in step. Each node caches entities on its own heap, so after a
+ * cached entity is updated or deleted here the change is published on a Redis channel and the other nodes
+ * evict their copy. With read replicas the eviction is repeated once the allowed replica lag has passed:
+ * a read routed to a lagging replica in between may have cached the old state again.
+ * <p>
+ * Messages are fire-and-forget; the region TTLs bound staleness when one is lost.
+ */
+@Slf4j
+public class EntityCacheInvalidator implements PostCommitUpdateEventListener, PostCommitDeleteEventListener,
+        MessageListener {
+
+    public static final String CHANNEL = "healthmate:entity-cache:evict";
+
+    private static final String UPDATED = "U";
+    private static final String DELETED = "D";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final SessionFactoryImplementor sessionFactory;
+    private final StringRedisTemplate redisTemplate;
+    private final TaskScheduler taskScheduler;
+    private final Duration replicaLag;
+
+    /**
+     * @param replicaLag how long a replica may trail the primary, or null when reads never go to a replica
+     */
+    public EntityCacheInvalidator(SessionFactoryImplementor sessionFactory, StringRedisTemplate redisTemplate,
+                                  TaskScheduler taskScheduler, Duration replicaLag) {
+        this.sessionFactory = sessionFactory;
+        this.redisTemplate = redisTemplate;
+        this.taskScheduler = taskScheduler;
+        this.replicaLag = replicaLag;
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister(), event.getId(), UPDATED);
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Rolled back: nothing changed, and Hibernate already released this node's soft lock
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister(), event.getId(), DELETED);
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(" ");
+        if (parts.length != 4 || parts[0].equals(nodeId)) {
+            return;
+        }
+        String entityName = parts[1];
+        Long id = Long.valueOf(parts[2]);
+        boolean deleted = DELETED.equals(parts[3]);
+        evict(entityName, id, deleted);
+        if (replicaLag != null) {
+            taskScheduler.schedule(() -> evict(entityName, id, deleted), Instant.now().plus(replicaLag));
+        }
+    }
+
+    private void publish(EntityPersister persister, Object id, String change) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, String.join(" ", nodeId, persister.getEntityName(), id.toString(), change));
+        } catch (RuntimeException e) {
+            log.warn("Failed to broadcast cache eviction for {}#{}: {}", persister.getEntityName(), id, e.getMessage());
+        }
+    }
+
+    private void evict(String entityName, Long id, boolean deleted) {
+        try {
+            CacheImplementor cache = sessionFactory.getCache();
+            cache.evictEntityData(entityName, id);
+            // Email -> id mappings are immutable; only a delete leaves one pointing at a missing row.
+            // A no-op for entities without a natural-id region
+            if (deleted) {
+                cache.evictNaturalIdData(entityName);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to evict {}#{} from the entity cache: {}", entityName, id, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.skywalker.backend.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skywalker.backend.dto.FieldSelection;
+import com.skywalker.backend.dto.Response;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * HTTP-level cache for hot GET endpoints.
+ * Stores the final UTF-8 JSON body (optionally pre-gzipped) with a strong ETag, so a hit skips both
+ * the service call and Jackson serialization and is written to the response as raw bytes.
+ * Call from the controller method, after method security has authorized the request.
+ * Requests with a {@code fields=} selection bypass the cache: their bodies are trimmed per request.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HttpResponseCache {
+
+    public static final String DOCTORS = "httpDoctors";
+    public static final String TIME_SLOTS = "httpTimeSlots";
+    public static final String DASHBOARD = "httpDashboard";
+
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${http-cache.gzip:true}")
+    private boolean gzip;
+
+    public ResponseEntity<byte[]> serve(String cacheName, String key, HttpServletRequest request,
+                                        Supplier<Response> loader) {
+        FieldSelection selection = FieldSelection.parse(request.getParameter(FieldSelection.PARAMETER));
+        if (selection != null) {
+            Response response = loader.get();
+            return ResponseEntity.status(response.getStatusCode())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(toJson(response, selection));
+        }
+        Cache cache = cacheManager.getCache(cacheName);
+        CachedHttpResponse cached = get(cache, key);
+        if (cached == null) {
+            Response response = loader.get();
+            byte[] json = toJson(response, null);
+            if (response.getStatusCode() != 200) {
+                // Errors are never cached
+                return ResponseEntity.status(response.getStatusCode())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(json);
+            }
+            cached = new CachedHttpResponse(etag(json), gzip, gzip ? gzip(json) : json);
+            put(cache, key, cached);
+        }
+        return write(cached, request);
+    }
+
+    public void evict(String cacheName, String key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    /**
+     * Whether an If-None-Match header matches the current ETag. The header may list several tags, weak
+     * ({@code W/"..."}) or strong, or be {@code *}; If-None-Match compares them weakly.
+     */
+    public static boolean matchesIfNoneMatch(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        ETag current = ETag.create(etag);
+        for (ETag candidate : ETag.parse(ifNoneMatch)) {
+            if (candidate.isWildcard() || candidate.compare(current, false)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private ResponseEntity<byte[]> write(CachedHttpResponse cached, HttpServletRequest request) {
+        boolean sendGzipped = cached.isGzipped() && acceptsGzip(request);
+        // Each representation gets its own strong ETag
+        String etag = sendGzipped ? gzipEtag(cached.getEtag()) : cached.getEtag();
+
+        HttpStatus status = matchesIfNoneMatch(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)
+                ? HttpStatus.NOT_MODIFIED
+                : HttpStatus.OK;
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(status)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+
+        if (status == HttpStatus.NOT_MODIFIED) {
+            return builder.build();
+        }
+        if (sendGzipped) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        byte[] body = cached.isGzipped() && !sendGzipped ? gunzip(cached.getBody()) : cached.getBody();
+        return builder.contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private CachedHttpResponse get(Cache cache, String key) {
+        if (cache == null) {
+            return null;
+        }
+        try {
+            return cache.get(key, CachedHttpResponse.class);
+        } catch (RuntimeException e) {
+            log.warn("HTTP cache read failed for {}::{}: {}", cache.getName(), key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void put(Cache cache, String key, CachedHttpResponse value) {
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.put(key, value);
+        } catch (RuntimeException e) {
+            log.warn("HTTP cache write failed for {}::{}: {}", cache.getName(), key, e.getMessage());
+        }
+    }
+
+    private byte[] toJson(Response response, FieldSelection selection) {
+        try {
+            return selection == null
+                    ? objectMapper.writeValueAsBytes(response)
+                    : objectMapper.writer(selection.filters()).writeValueAsBytes(response);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+
+    private static String etag(byte[] json) {
+        return "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+    }
+
+    private static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gz\"";
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 32);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] bytes) {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
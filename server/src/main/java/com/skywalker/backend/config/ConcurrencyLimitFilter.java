@@ -0,0 +1,88 @@
+package com.skywalker.backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds in-flight requests when Tomcat runs on virtual threads.
+ * A platform-thread pool caps concurrency at its size; with one virtual thread per request nothing does,
+ * and a burst would queue thousands of requests on the JDBC pool until they all time out. Requests that
+ * cannot get a permit within the timeout are rejected with 503 instead.
+ * <p>
+ * Unless set, the cap is what the JDBC pool can serve: each connection handles connection-timeout /
+ * connection-hold-ms requests in turn before the last one waiting gives up. A cap set above that is logged.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+
+    public ConcurrencyLimitFilter(
+            @Value("${threads.virtual.max-concurrent-requests:0}") int maxConcurrentRequests,
+            @Value("${threads.virtual.acquire-timeout-ms:1000}") long acquireTimeoutMs,
+            @Value("${threads.virtual.connection-hold-ms:250}") long connectionHoldMs,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int jdbcPoolSize,
+            @Value("${spring.datasource.hikari.connection-timeout:30000}") long connectionTimeoutMs) {
+        int poolCapacity = poolCapacity(jdbcPoolSize, connectionTimeoutMs, connectionHoldMs);
+        int limit = maxConcurrentRequests > 0 ? maxConcurrentRequests : poolCapacity;
+        this.permits = new Semaphore(limit, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        if (limit > poolCapacity) {
+            log.warn("threads.virtual.max-concurrent-requests={} is above the {} requests {} JDBC connections serve "
+                    + "within connection-timeout {}ms; under load requests will fail on the pool instead of "
+                    + "getting a 503", limit, poolCapacity, jdbcPoolSize, connectionTimeoutMs);
+        }
+        log.info("Virtual threads enabled: at most {} concurrent requests sharing {} JDBC connections",
+                limit, jdbcPoolSize);
+    }
+
+    /**
+     * Requests the pool works through before the last one waiting for a connection times out.
+     */
+    static int poolCapacity(int jdbcPoolSize, long connectionTimeoutMs, long connectionHoldMs) {
+        long perConnection = Math.max(1, connectionTimeoutMs / Math.max(1, connectionHoldMs));
+        return (int) Math.min(Integer.MAX_VALUE, jdbcPoolSize * perConnection);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            response.setContentType("application/json");
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", "1");
+            response.getOutputStream().println("{ \"statusCode\": 503, \"message\": \"Server is busy, please retry\" }");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.skywalker.backend.config;
+
+import com.skywalker.backend.cache.EntityCacheInvalidator;
+import com.skywalker.backend.datasource.ReplicaLagMonitor;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+
+/**
+ * Wires the Hibernate second-level cache (regions in ehcache.xml) into the rest of the application:
+ * cross-node eviction over Redis and hit/miss meters per region.
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    @Bean
+    public EntityCacheInvalidator entityCacheInvalidator(EntityManagerFactory entityManagerFactory,
+                                                         StringRedisTemplate redisTemplate,
+                                                         TaskScheduler taskScheduler,
+                                                         ReplicaLagMonitor replicaLagMonitor,
+                                                         @Value("${datasource.replicas.max-lag-ms:2000}") long maxLagMs,
+                                                         @Value("${datasource.replicas.lag-check-ms:1000}") long lagCheckMs) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        // A replica can fall up to one check interval past the allowed lag before it leaves rotation
+        Duration replicaLag = replicaLagMonitor.isEnabled() ? Duration.ofMillis(maxLagMs + lagCheckMs) : null;
+        EntityCacheInvalidator invalidator =
+                new EntityCacheInvalidator(sessionFactory, redisTemplate, taskScheduler, replicaLag);
+
+        EventListenerRegistry listeners = sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, invalidator);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, invalidator);
+        return invalidator;
+    }
+
+    /**
+     * cache.gets{result=hit|miss}, cache.puts and cache.removals per region, alongside the Redis caches' meters.
+     */
+    @Bean
+    public MeterBinder entityCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getCache().getRegionFactory();
+            if (regionFactory instanceof JCacheRegionFactory jcache) {
+                CacheManager cacheManager = jcache.getCacheManager();
+                for (String region : cacheManager.getCacheNames()) {
+                    // Same tag keys as the Redis caches' meters, which Prometheus requires for a shared name
+                    JCacheMetrics.monitor(registry, cacheManager.getCache(region), "cache.manager", "hibernate", "name", region);
+                }
+            }
+        };
+    }
+}
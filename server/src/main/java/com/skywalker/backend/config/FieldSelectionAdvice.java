@@ -0,0 +1,32 @@
+package com.skywalker.backend.config;
+
+import com.skywalker.backend.dto.FieldSelection;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Applies the request's {@code fields=} selection to JSON bodies written by Jackson. Bodies served from
+ * {@link com.skywalker.backend.cache.HttpResponseCache} are already bytes and apply it themselves.
+ */
+@RestControllerAdvice
+public class FieldSelectionAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            FieldSelection selection =
+                    FieldSelection.parse(servletRequest.getServletRequest().getParameter(FieldSelection.PARAMETER));
+            if (selection != null) {
+                bodyContainer.setFilters(selection.filters());
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.skywalker.backend.config;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.skywalker.backend.dto.FieldSelection;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Lets {@code fields=} trim the DTOs of a JSON response. Only the web ObjectMapper is touched; the cache
+ * serializers build their own mappers and always write every property.
+ */
+@Configuration
+public class FieldSelectionConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldSelectionCustomizer() {
+        return builder -> {
+            for (Class<?> type : FieldSelection.SELECTABLE_TYPES) {
+                builder.mixIn(type, FieldSelectionMixin.class);
+            }
+            builder.filters(FieldSelection.ALL);
+        };
+    }
+
+    @JsonFilter(FieldSelection.FILTER_ID)
+    private interface FieldSelectionMixin {
+    }
+}
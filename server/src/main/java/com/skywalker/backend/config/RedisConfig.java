@@ -1,11 +1,23 @@
 package com.skywalker.backend.config;
 
+import com.skywalker.backend.cache.CachePayloadSerializer;
+import com.skywalker.backend.cache.CachedHttpResponse;
+import com.skywalker.backend.cache.CachedHttpResponseSerializer;
+import com.skywalker.backend.cache.EntityCacheInvalidator;
+import com.skywalker.backend.cache.HttpResponseCache;
+import com.skywalker.backend.dto.Response;
+import com.skywalker.backend.service.impl.SlotAvailabilityBroadcaster;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.BatchStrategies;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -19,7 +31,8 @@ import java.util.Map;
 public class RedisConfig {
 
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                          @Value("${cache.compression.threshold-bytes:1024}") int compressionThreshold) {
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(10))
                 .serializeKeysWith(
@@ -29,19 +42,49 @@ public class RedisConfig {
 
         // Custom TTL for specific caches
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
-        
-        // Doctor directory - longer TTL (30 minutes)
-        cacheConfigurations.put("doctors", defaultConfig.entryTtl(Duration.ofMinutes(30)));
-        
-        // Dashboard stats - medium TTL (5 minutes)
-        cacheConfigurations.put("dashboardStats", defaultConfig.entryTtl(Duration.ofMinutes(5)));
-        
-        // Time slots - short TTL (2 minutes)
-        cacheConfigurations.put("timeSlots", defaultConfig.entryTtl(Duration.ofMinutes(2)));
-
-        return RedisCacheManager.builder(connectionFactory)
+
+        // Dashboard stats - medium TTL (5 minutes), compact Smile payload
+        cacheConfigurations.put("dashboardStats", defaultConfig.entryTtl(Duration.ofMinutes(5))
+                .serializeValuesWith(compactValues(Response.class, compressionThreshold)));
+
+        // Pre-serialized HTTP bodies for hot GET endpoints, same TTLs as the service-level caches
+        RedisSerializationContext.SerializationPair<CachedHttpResponse> httpValues =
+                RedisSerializationContext.SerializationPair.fromSerializer(new CachedHttpResponseSerializer());
+        cacheConfigurations.put(HttpResponseCache.DOCTORS, defaultConfig.entryTtl(Duration.ofMinutes(30))
+                .serializeValuesWith(httpValues));
+        cacheConfigurations.put(HttpResponseCache.DASHBOARD, defaultConfig.entryTtl(Duration.ofMinutes(5))
+                .serializeValuesWith(httpValues));
+        cacheConfigurations.put(HttpResponseCache.TIME_SLOTS, defaultConfig.entryTtl(Duration.ofMinutes(2))
+                .serializeValuesWith(httpValues));
+
+        // SCAN instead of KEYS when a whole cache is cleared on invalidation
+        RedisCacheWriter cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(
+                connectionFactory, BatchStrategies.scan(1000));
+
+        return RedisCacheManager.builder(cacheWriter)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(cacheConfigurations)
+                // Hit/miss counters per cache name, exported as cache.gets by the actuator
+                .enableStatistics()
                 .build();
     }
+
+    /**
+     * One subscriber connection for the cross-node channels: entity cache evictions and slot availability changes.
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       EntityCacheInvalidator entityCacheInvalidator,
+                                                                       SlotAvailabilityBroadcaster slotAvailabilityBroadcaster) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(entityCacheInvalidator, new ChannelTopic(EntityCacheInvalidator.CHANNEL));
+        container.addMessageListener(slotAvailabilityBroadcaster, new ChannelTopic(SlotAvailabilityBroadcaster.CHANNEL));
+        return container;
+    }
+
+    private static <T> RedisSerializationContext.SerializationPair<T> compactValues(Class<T> type, int compressionThreshold) {
+        return RedisSerializationContext.SerializationPair.fromSerializer(
+                new CachePayloadSerializer<>(type, compressionThreshold));
+    }
 }
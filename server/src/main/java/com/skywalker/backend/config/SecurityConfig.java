@@ -36,12 +36,15 @@ public class SecurityConfig {
                     ));
                     // your React app
                     config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-                    config.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+                    config.setAllowedHeaders(List.of("Authorization", "Content-Type", "Idempotency-Key"));
+                    config.setExposedHeaders(List.of("Idempotent-Replayed"));
                     return config;
                 }))
                 .exceptionHandling(ex -> ex.authenticationEntryPoint(unauthorizedHandler))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**", "/ws/**").permitAll()
+                        // Probes and Prometheus scrapes; the actuator is only served on management.server.port
+                        .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
@@ -3,8 +3,10 @@ package com.skywalker.backend.controller;
 import com.skywalker.backend.domain.STATUS;
 import com.skywalker.backend.dto.Response;
 import com.skywalker.backend.dto.StatusRequest;
+import com.skywalker.backend.idempotency.IdempotencyGuard;
 import com.skywalker.backend.model.Appointment;
 import com.skywalker.backend.service.impl.AppointmentService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -21,6 +23,7 @@ import java.time.LocalDate;
 public class AppointmentController {
 
     private final AppointmentService appointmentService;
+    private final IdempotencyGuard idempotencyGuard;
 
     @GetMapping
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
@@ -37,9 +40,13 @@ public class AppointmentController {
     @PostMapping("/{patientId}/{doctorId}")
     public ResponseEntity<Response> createAppointment(@PathVariable Long patientId,
                                                       @PathVariable Long doctorId,
-                                                      @RequestBody Appointment appointment) {
-        Response response = appointmentService.createAppointment(patientId, doctorId, appointment);
-        return ResponseEntity.status(response.getStatusCode()).body(response);
+                                                      @RequestBody Appointment appointment,
+                                                      @RequestHeader(value = IdempotencyGuard.HEADER, required = false)
+                                                      String idempotencyKey,
+                                                      HttpServletRequest httpRequest) {
+        // Fingerprinted before the service fills in the new appointment
+        return idempotencyGuard.execute(idempotencyKey, httpRequest, appointment,
+                () -> appointmentService.createAppointment(patientId, doctorId, appointment));
     }
 
     @GetMapping("/{id}")
@@ -71,12 +78,15 @@ public class AppointmentController {
     @PutMapping("/{id}/status")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_DOCTOR')")
     public ResponseEntity<Response> updateAppointmentStatus(@PathVariable Long id,
-                                                            @RequestBody StatusRequest statusRequest) {
-        Response response = appointmentService.updateAppointmentStatus(
-                id,
-                STATUS.valueOf(statusRequest.getStatus().toUpperCase())
-        );
-        return ResponseEntity.status(response.getStatusCode()).body(response);
+                                                            @RequestBody StatusRequest statusRequest,
+                                                            @RequestHeader(value = IdempotencyGuard.HEADER, required = false)
+                                                            String idempotencyKey,
+                                                            HttpServletRequest httpRequest) {
+        return idempotencyGuard.execute(idempotencyKey, httpRequest, statusRequest,
+                () -> appointmentService.updateAppointmentStatus(
+                        id,
+                        STATUS.valueOf(statusRequest.getStatus().toUpperCase())
+                ));
     }
 
     @DeleteMapping("/{id}")
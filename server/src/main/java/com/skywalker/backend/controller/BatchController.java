@@ -0,0 +1,27 @@
+package com.skywalker.backend.controller;
+
+import com.skywalker.backend.batch.BatchDispatcher;
+import com.skywalker.backend.dto.BatchRequest;
+import com.skywalker.backend.dto.BatchResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/batch")
+public class BatchController {
+
+    private final BatchDispatcher batchDispatcher;
+
+    @PostMapping
+    public ResponseEntity<BatchResponse> batch(@RequestBody BatchRequest batch,
+                                               HttpServletRequest request, HttpServletResponse response) {
+        return ResponseEntity.ok(batchDispatcher.dispatch(batch, request, response));
+    }
+}
@@ -1,7 +1,8 @@
 package com.skywalker.backend.controller;
 
-import com.skywalker.backend.dto.Response;
+import com.skywalker.backend.cache.HttpResponseCache;
 import com.skywalker.backend.service.impl.DashboardService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -13,18 +14,19 @@ import org.springframework.web.bind.annotation.*;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final HttpResponseCache httpResponseCache;
 
     @GetMapping("/admin")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
-    public ResponseEntity<Response> getAdminDashboard() {
-        Response response = dashboardService.getAdminDashboard();
-        return ResponseEntity.status(response.getStatusCode()).body(response);
+    public ResponseEntity<byte[]> getAdminDashboard(HttpServletRequest httpRequest) {
+        return httpResponseCache.serve(HttpResponseCache.DASHBOARD, "admin", httpRequest,
+                dashboardService::getAdminDashboard);
     }
 
     @GetMapping("/doctor/{doctorId}")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_DOCTOR')")
-    public ResponseEntity<Response> getDoctorDashboard(@PathVariable Long doctorId) {
-        Response response = dashboardService.getDoctorDashboard(doctorId);
-        return ResponseEntity.status(response.getStatusCode()).body(response);
+    public ResponseEntity<byte[]> getDoctorDashboard(@PathVariable Long doctorId, HttpServletRequest httpRequest) {
+        return httpResponseCache.serve(HttpResponseCache.DASHBOARD, "doctor-" + doctorId, httpRequest,
+                () -> dashboardService.getDoctorDashboard(doctorId));
     }
 }
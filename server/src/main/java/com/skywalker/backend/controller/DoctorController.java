@@ -1,22 +1,30 @@
 package com.skywalker.backend.controller;
 
+import com.skywalker.backend.cache.HttpResponseCache;
 import com.skywalker.backend.dto.DoctorScheduleDTO;
 import com.skywalker.backend.dto.Response;
 import com.skywalker.backend.dto.SlotGenerationRequest;
 import com.skywalker.backend.model.Doctor;
 import com.skywalker.backend.service.impl.DoctorScheduleService;
 import com.skywalker.backend.service.impl.DoctorService;
+import com.skywalker.backend.service.impl.SpecializationCatalogService;
 import com.skywalker.backend.service.impl.TimeSlotService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequiredArgsConstructor
@@ -26,22 +34,42 @@ public class DoctorController {
     private final DoctorService doctorService;
     private final DoctorScheduleService scheduleService;
     private final TimeSlotService timeSlotService;
+    private final SpecializationCatalogService specializationCatalog;
+    private final HttpResponseCache httpResponseCache;
 
     @GetMapping
-    public ResponseEntity<Response> getAllDoctors(
+    public ResponseEntity<?> getAllDoctors(
             @RequestParam(required = false) String search,
             @RequestParam(required = false) String specialty,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            HttpServletRequest httpRequest) {
         Pageable pageable = PageRequest.of(page, size);
+        if (search == null || search.isBlank()) {
+            // Unfiltered and specialty-filtered listings are served as pre-serialized bytes
+            String key = page + ":" + size + ":" + (specialty == null ? "" : specialty.trim().toLowerCase(Locale.ROOT));
+            return httpResponseCache.serve(HttpResponseCache.DOCTORS, key, httpRequest,
+                    () -> doctorService.getAllDoctorsPaginated(null, specialty, pageable));
+        }
         Response response = doctorService.getAllDoctorsPaginated(search, specialty, pageable);
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
     
     @GetMapping("/specializations")
-    public ResponseEntity<Response> getAllSpecializations() {
-        Response response = doctorService.getAllSpecializations();
-        return ResponseEntity.status(response.getStatusCode()).body(response);
+    public ResponseEntity<Response> getAllSpecializations(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        SpecializationCatalogService.Catalog catalog = specializationCatalog.getCatalog().orElse(null);
+        Response response = doctorService.getAllSpecializations(catalog);
+        if (catalog == null) {
+            return ResponseEntity.status(response.getStatusCode()).body(response);
+        }
+        if (HttpResponseCache.matchesIfNoneMatch(ifNoneMatch, catalog.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(catalog.etag()).build();
+        }
+        return ResponseEntity.status(response.getStatusCode())
+                .eTag(catalog.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(response);
     }
 
     @GetMapping("/{id}")
@@ -95,11 +123,34 @@ public class DoctorController {
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
 
+    @GetMapping("/slots/first-available")
+    public ResponseEntity<Response> getFirstAvailableSlot(
+            @RequestParam String specialization,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from) {
+        Response response = timeSlotService.getFirstAvailableSlot(specialization, from);
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
+    @GetMapping("/slots/search")
+    public ResponseEntity<Response> searchAvailableSlots(
+            @RequestParam(required = false) String specialization,
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime fromTime,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime toTime,
+            @RequestParam(required = false) Integer limit) {
+        Response response = timeSlotService.searchAvailableSlots(
+                specialization, doctorId, startDate, endDate, fromTime, toTime, limit);
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
     @GetMapping("/{doctorId}/slots")
-    public ResponseEntity<Response> getAvailableSlots(
+    public ResponseEntity<byte[]> getAvailableSlots(
             @PathVariable Long doctorId,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        Response response = timeSlotService.getAvailableSlots(doctorId, date);
-        return ResponseEntity.status(response.getStatusCode()).body(response);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            HttpServletRequest httpRequest) {
+        return httpResponseCache.serve(HttpResponseCache.TIME_SLOTS, doctorId + "-" + date, httpRequest,
+                () -> timeSlotService.getAvailableSlots(doctorId, date));
     }
 }
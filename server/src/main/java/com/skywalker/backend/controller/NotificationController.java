@@ -3,12 +3,14 @@ package com.skywalker.backend.controller;
 import com.skywalker.backend.dto.NotificationDTO;
 import com.skywalker.backend.service.impl.NotificationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -22,8 +24,13 @@ public class NotificationController {
     private final Map<Long, SseEmitter> emitters = new ConcurrentHashMap<>();
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<NotificationDTO>> getUserNotifications(@PathVariable Long userId) {
-        List<NotificationDTO> notifications = notificationService.getUserNotifications(userId);
+    public ResponseEntity<List<NotificationDTO>> getUserNotifications(
+            @PathVariable Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeTimestamp,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "20") int size) {
+        List<NotificationDTO> notifications =
+                notificationService.getUserNotifications(userId, beforeTimestamp, beforeId, size);
         return ResponseEntity.ok(notifications);
     }
 
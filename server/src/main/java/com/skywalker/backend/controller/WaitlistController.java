@@ -0,0 +1,55 @@
+package com.skywalker.backend.controller;
+
+import com.skywalker.backend.dto.Response;
+import com.skywalker.backend.service.impl.WaitlistService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/waitlist")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    @PostMapping("/{patientId}/{doctorId}")
+    public ResponseEntity<Response> joinWaitlist(
+            @PathVariable Long patientId,
+            @PathVariable Long doctorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        Response response = waitlistService.joinWaitlist(patientId, doctorId, date);
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
+    @GetMapping("/patient/{patientId}")
+    public ResponseEntity<Response> getPatientWaitlist(@PathVariable Long patientId) {
+        Response response = waitlistService.getPatientWaitlist(patientId);
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
+    @GetMapping("/doctor/{doctorId}")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_DOCTOR')")
+    public ResponseEntity<Response> getDoctorWaitlist(
+            @PathVariable Long doctorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        Response response = waitlistService.getDoctorWaitlist(doctorId, date);
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
+    @PostMapping("/{id}/accept")
+    public ResponseEntity<Response> acceptOffer(@PathVariable Long id) {
+        Response response = waitlistService.acceptOffer(id);
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Response> leaveWaitlist(@PathVariable Long id) {
+        Response response = waitlistService.leaveWaitlist(id);
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+}
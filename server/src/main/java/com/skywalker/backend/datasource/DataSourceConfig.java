@@ -0,0 +1,148 @@
+package com.skywalker.backend.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the application DataSource: the spring.datasource pool behind a lazy connection proxy, so a
+ * transaction that never runs a statement (cache or in-memory index hit) never takes a pooled connection.
+ * When datasource.replicas.urls is set, read-only service transactions are routed to the replicas.
+ */
+@Slf4j
+@Configuration
+public class DataSourceConfig {
+
+    @Value("${datasource.replicas.urls:}")
+    private List<String> replicaUrls;
+
+    @Value("${datasource.replicas.username:}")
+    private String replicaUsername;
+
+    @Value("${datasource.replicas.password:}")
+    private String replicaPassword;
+
+    @Value("${datasource.replicas.pool-size:20}")
+    private int replicaPoolSize;
+
+    @Value("${datasource.replicas.max-lag-ms:2000}")
+    private long maxLagMs;
+
+    @Value("${datasource.replicas.pin-ms:5000}")
+    private long pinMs;
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment,
+                                 ReplicaLagMonitor replicaLagMonitor, ReadYourWritesPin readYourWritesPin) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        bindPoolSettings(environment, primary);
+
+        DataSource target = primary;
+        if (replicaLagMonitor.isEnabled()) {
+            target = new ReplicaRoutingDataSource(primary, replicaLagMonitor, readYourWritesPin);
+            log.info("Routing read-only transactions to {} replica(s)", replicaLagMonitor.getReplicas().size());
+        }
+        return new PooledDataSource(target, primary);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(DataSourceProperties properties, Environment environment) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : replicaUrls) {
+            if (!StringUtils.hasText(url)) {
+                continue;
+            }
+            String name = "replica-" + (replicas.size() + 1);
+            HikariConfig config = new HikariConfig();
+            bindPoolSettings(environment, config);
+            config.setJdbcUrl(url.trim());
+            config.setUsername(StringUtils.hasText(replicaUsername) ? replicaUsername : properties.determineUsername());
+            config.setPassword(StringUtils.hasText(replicaPassword) ? replicaPassword : properties.determinePassword());
+            config.setDriverClassName(properties.determineDriverClassName());
+            config.setPoolName(name);
+            config.setMaximumPoolSize(replicaPoolSize);
+            config.setReadOnly(true);
+            // An unreachable replica must not block startup; the lag check keeps it out of rotation
+            config.setInitializationFailTimeout(-1);
+            // Started on first use, after replicaPoolMetrics has instrumented it
+            HikariDataSource replica = new HikariDataSource();
+            config.copyStateTo(replica);
+            replicas.put(name, replica);
+        }
+        return new ReplicaLagMonitor(replicas, maxLagMs);
+    }
+
+    /**
+     * Boot only instruments the pool of the DataSource bean itself.
+     */
+    @Bean
+    public MeterBinder replicaPoolMetrics(ReplicaLagMonitor replicaLagMonitor) {
+        return registry -> replicaLagMonitor.getReplicas().values().forEach(replica ->
+                ((HikariDataSource) replica).setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+    }
+
+    @Bean
+    public ReadYourWritesPin readYourWritesPin() {
+        return new ReadYourWritesPin(pinMs);
+    }
+
+    /**
+     * With open-in-view the session would otherwise hold its first connection for the whole request,
+     * so a write after a routed read would land on the replica.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandling(ReplicaLagMonitor replicaLagMonitor) {
+        return hibernateProperties -> {
+            if (replicaLagMonitor.isEnabled()) {
+                hibernateProperties.put(AvailableSettings.CONNECTION_HANDLING,
+                        "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+            }
+        };
+    }
+
+    private static void bindPoolSettings(Environment environment, HikariConfig config) {
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(config));
+    }
+
+    /**
+     * Closes the primary pool on shutdown, as Spring Boot does for the DataSource it creates itself.
+     */
+    static class PooledDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+        private final HikariDataSource primary;
+
+        PooledDataSource(DataSource target, HikariDataSource primary) {
+            this.primary = primary;
+            setTargetDataSource(target);
+            // Known up front, so the proxy does not open a connection (and start the pool) while the context starts
+            setDefaultAutoCommit(primary.isAutoCommit());
+            setDefaultTransactionIsolationName(primary.getTransactionIsolation() != null
+                    ? primary.getTransactionIsolation()
+                    : "TRANSACTION_READ_COMMITTED");
+            afterPropertiesSet();
+        }
+
+        @Override
+        public void close() {
+            primary.close();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.skywalker.backend.datasource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a user's reads on the primary for a short while after they wrote, so a booking or profile
+ * change is visible on their next request even if the replicas have not replayed it yet.
+ * Pins live in this instance's memory: with several instances, a user's follow-up request
+ * must reach the same one (sticky sessions) or rely on replica lag staying below the pin time.
+ */
+public class ReadYourWritesPin {
+
+    private final long pinMs;
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesPin(long pinMs) {
+        this.pinMs = pinMs;
+    }
+
+    public void pinCurrentUser() {
+        String user = currentUser();
+        if (user != null) {
+            pinnedUntil.put(user, System.currentTimeMillis() + pinMs);
+        }
+    }
+
+    public boolean isCurrentUserPinned() {
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(user);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        pinnedUntil.values().removeIf(until -> until <= now);
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,117 @@
+package com.skywalker.backend.datasource;
+
+import com.skywalker.backend.observability.HealthmateMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks replication lag of the read replicas and picks one for each read-only transaction.
+ * A replica is only used once a lag check has succeeded and it is within the allowed lag;
+ * unreachable or lagging replicas are skipped until the next check clears them.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    // Zero when the replica has replayed everything it received, so an idle primary does not read as lag
+    static final String LAG_QUERY = "SELECT CASE " +
+            "WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END::bigint";
+
+    private static final long UNKNOWN = -1;
+
+    private final Map<String, DataSource> replicas;
+    private final List<String> names;
+    private final long maxLagMs;
+    private final Map<String, Long> lagMs = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, long maxLagMs) {
+        this.replicas = Collections.unmodifiableMap(new LinkedHashMap<>(replicas));
+        this.names = List.copyOf(replicas.keySet());
+        this.maxLagMs = maxLagMs;
+        for (String name : names) {
+            lagMs.put(name, UNKNOWN);
+            Gauge.builder(HealthmateMetrics.DB_REPLICA_LAG, lagMs, lags -> lags.getOrDefault(name, UNKNOWN))
+                    .tag("replica", name)
+                    .baseUnit("milliseconds")
+                    .register(Metrics.globalRegistry);
+        }
+    }
+
+    public boolean isEnabled() {
+        return !replicas.isEmpty();
+    }
+
+    public Map<String, DataSource> getReplicas() {
+        return replicas;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.lag-check-ms:1000}")
+    public void checkLag() {
+        for (String name : names) {
+            long lag;
+            try {
+                Long measured = new JdbcTemplate(replicas.get(name)).queryForObject(LAG_QUERY, Long.class);
+                lag = measured != null ? measured : UNKNOWN;
+            } catch (Exception e) {
+                lag = UNKNOWN;
+                log.debug("Lag check failed for replica {}: {}", name, e.getMessage());
+            }
+            Long previous = lagMs.put(name, lag);
+            boolean usable = isUsable(lag);
+            if (previous != null && usable != isUsable(previous)) {
+                if (usable) {
+                    log.info("Replica {} in rotation ({} ms behind)", name, lag);
+                } else {
+                    log.warn("Replica {} taken out of rotation ({})", name, lag == UNKNOWN ? "unreachable" : lag + " ms behind");
+                }
+            }
+        }
+    }
+
+    /**
+     * Round-robin over the usable replicas, or null when every replica is lagging or unreachable.
+     */
+    public String pick() {
+        int size = names.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            String name = names.get((start + i) % size);
+            if (isUsable(lagMs.get(name))) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    private boolean isUsable(Long lag) {
+        return lag != null && lag != UNKNOWN && lag <= maxLagMs;
+    }
+
+    @Override
+    public void close() {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close replica pool: {}", e.getMessage());
+                }
+            }
+        }
+    }
+}
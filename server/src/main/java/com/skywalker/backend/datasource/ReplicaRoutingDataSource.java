@@ -0,0 +1,67 @@
+package com.skywalker.backend.datasource;
+
+import com.skywalker.backend.observability.HealthmateMetrics;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions declared by the application's services to a replica and everything else
+ * to the primary. Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the transaction's read-only flag is only known once it has begun, after JPA asked for its connection.
+ * <p>
+ * Repository-level read-only transactions (Spring Data's own per-call ones such as a bare {@code findById}
+ * or {@code count}, and those of the custom repository fragments) stay on the primary, since write paths use
+ * them for their pre-checks. A read-write transaction pins the current user
+ * to the primary for a short while; see {@link ReadYourWritesPin}.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private static final List<String> REPOSITORY_TRANSACTION_PREFIXES =
+            List.of("org.springframework.data.", "com.skywalker.backend.repository.");
+
+    private final ReplicaLagMonitor replicas;
+    private final ReadYourWritesPin pins;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaLagMonitor replicas, ReadYourWritesPin pins) {
+        this.replicas = replicas;
+        this.pins = pins;
+        Map<Object, Object> targets = new HashMap<>(replicas.getReplicas());
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                pins.pinCurrentUser();
+            }
+            return PRIMARY;
+        }
+        String transactionName = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (transactionName != null && REPOSITORY_TRANSACTION_PREFIXES.stream().anyMatch(transactionName::startsWith)) {
+            return PRIMARY;
+        }
+        if (pins.isCurrentUserPinned()) {
+            return route(PRIMARY, "pinned");
+        }
+        String replica = replicas.pick();
+        return replica != null ? route(replica, "replica") : route(PRIMARY, "lagging");
+    }
+
+    private static String route(String target, String reason) {
+        Metrics.counter(HealthmateMetrics.DB_ROUTING, "target", target, "reason", reason).increment();
+        return target;
+    }
+}
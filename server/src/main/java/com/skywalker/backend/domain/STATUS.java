@@ -4,5 +4,6 @@ public enum STATUS {
     SCHEDULED,
     COMPLETED,
     CANCELED,
-    CONFIRMED
+    CONFIRMED,
+    NO_SHOW
 }
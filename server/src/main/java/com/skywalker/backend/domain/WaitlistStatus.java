@@ -0,0 +1,9 @@
+package com.skywalker.backend.domain;
+
+public enum WaitlistStatus {
+    WAITING,
+    OFFERED,
+    BOOKED,
+    EXPIRED,
+    CANCELED
+}
@@ -0,0 +1,17 @@
+package com.skywalker.backend.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchRequest {
+
+    private List<SubRequest> requests;
+
+    @Data
+    public static class SubRequest {
+        private String id;      // Echoed back to match the response; defaults to the index
+        private String path;    // A GET route with its query string, e.g. /api/doctors/3/slots?date=2025-10-15
+    }
+}
@@ -0,0 +1,24 @@
+package com.skywalker.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResponse {
+
+    private List<SubResponse> responses;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SubResponse {
+        private String id;
+        private int status;
+        private Object body;    // The route's own JSON document, embedded as is
+    }
+}
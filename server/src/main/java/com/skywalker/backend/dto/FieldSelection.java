@@ -0,0 +1,127 @@
+package com.skywalker.backend.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sparse fieldset for the DTOs inside a {@link Response}, parsed from a {@code fields=} request parameter
+ * such as {@code fields=id,status,appointmentDateTime,doctor.name}.
+ * <p>
+ * Names are property paths from the outermost DTO; list levels are skipped, so {@code appointments.status}
+ * selects the status of every appointment of a doctor. Naming an object selects all of it, naming a nested
+ * property keeps just that part of its parent. The envelope itself (status, message, pagination) is never
+ * filtered, and unknown names are ignored.
+ */
+public final class FieldSelection {
+
+    public static final String PARAMETER = "fields";
+    public static final String FILTER_ID = "fieldSelection";
+
+    /**
+     * Types the selection applies to; the web ObjectMapper tags them with {@link #FILTER_ID}.
+     */
+    public static final List<Class<?>> SELECTABLE_TYPES =
+            List.of(AppointmentDTO.class, DoctorDTO.class, PatientDTO.class, UserDTO.class);
+
+    /**
+     * Filters for a request without a selection: every property is written.
+     */
+    public static final FilterProvider ALL = new SimpleFilterProvider()
+            .addFilter(FILTER_ID, SimpleBeanPropertyFilter.serializeAll());
+
+    private final Set<String> selected = new HashSet<>();
+    private final Set<String> parents = new HashSet<>();
+
+    private FieldSelection(List<String> paths) {
+        for (String path : paths) {
+            selected.add(path);
+            for (int dot = path.indexOf('.'); dot > 0; dot = path.indexOf('.', dot + 1)) {
+                parents.add(path.substring(0, dot));
+            }
+        }
+    }
+
+    /**
+     * Returns null when the parameter is absent or names no field.
+     */
+    public static FieldSelection parse(String fields) {
+        if (fields == null) {
+            return null;
+        }
+        List<String> paths = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(path -> !path.isEmpty())
+                .toList();
+        return paths.isEmpty() ? null : new FieldSelection(paths);
+    }
+
+    public FilterProvider filters() {
+        return new SimpleFilterProvider().addFilter(FILTER_ID, new Filter(this));
+    }
+
+    boolean includes(String path) {
+        if (selected.contains(path) || parents.contains(path)) {
+            return true;
+        }
+        for (int dot = path.lastIndexOf('.'); dot > 0; dot = path.lastIndexOf('.', dot - 1)) {
+            if (selected.contains(path.substring(0, dot))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Not thread-safe: one instance serves one serialization, which visits every property of a DTO in a row.
+     */
+    private static final class Filter extends SimpleBeanPropertyFilter {
+
+        private final FieldSelection selection;
+        private Object currentPojo;
+        private String currentPrefix;
+
+        Filter(FieldSelection selection) {
+            this.selection = selection;
+        }
+
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator gen, SerializerProvider provider,
+                                     PropertyWriter writer) throws Exception {
+            if (pojo != currentPojo) {
+                currentPojo = pojo;
+                currentPrefix = prefix(gen.getOutputContext());
+            }
+            if (selection.includes(currentPrefix + writer.getName())) {
+                writer.serializeAsField(pojo, gen, provider);
+            } else if (!gen.canOmitFields()) {
+                writer.serializeAsOmittedField(pojo, gen, provider);
+            }
+        }
+
+        // Property names of the enclosing DTOs, outermost first, each followed by a dot
+        private static String prefix(JsonStreamContext context) {
+            String prefix = "";
+            for (JsonStreamContext parent = context.getParent(); parent != null; parent = parent.getParent()) {
+                if (parent.inArray()) {
+                    continue;
+                }
+                Object value = parent.getCurrentValue();
+                if (!parent.inObject() || value == null || !SELECTABLE_TYPES.contains(value.getClass())) {
+                    break;
+                }
+                prefix = parent.getCurrentName() + "." + prefix;
+            }
+            return prefix;
+        }
+    }
+}
@@ -33,6 +33,8 @@ public class Response {
     private NotificationDTO notification;
     private List<NotificationDTO> notificationList;
     private DashboardStatsDTO dashboardStats;
+    private WaitlistEntryDTO waitlistEntry;
+    private List<WaitlistEntryDTO> waitlistEntryList;
     
     // Generic data field for pagination and other metadata
     private Object data;
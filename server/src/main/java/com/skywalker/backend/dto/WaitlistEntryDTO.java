@@ -0,0 +1,24 @@
+package com.skywalker.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.skywalker.backend.domain.WaitlistStatus;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WaitlistEntryDTO {
+    private Long id;
+    private Long patientId;
+    private String patientName;
+    private Long doctorId;
+    private String doctorName;
+    private LocalDate desiredDate;
+    private WaitlistStatus status;
+    private Integer position;          // 1 for the next patient to get an offer; absent while an offer is open
+    private LocalDateTime offeredDateTime;
+    private LocalDateTime offerExpiresAt;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,49 @@
+package com.skywalker.backend.event;
+
+import com.skywalker.backend.domain.STATUS;
+import com.skywalker.backend.model.Appointment;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when an appointment is booked, changes status or is deleted.
+ * Carries the status before the change (null for a new booking) and after it (null once deleted).
+ */
+@Getter
+@AllArgsConstructor
+public class AppointmentChangedEvent {
+
+    private final Long appointmentId;
+    private final Long doctorId;
+    private final Long patientId;
+    private final LocalDateTime appointmentDateTime;
+    private final STATUS previousStatus;
+    private final STATUS status;
+
+    public static AppointmentChangedEvent created(Appointment appointment) {
+        return of(appointment, null, appointment.getStatus());
+    }
+
+    public static AppointmentChangedEvent statusChanged(Appointment appointment, STATUS previousStatus) {
+        return of(appointment, previousStatus, appointment.getStatus());
+    }
+
+    public static AppointmentChangedEvent deleted(Appointment appointment) {
+        return of(appointment, appointment.getStatus(), null);
+    }
+
+    /**
+     * Whether the doctor's time is free again: the appointment was cancelled or deleted while it still held it.
+     */
+    public boolean releasesTime() {
+        return previousStatus != null && previousStatus != STATUS.CANCELED
+                && (status == null || status == STATUS.CANCELED);
+    }
+
+    private static AppointmentChangedEvent of(Appointment appointment, STATUS previousStatus, STATUS status) {
+        return new AppointmentChangedEvent(appointment.getId(), appointment.getDoctor().getId(),
+                appointment.getPatient().getId(), appointment.getAppointmentDateTime(), previousStatus, status);
+    }
+}
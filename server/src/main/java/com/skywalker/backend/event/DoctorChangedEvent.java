@@ -0,0 +1,24 @@
+package com.skywalker.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published whenever a doctor is registered, updated or deleted so that
+ * in-memory views of the doctor directory can refresh the affected entry.
+ */
+@Getter
+@AllArgsConstructor
+public class DoctorChangedEvent {
+
+    private final Long doctorId;
+    private final boolean deleted;
+
+    public static DoctorChangedEvent updated(Long doctorId) {
+        return new DoctorChangedEvent(doctorId, false);
+    }
+
+    public static DoctorChangedEvent deleted(Long doctorId) {
+        return new DoctorChangedEvent(doctorId, true);
+    }
+}
@@ -0,0 +1,30 @@
+package com.skywalker.backend.event;
+
+import com.skywalker.backend.domain.SlotStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Published when slots of a doctor are generated, booked or released for a date range.
+ * Single-slot status changes also carry the slot id and its new status.
+ */
+@Getter
+@AllArgsConstructor
+public class TimeSlotChangedEvent {
+
+    private final Long doctorId;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final Long slotId;
+    private final SlotStatus status;
+
+    public static TimeSlotChangedEvent forRange(Long doctorId, LocalDate startDate, LocalDate endDate) {
+        return new TimeSlotChangedEvent(doctorId, startDate, endDate, null, null);
+    }
+
+    public static TimeSlotChangedEvent forSlot(Long doctorId, LocalDate date, Long slotId, SlotStatus status) {
+        return new TimeSlotChangedEvent(doctorId, date, date, slotId, status);
+    }
+}
@@ -0,0 +1,324 @@
+package com.skywalker.backend.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skywalker.backend.cache.CachePayloadSerializer;
+import com.skywalker.backend.dto.Response;
+import com.skywalker.backend.observability.HealthmateMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a write at most once per {@code Idempotency-Key}. The first request with a key executes and its
+ * response is kept in Redis for the TTL; retries with the same key and the same request get that response
+ * back instead of running again, and a different request under a used key is rejected with 422.
+ * <p>
+ * A duplicate that arrives while the first is still running waits for it: on the same instance through an
+ * in-memory future, across instances by polling the in-progress record in Redis. That record is renewed while
+ * the write runs, however long it takes, and only expires lock-ms after its node has died. A 5xx outcome is
+ * not kept, so the client may retry it. Keys are scoped to the authenticated user. While Redis is unavailable
+ * keys are tracked in this instance's memory only.
+ */
+@Slf4j
+@Component
+public class IdempotencyGuard {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String KEY_PREFIX = "healthmate:idempotency:";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long MAX_POLL_MS = 200;
+    // Never deflated: stored responses are single appointments
+    private static final RedisSerializer<IdempotencyRecord> RECORD_SERIALIZER =
+            new CachePayloadSerializer<>(IdempotencyRecord.class, Integer.MAX_VALUE);
+    // Extends the key only while it still holds the given in-progress record, never the completed one
+    private static final RedisScript<Long> RENEW_PENDING = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('PEXPIRE', KEYS[1], ARGV[2]) end return 0",
+            Long.class);
+
+    private final RedisTemplate<String, IdempotencyRecord> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final TaskScheduler taskScheduler;
+    private final Duration ttl;
+    private final Duration lockTtl;
+    private final long waitMs;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, LocalRecord> localRecords = new ConcurrentHashMap<>();
+
+    @Autowired
+    public IdempotencyGuard(RedisConnectionFactory connectionFactory,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            TaskScheduler taskScheduler,
+                            @Value("${idempotency.ttl-ms:86400000}") long ttlMs,
+                            @Value("${idempotency.lock-ms:30000}") long lockMs,
+                            @Value("${idempotency.wait-ms:10000}") long waitMs) {
+        this(redisTemplate(connectionFactory), objectMapper, meterRegistry, taskScheduler, ttlMs, lockMs, waitMs);
+    }
+
+    IdempotencyGuard(RedisTemplate<String, IdempotencyRecord> redisTemplate, ObjectMapper objectMapper,
+                     MeterRegistry meterRegistry, TaskScheduler taskScheduler, long ttlMs, long lockMs, long waitMs) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.taskScheduler = taskScheduler;
+        this.ttl = Duration.ofMillis(ttlMs);
+        this.lockTtl = Duration.ofMillis(lockMs);
+        this.waitMs = waitMs;
+    }
+
+    /**
+     * @param idempotencyKey the request's header value; without one the action simply runs
+     * @param body           the bound request body, part of the fingerprint along with method and URI
+     */
+    public ResponseEntity<Response> execute(String idempotencyKey, HttpServletRequest request, Object body,
+                                            Supplier<Response> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return respond(action.get(), false);
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            return respond(error(400, HEADER + " must be at most " + MAX_KEY_LENGTH + " characters"), false);
+        }
+        String key = KEY_PREFIX + currentUser() + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request, body);
+
+        InFlight own = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            return awaitLocal(running, fingerprint);
+        }
+        try {
+            Outcome outcome = executeOnce(key, fingerprint, action);
+            own.result().complete(outcome.response());
+            return respond(outcome.response(), outcome.replayed());
+        } catch (RuntimeException e) {
+            own.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        localRecords.values().removeIf(record -> record.expiresAt() <= now);
+    }
+
+    private Outcome executeOnce(String key, String fingerprint, Supplier<Response> action) {
+        LocalRecord local = localRecords.get(key);
+        if (local != null && local.expiresAt() > System.currentTimeMillis()) {
+            return replay(local.record(), fingerprint);
+        }
+        long deadline = System.currentTimeMillis() + waitMs;
+        long pauseMs = 10;
+        while (true) {
+            IdempotencyRecord existing;
+            try {
+                if (Boolean.TRUE.equals(redisTemplate.opsForValue()
+                        .setIfAbsent(key, IdempotencyRecord.pending(fingerprint), lockTtl))) {
+                    return new Outcome(run(key, fingerprint, action, true), false);
+                }
+                existing = redisTemplate.opsForValue().get(key);
+            } catch (RuntimeException e) {
+                log.warn("Idempotency store unavailable, tracking {} locally: {}", key, e.getMessage());
+                return new Outcome(run(key, fingerprint, action, false), false);
+            }
+            // A record that vanished in between was released after a failure: claim it on the next round
+            if (existing != null && (existing.isCompleted() || !existing.getFingerprint().equals(fingerprint))) {
+                return replay(existing, fingerprint);
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                count("in_progress");
+                return new Outcome(inProgress(), false);
+            }
+            try {
+                Thread.sleep(pauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new Outcome(inProgress(), false);
+            }
+            pauseMs = Math.min(pauseMs * 2, MAX_POLL_MS);
+        }
+    }
+
+    private Response run(String key, String fingerprint, Supplier<Response> action, boolean claimedInRedis) {
+        Response response;
+        ScheduledFuture<?> renewal = claimedInRedis ? renewWhileRunning(key, fingerprint) : null;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            release(key, claimedInRedis);
+            throw e;
+        } finally {
+            if (renewal != null) {
+                renewal.cancel(false);
+            }
+        }
+        count("executed");
+        if (response.getStatusCode() >= 500) {
+            release(key, claimedInRedis);
+            return response;
+        }
+        IdempotencyRecord completed = new IdempotencyRecord(fingerprint, response);
+        if (claimedInRedis) {
+            try {
+                redisTemplate.opsForValue().set(key, completed, ttl);
+                return response;
+            } catch (RuntimeException e) {
+                log.warn("Could not store idempotent response for {}: {}", key, e.getMessage());
+            }
+        }
+        localRecords.put(key, new LocalRecord(completed, System.currentTimeMillis() + ttl.toMillis()));
+        return response;
+    }
+
+    /**
+     * Pushes the in-progress record's expiry out by lock-ms three times per lock-ms, so a retry on another
+     * node never claims the key while this node is still running the write. Cancelling does not stop a
+     * renewal that is already running, so each one checks and extends the record in a single script: one
+     * that lands after the response was stored leaves the TTL of the completed record alone.
+     */
+    private ScheduledFuture<?> renewWhileRunning(String key, String fingerprint) {
+        Duration period = lockTtl.dividedBy(3);
+        byte[] pending = RECORD_SERIALIZER.serialize(IdempotencyRecord.pending(fingerprint));
+        byte[] lockMs = String.valueOf(lockTtl.toMillis()).getBytes(StandardCharsets.UTF_8);
+        return taskScheduler.scheduleAtFixedRate(() -> {
+            try {
+                redisTemplate.execute(RENEW_PENDING, RedisSerializer.byteArray(),
+                        new GenericToStringSerializer<>(Long.class), List.of(key), pending, lockMs);
+            } catch (RuntimeException e) {
+                log.warn("Could not renew idempotency key {}: {}", key, e.getMessage());
+            }
+        }, Instant.now().plus(period), period);
+    }
+
+    private void release(String key, boolean claimedInRedis) {
+        if (!claimedInRedis) {
+            return;
+        }
+        try {
+            redisTemplate.delete(key);
+        } catch (RuntimeException e) {
+            // The in-progress record expires after the lock TTL
+            log.warn("Could not release idempotency key {}: {}", key, e.getMessage());
+        }
+    }
+
+    private Outcome replay(IdempotencyRecord record, String fingerprint) {
+        if (!record.getFingerprint().equals(fingerprint)) {
+            count("mismatch");
+            return new Outcome(error(422, HEADER + " was already used for a different request"), false);
+        }
+        count("replayed");
+        return new Outcome(record.getResponse(), true);
+    }
+
+    private ResponseEntity<Response> awaitLocal(InFlight running, String fingerprint) {
+        if (!running.fingerprint().equals(fingerprint)) {
+            count("mismatch");
+            return respond(error(422, HEADER + " was already used for a different request"), false);
+        }
+        try {
+            Response response = running.result().get(waitMs, TimeUnit.MILLISECONDS);
+            count("replayed");
+            return respond(response, true);
+        } catch (TimeoutException e) {
+            count("in_progress");
+            return respond(inProgress(), false);
+        } catch (ExecutionException e) {
+            return respond(error(500, "Error occurred: " + e.getCause().getMessage()), false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return respond(inProgress(), false);
+        }
+    }
+
+    private String fingerprint(HttpServletRequest request, Object body) {
+        try {
+            String canonical = request.getMethod() + " " + request.getRequestURI() + "\n"
+                    + objectMapper.writeValueAsString(body);
+            return DigestUtils.md5DigestAsHex(canonical.getBytes(StandardCharsets.UTF_8));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Request body cannot be fingerprinted", e);
+        }
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter(HealthmateMetrics.IDEMPOTENCY, "outcome", outcome).increment();
+    }
+
+    private static ResponseEntity<Response> respond(Response response, boolean replayed) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.getStatusCode());
+        if (replayed) {
+            builder.header(REPLAYED_HEADER, "true");
+        }
+        return builder.body(response);
+    }
+
+    private static Response inProgress() {
+        return error(409, "A request with this " + HEADER + " is still in progress");
+    }
+
+    private static Response error(int statusCode, String message) {
+        Response response = new Response();
+        response.setStatusCode(statusCode);
+        response.setMessage(message);
+        return response;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? "anonymous" : authentication.getName();
+    }
+
+    private static RedisTemplate<String, IdempotencyRecord> redisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, IdempotencyRecord> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(RECORD_SERIALIZER);
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    private record InFlight(String fingerprint, CompletableFuture<Response> result) {
+    }
+
+    private record Outcome(Response response, boolean replayed) {
+    }
+
+    private record LocalRecord(IdempotencyRecord record, long expiresAt) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.skywalker.backend.idempotency;
+
+import com.skywalker.backend.dto.Response;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * What is stored under an idempotency key: the request fingerprint, and the response once the first
+ * execution has finished. A record without a response marks an execution still in progress.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    private String fingerprint;
+    private Response response;
+
+    static IdempotencyRecord pending(String fingerprint) {
+        return new IdempotencyRecord(fingerprint, null);
+    }
+
+    boolean isCompleted() {
+        return response != null;
+    }
+}
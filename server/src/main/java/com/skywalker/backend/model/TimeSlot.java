@@ -21,7 +21,8 @@ import java.time.LocalDateTime;
 public class TimeSlot {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "time_slots_seq")
+    @SequenceGenerator(name = "time_slots_seq", sequenceName = "time_slots_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
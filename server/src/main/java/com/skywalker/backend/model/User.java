@@ -13,7 +13,11 @@ import lombok.AllArgsConstructor;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -28,6 +32,9 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "entity.users")
+@NaturalIdCache(region = "entity.users.email")
 @Table(name = "users")
 public class User implements UserDetails {
 
@@ -38,6 +45,8 @@ public class User implements UserDetails {
     @NotBlank(message = "Name is required")
     private String name;
 
+    // Never changes after registration; resolved through the natural-id cache on login and on every JWT request
+    @NaturalId
     @Column(unique = true, nullable = false)
     @Email(message = "Email should be valid")
     @NotBlank(message = "Email is required")
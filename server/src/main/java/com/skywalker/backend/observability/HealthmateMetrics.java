@@ -0,0 +1,57 @@
+package com.skywalker.backend.observability;
+
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Names of the application's own meters and observations.
+ */
+public final class HealthmateMetrics {
+
+    public static final String SERVICE = "healthmate.service";
+    public static final String REPOSITORY = "healthmate.repository";
+    public static final String BOOKING_CONFLICTS = "healthmate.booking.conflicts";
+    public static final String NOTIFICATION_QUEUE = "healthmate.notifications.queue.depth";
+    public static final String DB_QUERIES = "healthmate.db.queries";
+    public static final String DB_TIME = "healthmate.db.time";
+    public static final String DB_FLAGGED_REQUESTS = "healthmate.db.flagged.requests";
+    public static final String DB_ROUTING = "healthmate.db.routing";
+    public static final String DB_REPLICA_LAG = "healthmate.db.replica.lag";
+    public static final String IDEMPOTENCY = "healthmate.idempotency";
+    public static final String WAITLIST = "healthmate.waitlist";
+    public static final String REMINDERS = "healthmate.reminders";
+    public static final String APPOINTMENTS_CLOSED = "healthmate.appointments.closed";
+
+    private HealthmateMetrics() {
+    }
+
+    /**
+     * Counts a booking rejected because the doctor or slot was already taken.
+     * Goes through the global registry so services need no extra collaborator.
+     */
+    public static void bookingConflict(String source) {
+        Metrics.counter(BOOKING_CONFLICTS, "source", source).increment();
+    }
+
+    /**
+     * Counts a waitlist step: joined, offered, expired or booked.
+     */
+    public static void waitlist(String event) {
+        Metrics.counter(WAITLIST, "event", event).increment();
+    }
+
+    /**
+     * Counts reminders by outcome: sent, stale (appointment moved or cancelled) or claimed by another node.
+     */
+    public static void reminders(String outcome, int count) {
+        if (count > 0) {
+            Metrics.counter(REMINDERS, "outcome", outcome).increment(count);
+        }
+    }
+
+    /**
+     * Counts past appointments closed by the auto-close job, by the status they were moved to.
+     */
+    public static void appointmentsClosed(String status, int count) {
+        Metrics.counter(APPOINTMENTS_CLOSED, "status", status).increment(count);
+    }
+}
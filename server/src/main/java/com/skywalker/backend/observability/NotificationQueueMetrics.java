@@ -0,0 +1,38 @@
+package com.skywalker.backend.observability;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backlog of the STOMP channels that carry real-time notifications.
+ * A growing outbound queue means clients are not keeping up with pushed notifications.
+ */
+@Component
+public class NotificationQueueMetrics implements MeterBinder {
+
+    private final ThreadPoolTaskExecutor inboundExecutor;
+    private final ThreadPoolTaskExecutor outboundExecutor;
+
+    public NotificationQueueMetrics(@Qualifier("clientInboundChannelExecutor") ThreadPoolTaskExecutor inboundExecutor,
+                                    @Qualifier("clientOutboundChannelExecutor") ThreadPoolTaskExecutor outboundExecutor) {
+        this.inboundExecutor = inboundExecutor;
+        this.outboundExecutor = outboundExecutor;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        register(registry, "inbound", inboundExecutor);
+        register(registry, "outbound", outboundExecutor);
+    }
+
+    private static void register(MeterRegistry registry, String channel, ThreadPoolTaskExecutor executor) {
+        Gauge.builder(HealthmateMetrics.NOTIFICATION_QUEUE, executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .tag("channel", channel)
+                .description("Messages waiting on the STOMP channel executor")
+                .register(registry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.skywalker.backend.observability;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "query-inspection.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryInspectionConfig {
+
+    /**
+     * Routes every DataSource through {@link QueryInspector} before JPA and JdbcTemplate pick it up.
+     */
+    @Bean
+    public static BeanPostProcessor queryInspectionDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return QueryInspector.wrap(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
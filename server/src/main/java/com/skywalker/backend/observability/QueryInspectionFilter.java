@@ -0,0 +1,118 @@
+package com.skywalker.backend.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the statements each request issues, exports per-endpoint histograms and logs requests that
+ * exceed the query budget, repeat a statement (N+1) or run a slow statement.
+ * Runs outside the security filters so the user lookup done for JWT authentication is included.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "query-inspection.enabled", havingValue = "true", matchIfMissing = true)
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class QueryInspectionFilter extends OncePerRequestFilter {
+
+    private static final int MAX_LOGGED_SQL_LENGTH = 200;
+
+    private final MeterRegistry meterRegistry;
+    private final int maxQueriesPerRequest;
+    private final int nPlusOneThreshold;
+    private final long slowQueryMs;
+
+    public QueryInspectionFilter(MeterRegistry meterRegistry,
+                                 @Value("${query-inspection.max-queries-per-request:20}") int maxQueriesPerRequest,
+                                 @Value("${query-inspection.n-plus-one-threshold:5}") int nPlusOneThreshold,
+                                 @Value("${query-inspection.slow-query-ms:200}") long slowQueryMs) {
+        this.meterRegistry = meterRegistry;
+        this.maxQueriesPerRequest = maxQueriesPerRequest;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.slowQueryMs = slowQueryMs;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryInspector.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            report(endpoint(request), QueryInspector.end());
+        }
+    }
+
+    private void report(String endpoint, QueryStats stats) {
+        DistributionSummary.builder(HealthmateMetrics.DB_QUERIES)
+                .description("JDBC statements per request")
+                .baseUnit("statements")
+                .tag("endpoint", endpoint)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getQueryCount());
+        Timer.builder(HealthmateMetrics.DB_TIME)
+                .description("Time spent executing JDBC statements per request")
+                .tag("endpoint", endpoint)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getTotalTimeMs(), TimeUnit.MILLISECONDS);
+
+        List<String> findings = new ArrayList<>();
+        if (stats.getQueryCount() > maxQueriesPerRequest) {
+            flag(endpoint, "too-many-queries");
+            findings.add("over budget of " + maxQueriesPerRequest);
+        }
+        Map<String, Integer> repeated = stats.getRepeatedStatements(nPlusOneThreshold);
+        if (!repeated.isEmpty()) {
+            flag(endpoint, "n-plus-one");
+            repeated.forEach((sql, count) -> findings.add("repeated " + count + "x: " + abbreviate(sql)));
+        }
+        Map<String, Long> slow = stats.getSlowStatements(slowQueryMs);
+        if (!slow.isEmpty()) {
+            flag(endpoint, "slow-statement");
+            slow.forEach((sql, ms) -> findings.add("slow " + ms + " ms: " + abbreviate(sql)));
+        }
+        if (!findings.isEmpty()) {
+            log.warn("{} issued {} statements in {} ms; {}", endpoint, stats.getQueryCount(),
+                    stats.getTotalTimeMs(), String.join("; ", findings));
+        }
+    }
+
+    private void flag(String endpoint, String reason) {
+        meterRegistry.counter(HealthmateMetrics.DB_FLAGGED_REQUESTS, "endpoint", endpoint, "reason", reason).increment();
+    }
+
+    // Route template rather than the raw URI, to keep tag cardinality bounded
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED");
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= MAX_LOGGED_SQL_LENGTH ? sql : sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+}
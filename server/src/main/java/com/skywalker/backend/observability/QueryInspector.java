@@ -0,0 +1,89 @@
+package com.skywalker.backend.observability;
+
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+import javax.sql.DataSource;
+import java.util.stream.Collectors;
+
+/**
+ * Thread-bound scopes that collect the JDBC statements issued through a {@link #wrap wrapped} DataSource.
+ * Scopes nest: a statement is recorded in the current scope and every enclosing one, so a test can
+ * open a scope around a MockMvc call that the request filter also scopes.
+ */
+public final class QueryInspector {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private QueryInspector() {
+    }
+
+    /**
+     * Opens a scope on the current thread. Every {@code begin} must be paired with {@link #end}.
+     */
+    public static QueryStats begin() {
+        QueryStats stats = new QueryStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Closes the innermost scope and returns what it recorded.
+     */
+    public static QueryStats end() {
+        QueryStats stats = CURRENT.get();
+        if (stats == null) {
+            throw new IllegalStateException("No query inspection scope is open");
+        }
+        if (stats.parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(stats.parent);
+        }
+        return stats;
+    }
+
+    /**
+     * Records the statements of a task run on another thread in the scopes open where it was submitted.
+     * Usable as a {@link org.springframework.core.task.TaskDecorator}.
+     */
+    public static Runnable propagate(Runnable task) {
+        QueryStats scope = CURRENT.get();
+        if (scope == null) {
+            return task;
+        }
+        return () -> {
+            QueryStats previous = CURRENT.get();
+            CURRENT.set(scope);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Proxies the DataSource so statements are recorded in the open scopes, if any.
+     * Batches count as one statement, matching one round trip.
+     */
+    public static DataSource wrap(DataSource dataSource) {
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name("healthmate")
+                .afterQuery((execInfo, queries) -> {
+                    QueryStats stats = CURRENT.get();
+                    if (stats == null) {
+                        return;
+                    }
+                    String sql = queries.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+                    for (; stats != null; stats = stats.parent) {
+                        stats.record(sql, execInfo.getElapsedTime());
+                    }
+                })
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.skywalker.backend.observability;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * JDBC statements executed inside one {@link QueryInspector} scope, usually one HTTP request.
+ * Statements are grouped by shape (whitespace and IN-list length normalized), so the same query
+ * issued once per row of a previous result shows up as one shape with a high count.
+ */
+public class QueryStats {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\?(\\s*,\\s*\\?)+\\)");
+
+    final QueryStats parent;
+    private final Map<String, StatementStats> statements = new LinkedHashMap<>();
+    private int queryCount;
+    private long totalTimeMs;
+
+    QueryStats(QueryStats parent) {
+        this.parent = parent;
+    }
+
+    synchronized void record(String sql, long elapsedMs) {
+        queryCount++;
+        totalTimeMs += elapsedMs;
+        statements.computeIfAbsent(shape(sql), key -> new StatementStats()).add(elapsedMs);
+    }
+
+    public synchronized int getQueryCount() {
+        return queryCount;
+    }
+
+    public synchronized long getTotalTimeMs() {
+        return totalTimeMs;
+    }
+
+    /**
+     * Statement shapes executed at least {@code minCount} times, with their counts: the N+1 signature.
+     */
+    public synchronized Map<String, Integer> getRepeatedStatements(int minCount) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        statements.forEach((sql, stats) -> {
+            if (stats.count >= minCount) {
+                repeated.put(sql, stats.count);
+            }
+        });
+        return repeated;
+    }
+
+    /**
+     * Statement shapes whose slowest execution took at least {@code thresholdMs}, with that time.
+     */
+    public synchronized Map<String, Long> getSlowStatements(long thresholdMs) {
+        Map<String, Long> slow = new LinkedHashMap<>();
+        statements.forEach((sql, stats) -> {
+            if (stats.maxMs >= thresholdMs) {
+                slow.put(sql, stats.maxMs);
+            }
+        });
+        return slow;
+    }
+
+    public synchronized List<String> getStatements() {
+        return List.copyOf(statements.keySet());
+    }
+
+    static String shape(String sql) {
+        String normalized = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return IN_LIST.matcher(normalized).replaceAll("(?)");
+    }
+
+    private static final class StatementStats {
+        private int count;
+        private long maxMs;
+
+        void add(long elapsedMs) {
+            count++;
+            maxMs = Math.max(maxMs, elapsedMs);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.skywalker.backend.observability;
+
+import com.skywalker.backend.dto.Response;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Timer and span per public method of the request-facing services.
+ * Services report failures through {@link Response#getStatusCode()} instead of exceptions,
+ * so the status code is recorded as a tag to keep 4xx/5xx outcomes apart from successes.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceObservationAspect {
+
+    private final ObservationRegistry observationRegistry;
+
+    @Around("execution(public * com.skywalker.backend.service.impl.AppointmentService.*(..))"
+            + " || execution(public * com.skywalker.backend.service.impl.TimeSlotService.*(..))"
+            + " || execution(public * com.skywalker.backend.service.impl.DashboardService.*(..))"
+            + " || execution(public * com.skywalker.backend.service.impl.AuthService.*(..))")
+    public Object observe(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        Observation observation = Observation.createNotStarted(HealthmateMetrics.SERVICE, observationRegistry)
+                .contextualName(service + "." + method)
+                .lowCardinalityKeyValue("service", service)
+                .lowCardinalityKeyValue("method", method)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            Object result = joinPoint.proceed();
+            observation.lowCardinalityKeyValue("status",
+                    result instanceof Response response ? String.valueOf(response.getStatusCode()) : "none");
+            return result;
+        } catch (Throwable e) {
+            observation.lowCardinalityKeyValue("status", "exception");
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+}
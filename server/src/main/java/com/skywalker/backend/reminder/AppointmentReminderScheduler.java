@@ -0,0 +1,340 @@
+package com.skywalker.backend.reminder;
+
+import com.skywalker.backend.domain.STATUS;
+import com.skywalker.backend.event.AppointmentChangedEvent;
+import com.skywalker.backend.model.Appointment;
+import com.skywalker.backend.model.Notification;
+import com.skywalker.backend.observability.HealthmateMetrics;
+import com.skywalker.backend.repository.AppointmentRepository;
+import com.skywalker.backend.repository.projection.AppointmentTime;
+import com.skywalker.backend.service.impl.EmailService;
+import com.skywalker.backend.service.impl.NotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Appointment reminders, sent a configured lead time before each SCHEDULED or CONFIRMED appointment as a
+ * notification and an email.
+ * <p>
+ * Reminders due within the next few hours wait in a {@link TimingWheel}. A single windowed query fills it at
+ * startup, also picking up reminders missed while the node was down, and the same query for the next slice
+ * extends it as time passes. Bookings, reschedules and cancellations update it from their events, so the
+ * appointments table is never polled for what is due. Reminders that come due together go out as one batch:
+ * one query re-reads the appointments, one transaction stores the notifications and one SMTP connection
+ * sends the emails.
+ * <p>
+ * Every node keeps its own wheel; a Redis claim per reminder makes sure only one of them sends it. Without
+ * Redis each node sends its own copy rather than none.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AppointmentReminderScheduler {
+
+    private static final String CLAIM_PREFIX = "healthmate:reminders:";
+    private static final long TICK_MS = 1000;
+    private static final int WHEEL_SIZE = 60;
+    private static final Set<STATUS> ACTIVE = EnumSet.of(STATUS.SCHEDULED, STATUS.CONFIRMED);
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("d MMM yyyy 'at' HH:mm");
+
+    private final AppointmentRepository appointmentRepository;
+    private final NotificationService notificationService;
+    private final EmailService emailService;
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${reminders.enabled:true}")
+    private boolean enabled;
+
+    @Value("${reminders.lead-minutes:1440,60}")
+    private long[] leadMinutes;
+
+    @Value("${reminders.horizon-hours:6}")
+    private long horizonHours;
+
+    @Value("${reminders.catch-up-minutes:30}")
+    private long catchUpMinutes;
+
+    @Value("${reminders.batch-size:200}")
+    private int batchSize;
+
+    @Value("${reminders.email:true}")
+    private boolean email;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Null until the first load. Guarded by lock
+    private TimingWheel<Reminder> wheel;
+    // Pending timers of each appointment, to move or drop them when it changes. Guarded by lock
+    private final Map<Long, List<TimingWheel.Timer<Reminder>>> timers = new HashMap<>();
+    // Reminders due up to this time are in the wheel. Guarded by lock
+    private LocalDateTime loadedUntil;
+    // Changes made while a load is querying, applied again once its window is in the wheel. Guarded by lock
+    private List<AppointmentChangedEvent> journal;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        lock.lock();
+        try {
+            wheel = new TimingWheel<>(TICK_MS, WHEEL_SIZE, epochMs(now));
+            // Reminders that came due shortly before startup are still sent
+            loadedUntil = now.minusMinutes(catchUpMinutes);
+        } finally {
+            lock.unlock();
+        }
+        load(now.plusHours(horizonHours));
+    }
+
+    @Scheduled(initialDelayString = "${reminders.refill-ms:600000}",
+               fixedDelayString = "${reminders.refill-ms:600000}")
+    public void refill() {
+        if (wheel != null) {
+            load(LocalDateTime.now().plusHours(horizonHours));
+        }
+    }
+
+    @Scheduled(fixedRate = TICK_MS)
+    public void tick() {
+        List<Reminder> due;
+        lock.lock();
+        try {
+            if (wheel == null) {
+                return;
+            }
+            due = wheel.advance(System.currentTimeMillis());
+            due.forEach(this::forget);
+        } finally {
+            lock.unlock();
+        }
+        for (int from = 0; from < due.size(); from += batchSize) {
+            dispatch(due.subList(from, Math.min(from + batchSize, due.size())));
+        }
+    }
+
+    /**
+     * Moves an appointment's reminders with it, or drops them once it is no longer active.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        lock.lock();
+        try {
+            if (wheel == null) {
+                return;
+            }
+            apply(event, LocalDateTime.now());
+            if (journal != null) {
+                journal.add(event);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reminders waiting in the wheel.
+     */
+    public int pending() {
+        lock.lock();
+        try {
+            return wheel == null ? 0 : wheel.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Adds the reminders due after loadedUntil and up to until
+    void load(LocalDateTime until) {
+        LocalDateTime from;
+        lock.lock();
+        try {
+            // A load still querying covers this one's changes; the next refill extends the window
+            if (journal != null || !until.isAfter(loadedUntil)) {
+                return;
+            }
+            from = loadedUntil;
+            journal = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+        long shortestLead = Arrays.stream(leadMinutes).min().orElse(0);
+        long longestLead = Arrays.stream(leadMinutes).max().orElse(0);
+        try {
+            List<AppointmentTime> appointments = appointmentRepository.findActiveTimesBetween(
+                    from.plusMinutes(shortestLead), until.plusMinutes(longestLead));
+            lock.lock();
+            try {
+                int added = 0;
+                for (AppointmentTime appointment : appointments) {
+                    for (long lead : leadMinutes) {
+                        LocalDateTime fireAt = appointment.getAppointmentDateTime().minusMinutes(lead);
+                        if (fireAt.isAfter(from) && !fireAt.isAfter(until)) {
+                            schedule(new Reminder(appointment.getId(), appointment.getAppointmentDateTime(), lead), fireAt);
+                            added++;
+                        }
+                    }
+                }
+                loadedUntil = until;
+                // Dropped as outside the window when they arrived, or changed after the query read them
+                LocalDateTime now = LocalDateTime.now();
+                journal.forEach(event -> apply(event, now));
+                log.debug("Loaded {} appointment reminders due until {}", added, until);
+            } finally {
+                lock.unlock();
+            }
+        } catch (Exception e) {
+            // loadedUntil stays put, so the next refill retries the same window
+            log.error("Failed to load appointment reminders: {}", e.getMessage());
+        } finally {
+            lock.lock();
+            try {
+                journal = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Moves the appointment's reminders that fall within loadedUntil. Callers hold lock
+    private void apply(AppointmentChangedEvent event, LocalDateTime now) {
+        List<TimingWheel.Timer<Reminder>> pending = timers.remove(event.getAppointmentId());
+        if (pending != null) {
+            pending.forEach(wheel::cancel);
+        }
+        if (event.getStatus() != null && ACTIVE.contains(event.getStatus())) {
+            for (long lead : leadMinutes) {
+                LocalDateTime fireAt = event.getAppointmentDateTime().minusMinutes(lead);
+                // A reminder whose time has passed by the time of booking would only repeat the confirmation
+                if (fireAt.isAfter(now) && !fireAt.isAfter(loadedUntil)) {
+                    schedule(new Reminder(event.getAppointmentId(), event.getAppointmentDateTime(), lead), fireAt);
+                }
+            }
+        }
+    }
+
+    void dispatch(List<Reminder> batch) {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Map<Long, Appointment> appointments = appointmentRepository.findAllWithParticipants(
+                            batch.stream().map(Reminder::appointmentId).collect(Collectors.toSet()),
+                            batch.stream().map(Reminder::appointmentDateTime).min(Comparator.naturalOrder()).orElseThrow(),
+                            batch.stream().map(Reminder::appointmentDateTime).max(Comparator.naturalOrder()).orElseThrow())
+                    .stream()
+                    .collect(Collectors.toMap(Appointment::getId, Function.identity()));
+
+            // A change committed on another node may not have reached this wheel
+            List<Reminder> current = batch.stream()
+                    .filter(reminder -> {
+                        Appointment appointment = appointments.get(reminder.appointmentId());
+                        return appointment != null && ACTIVE.contains(appointment.getStatus())
+                                && appointment.getAppointmentDateTime().equals(reminder.appointmentDateTime())
+                                && appointment.getAppointmentDateTime().isAfter(now);
+                    })
+                    .toList();
+            List<Reminder> claimed = claim(current);
+            HealthmateMetrics.reminders("stale", batch.size() - current.size());
+            HealthmateMetrics.reminders("claimed-elsewhere", current.size() - claimed.size());
+            if (claimed.isEmpty()) {
+                return;
+            }
+
+            List<Appointment> reminded = claimed.stream().map(reminder -> appointments.get(reminder.appointmentId())).toList();
+            notificationService.sendNotifications(reminded.stream().map(this::toNotification).toList());
+            if (email) {
+                emailService.sendAppointmentReminders(reminded);
+            }
+            HealthmateMetrics.reminders("sent", claimed.size());
+            log.debug("Sent {} appointment reminders", claimed.size());
+        } catch (Exception e) {
+            log.error("Failed to send {} appointment reminders: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    // One pipelined SET NX per batch; a reminder goes out only from the node that set its key
+    private List<Reminder> claim(List<Reminder> reminders) {
+        if (reminders.isEmpty()) {
+            return reminders;
+        }
+        try {
+            // Kept past the catch-up window so a node restarting in it does not send the reminder again
+            Expiration ttl = Expiration.from(Duration.ofMinutes(catchUpMinutes).plusHours(1));
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Reminder reminder : reminders) {
+                    connection.stringCommands().set(reminder.claimKey().getBytes(StandardCharsets.UTF_8),
+                            new byte[]{'1'}, ttl, RedisStringCommands.SetOption.ifAbsent());
+                }
+                return null;
+            });
+            List<Reminder> claimed = new ArrayList<>(reminders.size());
+            for (int i = 0; i < reminders.size(); i++) {
+                if (Boolean.TRUE.equals(results.get(i))) {
+                    claimed.add(reminders.get(i));
+                }
+            }
+            return claimed;
+        } catch (RuntimeException e) {
+            log.warn("Reminder claims unavailable, sending without them: {}", e.getMessage());
+            return reminders;
+        }
+    }
+
+    private Notification toNotification(Appointment appointment) {
+        Notification notification = new Notification();
+        notification.setUser(appointment.getPatient().getUser());
+        notification.setMessage("Reminder: your appointment " + appointment.getAppointmentCode() + " with Dr. " +
+                appointment.getDoctor().getUser().getName() + " is on " +
+                appointment.getAppointmentDateTime().format(TIME) + ".");
+        return notification;
+    }
+
+    private void schedule(Reminder reminder, LocalDateTime fireAt) {
+        List<TimingWheel.Timer<Reminder>> pending = timers.computeIfAbsent(reminder.appointmentId(), id -> new ArrayList<>());
+        // The window query and an event can both see the same booking
+        if (pending.stream().noneMatch(timer -> timer.getItem().equals(reminder))) {
+            pending.add(wheel.add(reminder, epochMs(fireAt)));
+        }
+    }
+
+    private void forget(Reminder reminder) {
+        List<TimingWheel.Timer<Reminder>> pending = timers.get(reminder.appointmentId());
+        if (pending != null) {
+            pending.removeIf(timer -> timer.getItem().equals(reminder));
+            if (pending.isEmpty()) {
+                timers.remove(reminder.appointmentId());
+            }
+        }
+    }
+
+    private static long epochMs(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    record Reminder(Long appointmentId, LocalDateTime appointmentDateTime, long leadMinutes) {
+
+        // Includes the time, so a rescheduled appointment is reminded again
+        String claimKey() {
+            return CLAIM_PREFIX + appointmentId + ":" + epochMs(appointmentDateTime) / 1000 + ":" + leadMinutes;
+        }
+    }
+}
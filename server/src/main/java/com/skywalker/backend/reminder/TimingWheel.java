@@ -0,0 +1,145 @@
+package com.skywalker.backend.reminder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel. Each level is a ring of buckets one tick wide; a timer too far out for a level
+ * goes to the next, whose tick is the whole span of the level below. As the clock reaches a bucket of a
+ * higher level, its timers move down to finer buckets, so adding and cancelling cost O(1) and each timer is
+ * touched once per level however many are pending.
+ * <p>
+ * Timers fire on the tick their expiration falls in, up to one tick early. Not thread-safe.
+ */
+public final class TimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long intervalMs;
+    private final List<List<Timer<T>>> buckets;
+    // Start of the current tick, a multiple of tickMs
+    private long currentTime;
+    private TimingWheel<T> overflow;
+
+    // Root level only
+    private final List<Timer<T>> due = new ArrayList<>();
+    private int size;
+
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.intervalMs = tickMs * wheelSize;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.currentTime = startMs - startMs % tickMs;
+    }
+
+    /**
+     * Schedules an item. One that is already due is returned by the next {@link #advance}.
+     */
+    public Timer<T> add(T item, long expirationMs) {
+        Timer<T> timer = new Timer<>(item, expirationMs);
+        if (expirationMs < currentTime + tickMs) {
+            due.add(timer);
+        } else {
+            place(timer);
+        }
+        size++;
+        return timer;
+    }
+
+    public void cancel(Timer<T> timer) {
+        if (!timer.cancelled) {
+            timer.cancelled = true;
+            size--;
+        }
+    }
+
+    /**
+     * Moves the clock forward to {@code nowMs} and returns the items that came due, earliest tick first.
+     */
+    public List<T> advance(long nowMs) {
+        List<T> expired = new ArrayList<>();
+        collect(due, expired);
+        while (nowMs >= currentTime + tickMs) {
+            currentTime += tickMs;
+            if (overflow != null) {
+                overflow.advanceTo(currentTime, this);
+            }
+            collect(bucket(currentTime), expired);
+        }
+        size -= expired.size();
+        return expired;
+    }
+
+    /**
+     * Timers scheduled and neither fired nor cancelled.
+     */
+    public int size() {
+        return size;
+    }
+
+    private void collect(List<Timer<T>> timers, List<T> expired) {
+        for (Timer<T> timer : timers) {
+            if (!timer.cancelled) {
+                timer.cancelled = true;
+                expired.add(timer.item);
+            }
+        }
+        timers.clear();
+    }
+
+    private void place(Timer<T> timer) {
+        if (timer.expirationMs < currentTime + intervalMs) {
+            bucket(timer.expirationMs).add(timer);
+        } else {
+            if (overflow == null) {
+                overflow = new TimingWheel<>(intervalMs, wheelSize, currentTime);
+            }
+            overflow.place(timer);
+        }
+    }
+
+    // Called by the level below once its clock reaches lowerTime: the bucket that starts then moves down
+    private void advanceTo(long lowerTime, TimingWheel<T> lower) {
+        while (lowerTime >= currentTime + tickMs) {
+            currentTime += tickMs;
+            if (overflow != null) {
+                overflow.advanceTo(currentTime, this);
+            }
+            List<Timer<T>> bucket = bucket(currentTime);
+            for (Timer<T> timer : bucket) {
+                if (!timer.cancelled) {
+                    lower.place(timer);
+                }
+            }
+            bucket.clear();
+        }
+    }
+
+    private List<Timer<T>> bucket(long timeMs) {
+        return buckets.get((int) ((timeMs / tickMs) % wheelSize));
+    }
+
+    public static final class Timer<T> {
+
+        private final T item;
+        private final long expirationMs;
+        private boolean cancelled;
+
+        private Timer(T item, long expirationMs) {
+            this.item = item;
+            this.expirationMs = expirationMs;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        public long getExpirationMs() {
+            return expirationMs;
+        }
+    }
+}
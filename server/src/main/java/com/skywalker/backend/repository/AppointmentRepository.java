@@ -2,42 +2,105 @@ package com.skywalker.backend.repository;
 
 import com.skywalker.backend.domain.STATUS;
 import com.skywalker.backend.model.Appointment;
+import com.skywalker.backend.repository.projection.AppointmentSummary;
+import com.skywalker.backend.repository.projection.AppointmentTime;
+import com.skywalker.backend.repository.projection.DoctorCount;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AppointmentRepository  extends JpaRepository<Appointment,Long> {
+
+    String SUMMARY = "SELECT a.id AS id, a.appointmentCode AS appointmentCode, " +
+                     "a.appointmentDateTime AS appointmentDateTime, a.status AS status, a.notes AS notes, " +
+                     "d.id AS doctorId, du.name AS doctorName, d.specialization AS specialization, " +
+                     "p.id AS patientId, pu.name AS patientName " +
+                     "FROM Appointment a JOIN a.doctor d JOIN d.user du JOIN a.patient p JOIN p.user pu ";
+
     List<Appointment> findByPatientId(Long patientId);
 
     List<Appointment> findByDoctorId(Long doctorId);
 
     List<Appointment> findByDoctorIdAndAppointmentDateTime(Long doctorId, LocalDateTime appointmentDateTime);
 
+    boolean existsByDoctorIdAndAppointmentDateTimeAndStatusNot(Long doctorId, LocalDateTime appointmentDateTime,
+                                                               STATUS status);
+
     Optional<Appointment> findByAppointmentCode(String appointmentCode);
 
     Page<Appointment> findByDoctorId(Long doctorId, Pageable pageable);
 
     Page<Appointment> findByPatientId(Long patientId, Pageable pageable);
 
-    Page<Appointment> findByStatus(STATUS status, Pageable pageable);
+    // Upcoming bookings only (SCHEDULED or CONFIRMED), served by the partial uk_appointments_doctor_active
+    @Query(SUMMARY + "WHERE d.id = :doctorId AND a.appointmentDateTime >= :from " +
+           "AND a.status IN (com.skywalker.backend.domain.STATUS.SCHEDULED, com.skywalker.backend.domain.STATUS.CONFIRMED) " +
+           "ORDER BY a.appointmentDateTime")
+    List<AppointmentSummary> findUpcomingByDoctorId(@Param("doctorId") Long doctorId, @Param("from") LocalDateTime from);
+
+    @Query(SUMMARY + "WHERE p.id = :patientId AND a.appointmentDateTime >= :from " +
+           "AND a.status IN (com.skywalker.backend.domain.STATUS.SCHEDULED, com.skywalker.backend.domain.STATUS.CONFIRMED) " +
+           "ORDER BY a.appointmentDateTime")
+    List<AppointmentSummary> findUpcomingByPatientId(@Param("patientId") Long patientId, @Param("from") LocalDateTime from);
+
+    // Reminder window, served by idx_appointments_status_date
+    @Query("SELECT a.id AS id, a.appointmentDateTime AS appointmentDateTime FROM Appointment a " +
+           "WHERE a.appointmentDateTime > :from AND a.appointmentDateTime <= :to " +
+           "AND a.status IN (com.skywalker.backend.domain.STATUS.SCHEDULED, com.skywalker.backend.domain.STATUS.CONFIRMED)")
+    List<AppointmentTime> findActiveTimesBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // The time bounds let Postgres skip the months none of the ids can be in
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.doctor d JOIN FETCH d.user JOIN FETCH a.patient p " +
+           "JOIN FETCH p.user LEFT JOIN FETCH a.timeSlot WHERE a.id IN :ids " +
+           "AND a.appointmentDateTime BETWEEN :from AND :to")
+    List<Appointment> findAllWithParticipants(@Param("ids") Collection<Long> ids,
+                                              @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    List<Appointment> findByAppointmentDateTimeGreaterThanEqual(LocalDateTime from);
+
+    // Moves one chunk of appointments still in :fromStatus that started in [:since, :until), oldest first, in a
+    // single statement, and counts them per doctor. Rows locked by a request in flight are left for the next chunk
+    @Transactional
+    @Query(value = "WITH chunk AS (SELECT id, appointment_date_time FROM appointments WHERE status = :fromStatus " +
+                   "AND appointment_date_time >= :since AND appointment_date_time < :until " +
+                   "ORDER BY appointment_date_time LIMIT :limit FOR UPDATE SKIP LOCKED), " +
+                   "moved AS (UPDATE appointments a SET status = :toStatus, updated_at = :now FROM chunk " +
+                   "WHERE a.id = chunk.id AND a.appointment_date_time = chunk.appointment_date_time " +
+                   "RETURNING a.doctor_id) " +
+                   "SELECT doctor_id AS \"doctorId\", count(*) AS \"count\" FROM moved GROUP BY doctor_id",
+           nativeQuery = true)
+    List<DoctorCount> transitionPast(@Param("fromStatus") String fromStatus, @Param("toStatus") String toStatus,
+                                     @Param("since") LocalDateTime since, @Param("until") LocalDateTime until,
+                                     @Param("limit") int limit, @Param("now") LocalDateTime now);
+
+    @Query(value = SUMMARY, countQuery = "SELECT count(a) FROM Appointment a")
+    Page<AppointmentSummary> findAllSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY + "WHERE a.status = :status",
+           countQuery = "SELECT count(a) FROM Appointment a WHERE a.status = :status")
+    Page<AppointmentSummary> findByStatus(@Param("status") STATUS status, Pageable pageable);
 
-    @Query("SELECT a FROM Appointment a WHERE a.appointmentDateTime BETWEEN :startDate AND :endDate")
-    Page<Appointment> findByDateRange(@Param("startDate") LocalDateTime startDate, 
-                                      @Param("endDate") LocalDateTime endDate, 
-                                      Pageable pageable);
+    @Query(value = SUMMARY + "WHERE a.appointmentDateTime BETWEEN :startDate AND :endDate",
+           countQuery = "SELECT count(a) FROM Appointment a WHERE a.appointmentDateTime BETWEEN :startDate AND :endDate")
+    Page<AppointmentSummary> findByDateRange(@Param("startDate") LocalDateTime startDate,
+                                             @Param("endDate") LocalDateTime endDate,
+                                             Pageable pageable);
 
-    @Query("SELECT a FROM Appointment a WHERE a.status = :status " +
-           "AND a.appointmentDateTime BETWEEN :startDate AND :endDate")
-    Page<Appointment> findByStatusAndDateRange(@Param("status") STATUS status,
-                                                @Param("startDate") LocalDateTime startDate, 
-                                                @Param("endDate") LocalDateTime endDate, 
-                                                Pageable pageable);
+    @Query(value = SUMMARY + "WHERE a.status = :status AND a.appointmentDateTime BETWEEN :startDate AND :endDate",
+           countQuery = "SELECT count(a) FROM Appointment a WHERE a.status = :status " +
+                        "AND a.appointmentDateTime BETWEEN :startDate AND :endDate")
+    Page<AppointmentSummary> findByStatusAndDateRange(@Param("status") STATUS status,
+                                                      @Param("startDate") LocalDateTime startDate,
+                                                      @Param("endDate") LocalDateTime endDate,
+                                                      Pageable pageable);
 }
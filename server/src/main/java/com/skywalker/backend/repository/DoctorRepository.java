@@ -1,6 +1,8 @@
 package com.skywalker.backend.repository;
 
 import com.skywalker.backend.model.Doctor;
+import com.skywalker.backend.repository.projection.DoctorSummary;
+import com.skywalker.backend.repository.projection.SpecializationCount;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,26 +11,66 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface DoctorRepository  extends JpaRepository<Doctor,Long> {
 
+    String SUMMARY = "SELECT d.id AS id, u.name AS name, u.email AS email, d.specialization AS specialization, " +
+                     "d.experience AS experience, d.availableHours AS availableHours FROM Doctor d JOIN d.user u ";
+
     void deleteByUserId(Long userId);
 
     List<Doctor> findBySpecialization(String specialization);
 
     Page<Doctor> findBySpecialization(String specialization, Pageable pageable);
 
-    @Query("SELECT d FROM Doctor d WHERE LOWER(d.user.name) LIKE LOWER(CONCAT('%', :name, '%'))")
-    Page<Doctor> searchByName(@Param("name") String name, Pageable pageable);
-
-    @Query("SELECT d FROM Doctor d WHERE LOWER(d.user.name) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
-           "OR LOWER(d.specialization) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    Page<Doctor> searchDoctors(@Param("keyword") String keyword, Pageable pageable);
-    
-    @Query("SELECT d FROM Doctor d WHERE LOWER(d.specialization) = LOWER(:specialty)")
-    Page<Doctor> findBySpecialtyExact(@Param("specialty") String specialty, Pageable pageable);
+    @Query(value = SUMMARY + "WHERE LOWER(u.name) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+                   "OR LOWER(d.specialization) LIKE LOWER(CONCAT('%', :keyword, '%'))",
+           countQuery = "SELECT count(d) FROM Doctor d JOIN d.user u " +
+                        "WHERE LOWER(u.name) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+                        "OR LOWER(d.specialization) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    Page<DoctorSummary> searchDoctors(@Param("keyword") String keyword, Pageable pageable);
     
-    @Query("SELECT DISTINCT d.specialization FROM Doctor d WHERE d.specialization IS NOT NULL ORDER BY d.specialization")
-    List<String> findAllSpecializations();
+    // Trigram-ranked search (pg_trgm). Keyword must already be normalised (trimmed, lower-cased).
+    // Matches substrings and near-misses; prefix matches rank first, then by similarity.
+    @Query(value = "SELECT d.user_id AS id, u.name AS name, u.email AS email, d.specialization AS specialization, " +
+                   "d.experience AS experience, d.available_hours AS \"availableHours\" " +
+                   "FROM doctors d JOIN users u ON u.id = d.user_id " +
+                   "WHERE lower(u.name) LIKE concat('%', :keyword, '%') " +
+                   "OR lower(d.specialization) LIKE concat('%', :keyword, '%') " +
+                   "OR lower(u.name) % :keyword OR lower(d.specialization) % :keyword " +
+                   "ORDER BY (lower(u.name) LIKE concat(:keyword, '%')) DESC, " +
+                   "greatest(similarity(lower(u.name), :keyword), similarity(lower(d.specialization), :keyword)) DESC, " +
+                   "d.user_id",
+           countQuery = "SELECT count(*) FROM doctors d JOIN users u ON u.id = d.user_id " +
+                        "WHERE lower(u.name) LIKE concat('%', :keyword, '%') " +
+                        "OR lower(d.specialization) LIKE concat('%', :keyword, '%') " +
+                        "OR lower(u.name) % :keyword OR lower(d.specialization) % :keyword",
+           nativeQuery = true)
+    Page<DoctorSummary> searchDoctorsRanked(@Param("keyword") String keyword, Pageable pageable);
+
+    @Query(value = SUMMARY + "WHERE LOWER(d.specialization) = LOWER(:specialty)",
+           countQuery = "SELECT count(d) FROM Doctor d WHERE LOWER(d.specialization) = LOWER(:specialty)")
+    Page<DoctorSummary> findBySpecialtyExact(@Param("specialty") String specialty, Pageable pageable);
+
+    @Query(SUMMARY + "WHERE d.specialization = :specialization")
+    List<DoctorSummary> findSummariesBySpecialization(@Param("specialization") String specialization);
+
+    @Query(SUMMARY)
+    List<DoctorSummary> findAllSummaries();
+
+    @Query(value = SUMMARY, countQuery = "SELECT count(d) FROM Doctor d")
+    Page<DoctorSummary> findAllSummaries(Pageable pageable);
+
+    @Query(SUMMARY + "WHERE d.id = :id")
+    Optional<DoctorSummary> findSummaryById(@Param("id") Long id);
+
+    @Query("SELECT d.id FROM Doctor d WHERE LOWER(d.specialization) = LOWER(:specialization) ORDER BY d.id")
+    List<Long> findIdsBySpecialization(@Param("specialization") String specialization);
+
+    // Doctor count per specialization, for the catalog while the directory index is loading
+    @Query("SELECT d.specialization AS specialization, count(d) AS count FROM Doctor d " +
+           "WHERE d.specialization IS NOT NULL GROUP BY d.specialization ORDER BY d.specialization")
+    List<SpecializationCount> findAllSpecializations();
 }
@@ -1,9 +1,14 @@
 package com.skywalker.backend.repository;
 
 import com.skywalker.backend.model.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -14,4 +19,26 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByUserIdAndIsReadFalseOrderByTimestampDesc(Long userId);
     
     Long countByUserIdAndIsReadFalse(Long userId);
+
+    // Keyset pagination over (user_id, timestamp desc, id desc) - first page
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId " +
+           "ORDER BY n.timestamp DESC, n.id DESC")
+    List<Notification> findLatestByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Keyset pagination - every page after the cursor (timestamp, id) of the last row seen
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId " +
+           "AND (n.timestamp < :beforeTimestamp OR (n.timestamp = :beforeTimestamp AND n.id < :beforeId)) " +
+           "ORDER BY n.timestamp DESC, n.id DESC")
+    List<Notification> findByUserIdBeforeCursor(@Param("userId") Long userId,
+                                                @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+                                                @Param("beforeId") Long beforeId,
+                                                Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.id = :userId AND n.isRead = false")
+    int markAllAsReadByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.timestamp < :cutoff")
+    int deleteByTimestampBefore(@Param("cutoff") LocalDateTime cutoff);
 }
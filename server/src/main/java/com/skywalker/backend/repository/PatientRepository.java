@@ -1,6 +1,7 @@
 package com.skywalker.backend.repository;
 
 import com.skywalker.backend.model.Patient;
+import com.skywalker.backend.repository.projection.PatientSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,12 +9,42 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface PatientRepository  extends JpaRepository<Patient,Long> {
 
+    String SUMMARY = "SELECT p.id AS id, u.name AS name, u.email AS email, u.phoneNumber AS phoneNumber, " +
+                     "u.gender AS gender, u.address AS address FROM Patient p JOIN p.user u ";
+
     void deleteByUserId(Long userId);
-    
-    @Query("SELECT p FROM Patient p WHERE LOWER(p.user.name) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
-           "OR LOWER(p.user.email) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    Page<Patient> searchPatients(@Param("keyword") String keyword, Pageable pageable);
+
+    @Query(SUMMARY)
+    List<PatientSummary> findAllSummaries();
+
+    @Query(value = SUMMARY, countQuery = "SELECT count(p) FROM Patient p")
+    Page<PatientSummary> findAllSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY + "WHERE LOWER(u.name) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+                   "OR LOWER(u.email) LIKE LOWER(CONCAT('%', :keyword, '%'))",
+           countQuery = "SELECT count(p) FROM Patient p JOIN p.user u " +
+                        "WHERE LOWER(u.name) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+                        "OR LOWER(u.email) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    Page<PatientSummary> searchPatients(@Param("keyword") String keyword, Pageable pageable);
+
+    // Trigram-ranked search (pg_trgm). Keyword must already be normalised (trimmed, lower-cased).
+    @Query(value = "SELECT p.user_id AS id, u.name AS name, u.email AS email, u.phone_number AS \"phoneNumber\", " +
+                   "u.gender AS gender, u.address AS address " +
+                   "FROM patients p JOIN users u ON u.id = p.user_id " +
+                   "WHERE lower(u.name) LIKE concat('%', :keyword, '%') " +
+                   "OR lower(u.email) LIKE concat('%', :keyword, '%') " +
+                   "OR lower(u.name) % :keyword " +
+                   "ORDER BY (lower(u.name) LIKE concat(:keyword, '%') OR lower(u.email) LIKE concat(:keyword, '%')) DESC, " +
+                   "similarity(lower(u.name), :keyword) DESC, p.user_id",
+           countQuery = "SELECT count(*) FROM patients p JOIN users u ON u.id = p.user_id " +
+                        "WHERE lower(u.name) LIKE concat('%', :keyword, '%') " +
+                        "OR lower(u.email) LIKE concat('%', :keyword, '%') " +
+                        "OR lower(u.name) % :keyword",
+           nativeQuery = true)
+    Page<PatientSummary> searchPatientsRanked(@Param("keyword") String keyword, Pageable pageable);
 }
@@ -2,6 +2,7 @@ package com.skywalker.backend.repository;
 
 import com.skywalker.backend.domain.SlotStatus;
 import com.skywalker.backend.model.TimeSlot;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Repository;
 import jakarta.persistence.LockModeType;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +31,34 @@ public interface TimeSlotRepository extends JpaRepository<TimeSlot, Long> {
     Optional<TimeSlot> findByDoctorIdAndSlotDateAndStartTime(Long doctorId, LocalDate date, LocalTime startTime);
     
     List<TimeSlot> findByDoctorIdAndSlotDate(Long doctorId, LocalDate date);
+
+    List<TimeSlot> findByDoctorIdAndSlotDateBetween(Long doctorId, LocalDate startDate, LocalDate endDate);
     
+    @Query("SELECT t FROM TimeSlot t JOIN FETCH t.doctor d JOIN FETCH d.user " +
+           "WHERE t.slotDate BETWEEN :startDate AND :endDate")
+    List<TimeSlot> findAllWithDoctorBySlotDateBetween(@Param("startDate") LocalDate startDate,
+                                                     @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT t FROM TimeSlot t JOIN FETCH t.doctor d JOIN FETCH d.user " +
+           "WHERE d.id = :doctorId AND t.slotDate BETWEEN :startDate AND :endDate")
+    List<TimeSlot> findAllWithDoctorByDoctorIdAndSlotDateBetween(@Param("doctorId") Long doctorId,
+                                                                @Param("startDate") LocalDate startDate,
+                                                                @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT t FROM TimeSlot t JOIN FETCH t.doctor d JOIN FETCH d.user " +
+           "WHERE d.id IN :doctorIds AND t.status = :status " +
+           "AND t.slotDate BETWEEN :startDate AND :endDate " +
+           "AND (t.slotDate > :startDate OR t.startTime >= :startTime) " +
+           "AND t.startTime >= :fromTime AND t.endTime <= :toTime " +
+           "ORDER BY t.slotDate, t.startTime, d.id")
+    List<TimeSlot> findEarliestByDoctorIdsInWindow(@Param("doctorIds") Collection<Long> doctorIds,
+                                                   @Param("status") SlotStatus status,
+                                                   @Param("startDate") LocalDate startDate,
+                                                   @Param("startTime") LocalTime startTime,
+                                                   @Param("endDate") LocalDate endDate,
+                                                   @Param("fromTime") LocalTime fromTime,
+                                                   @Param("toTime") LocalTime toTime,
+                                                   Pageable pageable);
+
     void deleteByDoctorIdAndSlotDateBetween(Long doctorId, LocalDate startDate, LocalDate endDate);
 }
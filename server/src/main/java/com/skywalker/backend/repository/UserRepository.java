@@ -8,16 +8,26 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
-
 @Repository
-public interface UserRepository extends JpaRepository<User,Long> {
+public interface UserRepository extends JpaRepository<User,Long>, UserRepositoryCustom {
 
     boolean existsByEmail(String email);
 
-    Optional<User> findByEmail(String email);
-    
     @Query("SELECT u FROM User u WHERE LOWER(u.name) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
            "OR LOWER(u.email) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     Page<User> searchUsers(@Param("keyword") String keyword, Pageable pageable);
+
+    // Trigram-ranked search (pg_trgm). Keyword must already be normalised (trimmed, lower-cased).
+    @Query(value = "SELECT u.* FROM users u " +
+                   "WHERE lower(u.name) LIKE concat('%', :keyword, '%') " +
+                   "OR lower(u.email) LIKE concat('%', :keyword, '%') " +
+                   "OR lower(u.name) % :keyword " +
+                   "ORDER BY (lower(u.name) LIKE concat(:keyword, '%') OR lower(u.email) LIKE concat(:keyword, '%')) DESC, " +
+                   "similarity(lower(u.name), :keyword) DESC, u.id",
+           countQuery = "SELECT count(*) FROM users u " +
+                        "WHERE lower(u.name) LIKE concat('%', :keyword, '%') " +
+                        "OR lower(u.email) LIKE concat('%', :keyword, '%') " +
+                        "OR lower(u.name) % :keyword",
+           nativeQuery = true)
+    Page<User> searchUsersRanked(@Param("keyword") String keyword, Pageable pageable);
 }
@@ -0,0 +1,11 @@
+package com.skywalker.backend.repository;
+
+import com.skywalker.backend.model.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    // Natural-id lookup: served from the second-level cache without a query once the user is cached
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,79 @@
+package com.skywalker.backend.repository;
+
+import com.skywalker.backend.model.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Status changes are conditional single-row updates: the row count tells the caller whether it won the
+ * transition, so two nodes never offer, expire or book the same entry twice.
+ */
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    String ACTIVE = "(com.skywalker.backend.domain.WaitlistStatus.WAITING, com.skywalker.backend.domain.WaitlistStatus.OFFERED)";
+
+    // Served by the partial idx_waitlist_entries_active_date
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.desiredDate >= :from AND w.status IN " + ACTIVE)
+    List<WaitlistEntry> findActiveFrom(@Param("from") LocalDate from);
+
+    @Query("SELECT w FROM WaitlistEntry w JOIN FETCH w.doctor d JOIN FETCH d.user " +
+           "WHERE w.patient.id = :patientId AND w.desiredDate >= :from AND w.status IN " + ACTIVE +
+           " ORDER BY w.desiredDate, w.id")
+    List<WaitlistEntry> findActiveByPatientId(@Param("patientId") Long patientId, @Param("from") LocalDate from);
+
+    @Query("SELECT w FROM WaitlistEntry w JOIN FETCH w.patient p JOIN FETCH p.user " +
+           "WHERE w.doctor.id = :doctorId AND w.desiredDate = :date AND w.status IN " + ACTIVE +
+           " ORDER BY w.createdAt, w.id")
+    List<WaitlistEntry> findActiveByDoctorIdAndDate(@Param("doctorId") Long doctorId, @Param("date") LocalDate date);
+
+    @Query("SELECT count(w) > 0 FROM WaitlistEntry w WHERE w.patient.id = :patientId AND w.doctor.id = :doctorId " +
+           "AND w.desiredDate = :date AND w.status IN " + ACTIVE)
+    boolean existsActive(@Param("patientId") Long patientId, @Param("doctorId") Long doctorId,
+                         @Param("date") LocalDate date);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = com.skywalker.backend.domain.WaitlistStatus.OFFERED, " +
+           "w.offeredDateTime = :time, w.offerExpiresAt = :expiresAt, w.updatedAt = :now " +
+           "WHERE w.id = :id AND w.status = com.skywalker.backend.domain.WaitlistStatus.WAITING")
+    int markOffered(@Param("id") Long id, @Param("time") LocalDateTime time,
+                    @Param("expiresAt") LocalDateTime expiresAt, @Param("now") LocalDateTime now);
+
+    // Only once the offer has run out, so a timer left over from an earlier offer does nothing
+    @Transactional
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = com.skywalker.backend.domain.WaitlistStatus.EXPIRED, w.updatedAt = :now " +
+           "WHERE w.id = :id AND w.status = com.skywalker.backend.domain.WaitlistStatus.OFFERED " +
+           "AND w.offerExpiresAt <= :now")
+    int markExpired(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = com.skywalker.backend.domain.WaitlistStatus.BOOKED, w.updatedAt = :now " +
+           "WHERE w.id = :id AND w.status = com.skywalker.backend.domain.WaitlistStatus.OFFERED " +
+           "AND w.offerExpiresAt > :now")
+    int markBooked(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Back in line at the original position (createdAt is unchanged)
+    @Transactional
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = com.skywalker.backend.domain.WaitlistStatus.WAITING, " +
+           "w.offeredDateTime = null, w.offerExpiresAt = null, w.updatedAt = :now " +
+           "WHERE w.id = :id AND w.status = com.skywalker.backend.domain.WaitlistStatus.BOOKED")
+    int markWaiting(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = com.skywalker.backend.domain.WaitlistStatus.CANCELED, w.updatedAt = :now " +
+           "WHERE w.id = :id AND w.status IN " + ACTIVE)
+    int markCanceled(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,31 @@
+package com.skywalker.backend.repository.projection;
+
+import com.skywalker.backend.domain.STATUS;
+
+import java.time.LocalDateTime;
+
+/**
+ * An appointment list row: the appointment plus the doctor and patient names, read in one query.
+ */
+public interface AppointmentSummary {
+
+    Long getId();
+
+    String getAppointmentCode();
+
+    LocalDateTime getAppointmentDateTime();
+
+    STATUS getStatus();
+
+    String getNotes();
+
+    Long getDoctorId();
+
+    String getDoctorName();
+
+    String getSpecialization();
+
+    Long getPatientId();
+
+    String getPatientName();
+}
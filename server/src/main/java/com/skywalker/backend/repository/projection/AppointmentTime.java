@@ -0,0 +1,13 @@
+package com.skywalker.backend.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Just enough of an appointment to schedule its reminders.
+ */
+public interface AppointmentTime {
+
+    Long getId();
+
+    LocalDateTime getAppointmentDateTime();
+}
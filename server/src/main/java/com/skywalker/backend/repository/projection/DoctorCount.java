@@ -0,0 +1,11 @@
+package com.skywalker.backend.repository.projection;
+
+/**
+ * A number of appointments of one doctor.
+ */
+public interface DoctorCount {
+
+    Long getDoctorId();
+
+    Long getCount();
+}
@@ -0,0 +1,19 @@
+package com.skywalker.backend.repository.projection;
+
+/**
+ * A doctor directory row. Leaves out the contact and personal details only the profile shows.
+ */
+public interface DoctorSummary {
+
+    Long getId();
+
+    String getName();
+
+    String getEmail();
+
+    String getSpecialization();
+
+    Integer getExperience();
+
+    String getAvailableHours();
+}
@@ -0,0 +1,19 @@
+package com.skywalker.backend.repository.projection;
+
+/**
+ * A patient list row: the user columns the admin list shows, without the password hash or date of birth.
+ */
+public interface PatientSummary {
+
+    Long getId();
+
+    String getName();
+
+    String getEmail();
+
+    String getPhoneNumber();
+
+    String getGender();
+
+    String getAddress();
+}
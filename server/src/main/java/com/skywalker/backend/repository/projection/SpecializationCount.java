@@ -0,0 +1,11 @@
+package com.skywalker.backend.repository.projection;
+
+/**
+ * A number of doctors of one specialization.
+ */
+public interface SpecializationCount {
+
+    String getSpecialization();
+
+    Long getCount();
+}
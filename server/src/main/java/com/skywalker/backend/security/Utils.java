@@ -2,9 +2,12 @@ package com.skywalker.backend.security;
 
 import com.skywalker.backend.dto.*;
 import com.skywalker.backend.model.*;
+import com.skywalker.backend.repository.projection.AppointmentSummary;
+import com.skywalker.backend.repository.projection.DoctorSummary;
+import com.skywalker.backend.repository.projection.PatientSummary;
 
 import java.util.List;
-import java.util.UUID;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 public class Utils {
@@ -36,6 +39,35 @@ public class Utils {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * List item: the doctor and patient carry only what list screens show (id, name, specialization).
+     */
+    public static AppointmentDTO mapAppointmentSummaryToDTO(AppointmentSummary summary) {
+        AppointmentDTO dto = new AppointmentDTO();
+        dto.setId(summary.getId());
+        dto.setNotes(summary.getNotes());
+        dto.setStatus(summary.getStatus());
+        dto.setAppointmentDateTime(summary.getAppointmentDateTime());
+        dto.setAppointmentCode(summary.getAppointmentCode());
+
+        DoctorDTO doctor = new DoctorDTO();
+        doctor.setId(summary.getDoctorId());
+        doctor.setName(summary.getDoctorName());
+        doctor.setSpecialization(summary.getSpecialization());
+        dto.setDoctor(doctor);
+
+        PatientDTO patient = new PatientDTO();
+        patient.setId(summary.getPatientId());
+        patient.setName(summary.getPatientName());
+        dto.setPatient(patient);
+
+        return dto;
+    }
+
+    public static List<AppointmentDTO> mapAppointmentSummaryListToDTOList(List<AppointmentSummary> summaries) {
+        return summaries.stream().map(Utils::mapAppointmentSummaryToDTO).toList();
+    }
+
     // ------------------- DOCTOR -------------------
 
     public static DoctorDTO mapDoctorToDTO(Doctor doctor) {
@@ -75,6 +107,21 @@ public class Utils {
         return doctors.stream().map(Utils::mapDoctorToDTO).toList();
     }
 
+    public static DoctorDTO mapDoctorSummaryToDTO(DoctorSummary summary) {
+        DoctorDTO dto = new DoctorDTO();
+        dto.setId(summary.getId());
+        dto.setName(summary.getName());
+        dto.setEmail(summary.getEmail());
+        dto.setExperience(summary.getExperience());
+        dto.setSpecialization(summary.getSpecialization());
+        dto.setAvailableHours(summary.getAvailableHours());
+        return dto;
+    }
+
+    public static List<DoctorDTO> mapDoctorSummaryListToDTOList(List<DoctorSummary> summaries) {
+        return summaries.stream().map(Utils::mapDoctorSummaryToDTO).toList();
+    }
+
     // ------------------- PATIENT -------------------
 
     public static PatientDTO mapPatientToDTO(Patient patient) {
@@ -110,6 +157,21 @@ public class Utils {
         return patients.stream().map(Utils::mapPatientToDTO).toList();
     }
 
+    public static PatientDTO mapPatientSummaryToDTO(PatientSummary summary) {
+        PatientDTO dto = new PatientDTO();
+        dto.setId(summary.getId());
+        dto.setName(summary.getName());
+        dto.setEmail(summary.getEmail());
+        dto.setPhoneNumber(summary.getPhoneNumber());
+        dto.setGender(summary.getGender());
+        dto.setAddress(summary.getAddress());
+        return dto;
+    }
+
+    public static List<PatientDTO> mapPatientSummaryListToDTOList(List<PatientSummary> summaries) {
+        return summaries.stream().map(Utils::mapPatientSummaryToDTO).toList();
+    }
+
     // ------------------- USER -------------------
 
     public static UserDTO mapUserToDTO(User user) {
@@ -127,10 +189,17 @@ public class Utils {
         return users.stream().map(Utils::mapUserToDTO).toList();
     }
 
-    // ------------------- APPOINTMENT CODE GENERATOR -------------------
+    // ------------------- SEARCH -------------------
 
-    public static String generateAppointmentCode(int length) {
-        String code = "APT-" + UUID.randomUUID().toString().replace("-", "").toUpperCase();
-        return code.substring(0, Math.min(length + 4, code.length())); // +4 for "APT-"
+    /**
+     * Normalise a free-text search keyword: trim, collapse inner whitespace and lower-case.
+     * Returns null for blank input.
+     */
+    public static String normalizeSearchKeyword(String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+        String normalized = keyword.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
     }
 }
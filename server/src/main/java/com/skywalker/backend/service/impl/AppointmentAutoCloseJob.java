@@ -0,0 +1,142 @@
+package com.skywalker.backend.service.impl;
+
+import com.skywalker.backend.domain.STATUS;
+import com.skywalker.backend.model.Notification;
+import com.skywalker.backend.model.User;
+import com.skywalker.backend.observability.HealthmateMetrics;
+import com.skywalker.backend.repository.AppointmentRepository;
+import com.skywalker.backend.repository.UserRepository;
+import com.skywalker.backend.repository.projection.DoctorCount;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Closes appointments whose time has passed: CONFIRMED ones become COMPLETED and SCHEDULED ones that were never
+ * confirmed become NO_SHOW, so they stop counting as upcoming in listings and dashboards.
+ * <p>
+ * A run covers the appointments that started between lookback-days and grace-minutes ago. They are moved in
+ * chunks of batch-size, one UPDATE statement and transaction per chunk, so a large backlog never holds its row
+ * locks in one long transaction. Each run writes one audit entry per transition and one notification per
+ * doctor, not one per appointment. No per-appointment events are published: reminders, waitlists and slot
+ * availability only deal with times still ahead.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AppointmentAutoCloseJob {
+
+    private static final List<Transition> TRANSITIONS = List.of(
+            new Transition(STATUS.CONFIRMED, STATUS.COMPLETED),
+            new Transition(STATUS.SCHEDULED, STATUS.NO_SHOW));
+
+    private final AppointmentRepository appointmentRepository;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final AuditLogService auditLogService;
+
+    @Value("${appointments.auto-close.enabled:true}")
+    private boolean enabled;
+
+    @Value("${appointments.auto-close.grace-minutes:120}")
+    private long graceMinutes;
+
+    @Value("${appointments.auto-close.lookback-days:90}")
+    private long lookbackDays;
+
+    @Value("${appointments.auto-close.batch-size:500}")
+    private int batchSize;
+
+    @Value("${appointments.auto-close.max-batches:100}")
+    private int maxBatches;
+
+    @Scheduled(initialDelayString = "${appointments.auto-close.interval-ms:900000}",
+               fixedDelayString = "${appointments.auto-close.interval-ms:900000}")
+    public void run() {
+        if (enabled) {
+            closePastAppointments();
+        }
+    }
+
+    /**
+     * Runs one pass and returns how many appointments it closed.
+     */
+    public int closePastAppointments() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.minusMinutes(graceMinutes);
+        LocalDateTime since = now.minusDays(lookbackDays);
+        // Doctor id -> appointments closed per target status
+        Map<Long, Map<STATUS, Long>> byDoctor = new HashMap<>();
+        int total = 0;
+        try {
+            for (Transition transition : TRANSITIONS) {
+                int moved = move(transition, since, until, now, byDoctor);
+                if (moved > 0) {
+                    HealthmateMetrics.appointmentsClosed(transition.to().name(), moved);
+                    auditLogService.logAction(
+                            "APPOINTMENTS_AUTO_" + transition.to(),
+                            "Moved " + moved + " past " + transition.from() + " appointments to " + transition.to() +
+                            " (started before " + until.withNano(0) + ")"
+                    );
+                    total += moved;
+                }
+            }
+        } catch (Exception e) {
+            // Chunks already committed stay closed; the rest is picked up by the next run
+            log.error("Failed to close past appointments: {}", e.getMessage());
+        }
+        if (!byDoctor.isEmpty()) {
+            notifyDoctors(byDoctor);
+            log.info("Closed {} past appointments of {} doctors", total, byDoctor.size());
+        }
+        return total;
+    }
+
+    private int move(Transition transition, LocalDateTime since, LocalDateTime until, LocalDateTime now,
+                     Map<Long, Map<STATUS, Long>> byDoctor) {
+        int moved = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            long chunk = 0;
+            List<DoctorCount> counts = appointmentRepository.transitionPast(
+                    transition.from().name(), transition.to().name(), since, until, batchSize, now);
+            for (DoctorCount count : counts) {
+                chunk += count.getCount();
+                byDoctor.computeIfAbsent(count.getDoctorId(), id -> new EnumMap<>(STATUS.class))
+                        .merge(transition.to(), count.getCount(), Long::sum);
+            }
+            moved += (int) chunk;
+            if (chunk < batchSize) {
+                break;
+            }
+        }
+        return moved;
+    }
+
+    private void notifyDoctors(Map<Long, Map<STATUS, Long>> byDoctor) {
+        try {
+            // A doctor's id is their user id
+            List<Notification> notifications = new ArrayList<>(byDoctor.size());
+            for (User user : userRepository.findAllById(byDoctor.keySet())) {
+                Map<STATUS, Long> closed = byDoctor.get(user.getId());
+                Notification notification = new Notification();
+                notification.setUser(user);
+                notification.setMessage("Past appointments were closed automatically: " +
+                        closed.getOrDefault(STATUS.COMPLETED, 0L) + " marked completed, " +
+                        closed.getOrDefault(STATUS.NO_SHOW, 0L) + " never confirmed and marked as no-show. " +
+                        "You can still correct their status from your appointments.");
+                notifications.add(notification);
+            }
+            notificationService.sendNotifications(notifications);
+        } catch (Exception e) {
+            log.warn("Failed to notify {} doctors of closed appointments: {}", byDoctor.size(), e.getMessage());
+        }
+    }
+
+    private record Transition(STATUS from, STATUS to) {
+    }
+}
@@ -0,0 +1,149 @@
+package com.skywalker.backend.service.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Issues appointment codes such as {@code APT-7K3M-Q9XC}: seven Crockford base32 characters plus a check
+ * character. The characters encode a value from {@code appointment_code_seq}, which is reserved in blocks,
+ * so codes are unique without a query per code. Values go through a fixed bit permutation first, so
+ * consecutive bookings do not get neighbouring codes.
+ * <p>
+ * The check character (Luhn mod 32) catches any single mistyped character and most swapped neighbours,
+ * which lets {@link #normalize} turn malformed input away before it reaches the database.
+ */
+@Service
+public class AppointmentCodeService {
+
+    static final int BLOCK_SIZE = 50;   // INCREMENT BY of appointment_code_seq
+
+    private static final String PREFIX = "APT-";
+    private static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+    private static final int BASE = ALPHABET.length();
+    private static final int PAYLOAD_LENGTH = 7;
+    private static final int BITS = 35;   // PAYLOAD_LENGTH * 5
+    private static final long MASK = (1L << BITS) - 1;
+    private static final int CODE_LENGTH = PREFIX.length() + PAYLOAD_LENGTH + 2;   // Group separator and check
+    // Formats issued before the sequence: truncated random UUIDs and the seed data's APT-2025-001
+    private static final Pattern LEGACY = Pattern.compile("APT-(?:[0-9A-F]{10}|\\d{4}-\\d{3})");
+
+    private final LongSupplier sequence;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long next;
+    private long limit;
+
+    @Autowired
+    public AppointmentCodeService(JdbcTemplate jdbcTemplate) {
+        this(() -> jdbcTemplate.queryForObject("SELECT nextval('appointment_code_seq')", Long.class));
+    }
+
+    AppointmentCodeService(LongSupplier sequence) {
+        this.sequence = sequence;
+    }
+
+    public String nextCode() {
+        return format(nextValue());
+    }
+
+    /**
+     * Canonical form of a code typed by a user (case-insensitive, O read as 0 and I/L as 1), or null when it
+     * cannot be a code this service or an earlier generator issued.
+     */
+    public String normalize(String code) {
+        if (code == null) {
+            return null;
+        }
+        String upper = code.trim().toUpperCase(Locale.ROOT);
+        if (LEGACY.matcher(upper).matches()) {
+            return upper;
+        }
+        int separator = PREFIX.length() + 4;
+        if (upper.length() != CODE_LENGTH || !upper.startsWith(PREFIX) || upper.charAt(separator) != '-') {
+            return null;
+        }
+        StringBuilder canonical = new StringBuilder(CODE_LENGTH).append(PREFIX);
+        int[] digits = new int[PAYLOAD_LENGTH + 1];
+        int d = 0;
+        for (int i = PREFIX.length(); i < CODE_LENGTH; i++) {
+            if (i == separator) {
+                canonical.append('-');
+                continue;
+            }
+            char symbol = switch (upper.charAt(i)) {
+                case 'O' -> '0';
+                case 'I', 'L' -> '1';
+                default -> upper.charAt(i);
+            };
+            int digit = ALPHABET.indexOf(symbol);
+            if (digit < 0) {
+                return null;
+            }
+            digits[d++] = digit;
+            canonical.append(symbol);
+        }
+        return checkSum(digits, PAYLOAD_LENGTH + 1, 1) % BASE == 0 ? canonical.toString() : null;
+    }
+
+    private long nextValue() {
+        lock.lock();
+        try {
+            if (next == limit) {
+                // Reserve the next block; a lock rather than synchronized keeps virtual threads unpinned on JDBC
+                next = sequence.getAsLong();
+                limit = next + BLOCK_SIZE;
+            }
+            return next++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static String format(long value) {
+        if (value < 0 || value > MASK) {
+            throw new IllegalStateException("Appointment code space exhausted at " + value);
+        }
+        long permuted = permute(value);
+        int[] digits = new int[PAYLOAD_LENGTH + 1];
+        for (int i = PAYLOAD_LENGTH - 1; i >= 0; i--) {
+            digits[i] = (int) (permuted & (BASE - 1));
+            permuted >>>= 5;
+        }
+        digits[PAYLOAD_LENGTH] = (BASE - checkSum(digits, PAYLOAD_LENGTH, 2) % BASE) % BASE;
+
+        StringBuilder code = new StringBuilder(CODE_LENGTH).append(PREFIX);
+        for (int i = 0; i <= PAYLOAD_LENGTH; i++) {
+            if (i == 4) {
+                code.append('-');
+            }
+            code.append(ALPHABET.charAt(digits[i]));
+        }
+        return code.toString();
+    }
+
+    // Bijective on 35 bits: odd multipliers and right xor-shifts are both invertible modulo 2^35
+    private static long permute(long x) {
+        x = (x * 0x2545F4914FL) & MASK;
+        x ^= x >>> 17;
+        x = (x * 0x1B873593L) & MASK;
+        x ^= x >>> 13;
+        return x;
+    }
+
+    // Luhn mod N over the first count digits, doubling every other one starting with the rightmost
+    private static int checkSum(int[] digits, int count, int firstFactor) {
+        int factor = firstFactor;
+        int sum = 0;
+        for (int i = count - 1; i >= 0; i--) {
+            int addend = factor * digits[i];
+            sum += addend / BASE + addend % BASE;
+            factor = factor == 2 ? 1 : 2;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,59 @@
+package com.skywalker.backend.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Keeps the monthly partitions of {@code appointments} (V8) ahead of the bookings and, when configured,
+ * moves old months to the read-only archive. The work itself is done by database functions that hold an
+ * advisory lock, so every instance can run this.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AppointmentPartitionMaintenance {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${appointments.partitions.months-ahead:12}")
+    private int monthsAhead;
+
+    @Value("${appointments.partitions.archive-after-months:0}")
+    private int archiveAfterMonths;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${appointments.partitions.cron:0 15 3 * * *}")
+    public void maintain() {
+        try {
+            Integer created = jdbcTemplate.queryForObject(
+                    "SELECT appointments_ensure_partitions(?)", Integer.class, monthsAhead);
+            if (created != null && created > 0) {
+                log.info("Created {} appointment partitions", created);
+            }
+            if (archiveAfterMonths > 0) {
+                LocalDate cutoff = YearMonth.now().minusMonths(archiveAfterMonths).atDay(1);
+                Integer archived = jdbcTemplate.queryForObject(
+                        "SELECT appointments_archive_partitions(?)", Integer.class, cutoff);
+                if (archived != null && archived > 0) {
+                    log.info("Archived {} appointment partitions ending before {}", archived, cutoff);
+                }
+            }
+        } catch (DataAccessException e) {
+            log.error("Failed to maintain appointment partitions: {}", e.getMessage());
+        }
+    }
+}
@@ -3,16 +3,21 @@ package com.skywalker.backend.service.impl;
 import com.skywalker.backend.domain.STATUS;
 import com.skywalker.backend.dto.AppointmentDTO;
 import com.skywalker.backend.dto.Response;
+import com.skywalker.backend.event.AppointmentChangedEvent;
 import com.skywalker.backend.exception.OurException;
 import com.skywalker.backend.model.Appointment;
 import com.skywalker.backend.model.Doctor;
 import com.skywalker.backend.model.Patient;
+import com.skywalker.backend.observability.HealthmateMetrics;
 import com.skywalker.backend.repository.AppointmentRepository;
 import com.skywalker.backend.repository.DoctorRepository;
 import com.skywalker.backend.repository.PatientRepository;
+import com.skywalker.backend.repository.projection.AppointmentSummary;
 import com.skywalker.backend.security.Utils;
 import com.skywalker.backend.service.repo.IAppointmentService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -21,7 +26,6 @@ import org.springframework.web.bind.annotation.RequestBody;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -36,6 +40,8 @@ public class AppointmentService implements IAppointmentService {
     private final AppointmentRepository appointmentRepository;
     private final NotificationService notificationService;
     private final AuditLogService auditLogService;
+    private final AppointmentCodeService appointmentCodeService;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Override
@@ -50,6 +56,7 @@ public class AppointmentService implements IAppointmentService {
 
             // Check if doctor is available at a given dateTime
             if (!isDoctorAvailable(doctorId, appointmentRequest.getAppointmentDateTime())) {
+                HealthmateMetrics.bookingConflict("appointment");
                 response.setStatusCode(400);
                 response.setMessage("Doctor is not available at the selected time");
                 return response;
@@ -59,12 +66,20 @@ public class AppointmentService implements IAppointmentService {
             appointmentRequest.setDoctor(doctor);
             appointmentRequest.setPatient(patient);
 
-            // Generate Appointment Code if null
-            if (appointmentRequest.getAppointmentCode() == null || appointmentRequest.getAppointmentCode().isEmpty()) {
-                appointmentRequest.setAppointmentCode(Utils.generateAppointmentCode(10));
-            }
+            // Codes are always issued here; one sent by the client is ignored
+            appointmentRequest.setAppointmentCode(appointmentCodeService.nextCode());
 
-            Appointment savedAppointment = appointmentRepository.save(appointmentRequest);
+            Appointment savedAppointment;
+            try {
+                savedAppointment = appointmentRepository.save(appointmentRequest);
+            } catch (DataIntegrityViolationException e) {
+                // Lost a race with a concurrent booking of the same time (uk_appointments_doctor_active)
+                HealthmateMetrics.bookingConflict("appointment");
+                response.setStatusCode(400);
+                response.setMessage("Doctor is not available at the selected time");
+                return response;
+            }
+            eventPublisher.publishEvent(AppointmentChangedEvent.created(savedAppointment));
             AppointmentDTO appointmentDTO = Utils.mapAppointmentToDTO(savedAppointment);
 
             // Send notifications
@@ -121,17 +136,9 @@ public class AppointmentService implements IAppointmentService {
     public Response getAppointmentsByDoctor(Long doctorId) {
         Response response = new Response();
         try {
-            List<Appointment> appointments = appointmentRepository.findByDoctorId(doctorId);
-            LocalDate today = LocalDate.now();
-            
-            // Filter to show only upcoming appointments (today and future)
-            // Exclude completed and canceled appointments
-            List<AppointmentDTO> appointmentDTOList = appointments.stream()
-                    .filter(a -> a.getAppointmentDateTime().toLocalDate().compareTo(today) >= 0)
-                    .filter(a -> a.getStatus() != STATUS.COMPLETED && a.getStatus() != STATUS.CANCELED)
-                    .sorted(Comparator.comparing(Appointment::getAppointmentDateTime))
-                    .map(Utils::mapAppointmentToDTO)
-                    .collect(Collectors.toList());
+            // Only upcoming appointments (today and future), excluding completed and canceled ones
+            List<AppointmentDTO> appointmentDTOList = Utils.mapAppointmentSummaryListToDTOList(
+                    appointmentRepository.findUpcomingByDoctorId(doctorId, LocalDate.now().atStartOfDay()));
 
             response.setStatusCode(200);
             response.setMessage("Appointments fetched successfully");
@@ -148,17 +155,9 @@ public class AppointmentService implements IAppointmentService {
     public Response getAppointmentsByPatient(Long patientId) {
         Response response = new Response();
         try {
-            List<Appointment> appointments = appointmentRepository.findByPatientId(patientId);
-            LocalDate today = LocalDate.now();
-            
-            // Filter to show only upcoming appointments (today and future)
-            // Exclude completed and canceled appointments
-            List<AppointmentDTO> appointmentDTOList = appointments.stream()
-                    .filter(a -> a.getAppointmentDateTime().toLocalDate().compareTo(today) >= 0)
-                    .filter(a -> a.getStatus() != STATUS.COMPLETED && a.getStatus() != STATUS.CANCELED)
-                    .sorted(Comparator.comparing(Appointment::getAppointmentDateTime))
-                    .map(Utils::mapAppointmentToDTO)
-                    .collect(Collectors.toList());
+            // Only upcoming appointments (today and future), excluding completed and canceled ones
+            List<AppointmentDTO> appointmentDTOList = Utils.mapAppointmentSummaryListToDTOList(
+                    appointmentRepository.findUpcomingByPatientId(patientId, LocalDate.now().atStartOfDay()));
 
             response.setStatusCode(200);
             response.setMessage("Appointments fetched successfully");
@@ -196,7 +195,7 @@ public class AppointmentService implements IAppointmentService {
         Response response = new Response();
         try {
             Pageable pageable = PageRequest.of(page, size);
-            Page<Appointment> appointmentPage;
+            Page<AppointmentSummary> appointmentPage;
             
             if (status != null && startDate != null && endDate != null) {
                 LocalDateTime startDateTime = startDate.atStartOfDay();
@@ -214,12 +213,10 @@ public class AppointmentService implements IAppointmentService {
                 LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
                 appointmentPage = appointmentRepository.findByDateRange(startDateTime, endDateTime, pageable);
             } else {
-                appointmentPage = appointmentRepository.findAll(pageable);
+                appointmentPage = appointmentRepository.findAllSummaries(pageable);
             }
             
-            List<AppointmentDTO> appointmentDTOList = appointmentPage.getContent().stream()
-                    .map(Utils::mapAppointmentToDTO)
-                    .collect(Collectors.toList());
+            List<AppointmentDTO> appointmentDTOList = Utils.mapAppointmentSummaryListToDTOList(appointmentPage.getContent());
             
             response.setAppointmentList(appointmentDTOList);
             response.setStatusCode(200);
@@ -250,8 +247,10 @@ public class AppointmentService implements IAppointmentService {
             Appointment appointment = appointmentRepository.findById(id)
                     .orElseThrow(() -> new RuntimeException("Appointment not found"));
 
+            STATUS previousStatus = appointment.getStatus();
             appointment.setStatus(status);
             Appointment updatedAppointment = appointmentRepository.save(appointment);
+            eventPublisher.publishEvent(AppointmentChangedEvent.statusChanged(updatedAppointment, previousStatus));
 
             // Send notification to patient about status change
             notificationService.sendNotification(
@@ -271,6 +270,10 @@ public class AppointmentService implements IAppointmentService {
             response.setMessage("Appointment status updated successfully");
             response.setAppointment(appointmentDTO);
 
+        } catch (DataIntegrityViolationException e) {
+            // Reactivating a canceled appointment whose time was booked again (uk_appointments_doctor_active)
+            response.setStatusCode(400);
+            response.setMessage("Doctor is not available at the selected time");
         } catch (Exception e) {
             response.setStatusCode(500);
             response.setMessage("Error updating appointment: " + e.getMessage());
@@ -282,10 +285,11 @@ public class AppointmentService implements IAppointmentService {
     public Response deleteAppointment(Long id) {
         Response response = new Response();
         try {
-            appointmentRepository.findById(id)
+            Appointment appointment = appointmentRepository.findById(id)
                     .orElseThrow(() -> new RuntimeException("Appointment not found"));
 
             appointmentRepository.deleteById(id);
+            eventPublisher.publishEvent(AppointmentChangedEvent.deleted(appointment));
             response.setStatusCode(200);
             response.setMessage("Appointment deleted successfully");
 
@@ -300,7 +304,14 @@ public class AppointmentService implements IAppointmentService {
     public Response getAppointmentByCode(String appointmentCode) {
         Response response = new Response();
         try {
-            Appointment appointment = appointmentRepository.findByAppointmentCode(appointmentCode)
+            String code = appointmentCodeService.normalize(appointmentCode);
+            if (code == null) {
+                // Malformed or mistyped (check character mismatch): no need to ask the database
+                response.setStatusCode(400);
+                response.setMessage("Invalid appointment code");
+                return response;
+            }
+            Appointment appointment = appointmentRepository.findByAppointmentCode(code)
                     .orElseThrow(() -> new RuntimeException("Appointment not found"));
 
             response.setStatusCode(200);
@@ -319,7 +330,8 @@ public class AppointmentService implements IAppointmentService {
 
     // Helper
     private boolean isDoctorAvailable(Long doctorId, LocalDateTime appointmentDateTime) {
-        List<Appointment> existingAppointments = appointmentRepository.findByDoctorIdAndAppointmentDateTime(doctorId, appointmentDateTime);
-        return existingAppointments.isEmpty();
+        // A cancelled appointment no longer holds the time, so it can be booked again (e.g. from the waitlist)
+        return !appointmentRepository.existsByDoctorIdAndAppointmentDateTimeAndStatusNot(
+                doctorId, appointmentDateTime, STATUS.CANCELED);
     }
 }
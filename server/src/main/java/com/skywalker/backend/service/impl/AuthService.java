@@ -4,6 +4,7 @@ import com.skywalker.backend.domain.GENDER;
 import com.skywalker.backend.domain.OtpPurpose;
 import com.skywalker.backend.domain.USER_ROLE;
 import com.skywalker.backend.dto.*;
+import com.skywalker.backend.event.DoctorChangedEvent;
 import com.skywalker.backend.exception.OurException;
 import com.skywalker.backend.model.Doctor;
 import com.skywalker.backend.model.OtpToken;
@@ -16,6 +17,7 @@ import com.skywalker.backend.security.CustomUserDetails;
 import com.skywalker.backend.security.JwtTokenProvider;
 import com.skywalker.backend.service.repo.IAuthService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -40,6 +42,7 @@ public class AuthService implements IAuthService {
 
     private final OtpService otpService;
     private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     @Override
@@ -96,6 +99,7 @@ public class AuthService implements IAuthService {
                 doctor.setAvailableHours(request.getAvailableHours());
                 doctor.setSpecialization(request.getSpecialization() != null ? request.getSpecialization() : "General");
                 doctorRepository.save(doctor);
+                eventPublisher.publishEvent(DoctorChangedEvent.updated(savedUser.getId()));
             }
 
             response.setStatusCode(200);
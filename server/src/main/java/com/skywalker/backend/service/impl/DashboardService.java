@@ -17,6 +17,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -34,7 +35,8 @@ public class DashboardService {
     private final PatientRepository patientRepository;
     private final AppointmentRepository appointmentRepository;
 
-    @Cacheable(value = "dashboardStats", key = "'admin'")
+    @Cacheable(value = "dashboardStats", key = "'admin'", unless = "#result.statusCode != 200")
+    @Transactional(readOnly = true)
     public Response getAdminDashboard() {
         Response response = new Response();
         try {
@@ -52,14 +54,15 @@ public class DashboardService {
             LocalDateTime startOfWeek = now.minusDays(7);
             LocalDateTime startOfMonth = now.minusDays(30);
 
-            List<Appointment> allAppointments = appointmentRepository.findAll();
             LocalDate today = LocalDate.now();
-            
-            // Filter to only upcoming appointments (today and future, excluding completed/canceled)
+            // Bounded at today, so only the current and later monthly partitions are read
+            List<Appointment> allAppointments = appointmentRepository.findByAppointmentDateTimeGreaterThanEqual(startOfDay);
+
+            // Filter to only upcoming appointments (today and future, SCHEDULED or CONFIRMED)
             List<Appointment> upcomingAppointments = allAppointments.stream()
                     .filter(a -> a != null && a.getAppointmentDateTime() != null)
                     .filter(a -> !a.getAppointmentDateTime().toLocalDate().isBefore(today))
-                    .filter(a -> a.getStatus() != STATUS.COMPLETED && a.getStatus() != STATUS.CANCELED)
+                    .filter(a -> a.getStatus() == STATUS.SCHEDULED || a.getStatus() == STATUS.CONFIRMED)
                     .toList();
             
             stats.setTodayAppointments(upcomingAppointments.stream()
@@ -126,7 +129,8 @@ public class DashboardService {
         return response;
     }
 
-    @Cacheable(value = "dashboardStats", key = "'doctor-' + #doctorId")
+    @Cacheable(value = "dashboardStats", key = "'doctor-' + #doctorId", unless = "#result.statusCode != 200")
+    @Transactional(readOnly = true)
     public Response getDoctorDashboard(Long doctorId) {
         Response response = new Response();
         try {
@@ -165,12 +169,12 @@ public class DashboardService {
             }
             stats.setAppointmentsByMonth(appointmentsByMonth);
 
-            // Upcoming appointments only (today and future, excluding completed/cancelled)
+            // Upcoming appointments only (today and future, SCHEDULED or CONFIRMED)
             LocalDate today = LocalDate.now();
             List<AppointmentDTO> recentAppointments = doctorAppointments.stream()
                     .filter(a -> a != null && a.getAppointmentDateTime() != null)
                     .filter(a -> !a.getAppointmentDateTime().toLocalDate().isBefore(today))
-                    .filter(a -> a.getStatus() != STATUS.COMPLETED && a.getStatus() != STATUS.CANCELED)
+                    .filter(a -> a.getStatus() == STATUS.SCHEDULED || a.getStatus() == STATUS.CONFIRMED)
                     .sorted(Comparator.comparing(Appointment::getAppointmentDateTime))
                     .limit(10)
                     .map(Utils::mapAppointmentToDTO)
@@ -0,0 +1,417 @@
+package com.skywalker.backend.service.impl;
+
+import com.skywalker.backend.dto.DoctorDTO;
+import com.skywalker.backend.event.DoctorChangedEvent;
+import com.skywalker.backend.repository.DoctorRepository;
+import com.skywalker.backend.repository.projection.DoctorSummary;
+import com.skywalker.backend.security.Utils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * In-process index of the doctor directory.
+ * Holds compact doctor records (directory summaries, not full profiles), a specialization -> doctor id inverted index and a prefix trie over
+ * name and specialization words, so directory listings, filters and facet counts never touch the database.
+ * Built at startup, updated on {@link DoctorChangedEvent} and fully rebuilt on a fixed delay to pick up
+ * changes made by other nodes. Changes applied while a rebuild is loading are replayed onto the new indexes.
+ * Unfiltered listings are served from an id-ordered list and facet counts built once per version; only keyword
+ * and specialization filters build structures per request.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DoctorDirectoryIndex {
+
+    private final DoctorRepository doctorRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private Map<Long, Entry> entries = new HashMap<>();
+    private TreeMap<String, Bucket> specializations = new TreeMap<>();
+    private Trie trie = new Trie();
+    private long version = 0;
+    // Changes applied while a rebuild is loading, replayed onto the new indexes. Guarded by lock
+    private List<Change> journal;
+    // Built on the first read of each version; readers racing to build it build the same one
+    private volatile Snapshot snapshot;
+
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${directory.index.refresh-ms:300000}",
+               fixedDelayString = "${directory.index.refresh-ms:300000}")
+    public void refresh() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            journal = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            List<DoctorSummary> doctors = doctorRepository.findAllSummaries();
+
+            Map<Long, Entry> newEntries = new HashMap<>(doctors.size() * 2);
+            TreeMap<String, Bucket> newSpecializations = new TreeMap<>();
+            Trie newTrie = new Trie();
+            for (DoctorSummary doctor : doctors) {
+                Entry entry = Entry.of(doctor);
+                newEntries.put(entry.id, entry);
+                addToIndexes(entry, newSpecializations, newTrie);
+            }
+
+            lock.writeLock().lock();
+            try {
+                journal.forEach(change -> apply(change, newEntries, newSpecializations, newTrie));
+                entries = newEntries;
+                specializations = newSpecializations;
+                trie = newTrie;
+                version++;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            log.info("Doctor directory index built with {} doctors", newEntries.size());
+        } catch (Exception e) {
+            log.error("Failed to build doctor directory index: {}", e.getMessage());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                journal = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // Runs before the cache listeners so evicted directory pages are rebuilt from the updated index
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        Entry updated = event.isDeleted()
+                ? null
+                : doctorRepository.findSummaryById(event.getDoctorId()).map(Entry::of).orElse(null);
+        Change change = new Change(event.getDoctorId(), updated);
+
+        lock.writeLock().lock();
+        try {
+            apply(change, entries, specializations, trie);
+            version++;
+            if (journal != null) {
+                journal.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Monotonic counter bumped on every change to the directory.
+     */
+    public long getVersion() {
+        return read(() -> version);
+    }
+
+    public List<DoctorDTO> findAll() {
+        return read(() -> snapshot().ids().stream()
+                .map(id -> entries.get(id).toDTO())
+                .toList());
+    }
+
+    /**
+     * Case-insensitive exact specialization match, ordered by doctor id.
+     */
+    public List<DoctorDTO> findBySpecialization(String specialization) {
+        return read(() -> {
+            Bucket bucket = specializations.get(specializationKey(specialization));
+            if (bucket == null) {
+                return List.of();
+            }
+            return bucket.ids.stream().map(id -> entries.get(id).toDTO()).toList();
+        });
+    }
+
+    public List<String> getSpecializations() {
+        return read(() -> specializations.values().stream()
+                .map(bucket -> bucket.label)
+                .toList());
+    }
+
+    /**
+     * Doctor count per specialization, ordered by specialization.
+     */
+    public Map<String, Long> getSpecializationCounts() {
+        return read(() -> {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            specializations.values().forEach(bucket -> counts.put(bucket.label, (long) bucket.ids.size()));
+            return counts;
+        });
+    }
+
+    /**
+     * Filter by optional keyword (every word must prefix a name or specialization word) and optional
+     * specialization, ordered by doctor id. Facet counts are computed over the keyword matches
+     * before the specialization filter is applied.
+     */
+    public DirectoryPage search(String keyword, String specialization, Pageable pageable) {
+        return read(() -> {
+            String specializationKey = specialization == null ? null : specializationKey(specialization);
+            Map<String, Long> facets;
+            List<Long> filtered;
+            if (keyword == null) {
+                Snapshot current = snapshot();
+                facets = current.facets();
+                if (specializationKey == null) {
+                    filtered = current.ids();
+                } else {
+                    Bucket bucket = specializations.get(specializationKey);
+                    filtered = bucket == null ? List.of() : new ArrayList<>(bucket.ids);
+                }
+            } else {
+                facets = new TreeMap<>();
+                filtered = new ArrayList<>();
+                for (Long id : matchKeyword(keyword)) {
+                    String key = specializationKey(entries.get(id).specialization);
+                    facets.merge(specializations.get(key).label, 1L, Long::sum);
+                    if (specializationKey == null || specializationKey.equals(key)) {
+                        filtered.add(id);
+                    }
+                }
+            }
+
+            int from = (int) Math.min(pageable.getOffset(), filtered.size());
+            int to = Math.min(from + pageable.getPageSize(), filtered.size());
+            List<DoctorDTO> content = filtered.subList(from, to).stream()
+                    .map(id -> entries.get(id).toDTO())
+                    .toList();
+            return new DirectoryPage(new PageImpl<>(content, pageable, filtered.size()), facets);
+        });
+    }
+
+    // Callers hold the read lock
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null || current.version() != version) {
+            List<Long> ids = new ArrayList<>(entries.keySet());
+            Collections.sort(ids);
+            Map<String, Long> facets = new TreeMap<>();
+            specializations.values().forEach(bucket -> facets.merge(bucket.label, (long) bucket.ids.size(), Long::sum));
+            current = new Snapshot(version, Collections.unmodifiableList(ids), Collections.unmodifiableMap(facets));
+            snapshot = current;
+        }
+        return current;
+    }
+
+    // Callers hold the read lock
+    private TreeSet<Long> matchKeyword(String keyword) {
+        TreeSet<Long> result = null;
+        for (String word : keyword.split(" ")) {
+            Set<Long> ids = trie.findByPrefix(word);
+            if (result == null) {
+                result = new TreeSet<>(ids);
+            } else {
+                result.retainAll(ids);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result == null ? new TreeSet<>() : result;
+    }
+
+    // Callers hold the write lock
+    private void apply(Change change, Map<Long, Entry> entryIndex, TreeMap<String, Bucket> specializationIndex,
+                       Trie nameTrie) {
+        Entry previous = entryIndex.remove(change.doctorId());
+        if (previous != null) {
+            removeFromIndexes(previous, specializationIndex, nameTrie);
+        }
+        if (change.updated() != null) {
+            entryIndex.put(change.doctorId(), change.updated());
+            addToIndexes(change.updated(), specializationIndex, nameTrie);
+        }
+    }
+
+    private void addToIndexes(Entry entry, TreeMap<String, Bucket> specializationIndex, Trie nameTrie) {
+        specializationIndex
+                .computeIfAbsent(specializationKey(entry.specialization), key -> new Bucket(entry.specialization))
+                .ids.add(entry.id);
+        entry.words().forEach(word -> nameTrie.add(word, entry.id));
+    }
+
+    private void removeFromIndexes(Entry entry, TreeMap<String, Bucket> specializationIndex, Trie nameTrie) {
+        String key = specializationKey(entry.specialization);
+        Bucket bucket = specializationIndex.get(key);
+        if (bucket != null) {
+            bucket.ids.remove(entry.id);
+            if (bucket.ids.isEmpty()) {
+                specializationIndex.remove(key);
+            }
+        }
+        entry.words().forEach(word -> nameTrie.remove(word, entry.id));
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String specializationKey(String specialization) {
+        return specialization == null ? "" : specialization.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A page of directory results plus specialization facet counts for the keyword.
+     */
+    public record DirectoryPage(Page<DoctorDTO> page, Map<String, Long> facets) {
+    }
+
+    // ------------------- INTERNALS -------------------
+
+    /**
+     * A doctor's entry after a change, null once deleted.
+     */
+    private record Change(Long doctorId, Entry updated) {
+    }
+
+    /**
+     * Every doctor id in order and the facet counts over the whole directory, as of one version.
+     */
+    private record Snapshot(long version, List<Long> ids, Map<String, Long> facets) {
+    }
+
+    private static final class Entry {
+        private final Long id;
+        private final String name;
+        private final String email;
+        private final Integer experience;
+        private final String specialization;
+        private final String availableHours;
+
+        private Entry(DoctorDTO dto) {
+            this.id = dto.getId();
+            this.name = dto.getName();
+            this.email = dto.getEmail();
+            this.experience = dto.getExperience();
+            this.specialization = dto.getSpecialization();
+            this.availableHours = dto.getAvailableHours();
+        }
+
+        static Entry of(DoctorSummary doctor) {
+            return new Entry(Utils.mapDoctorSummaryToDTO(doctor));
+        }
+
+        DoctorDTO toDTO() {
+            DoctorDTO dto = new DoctorDTO();
+            dto.setId(id);
+            dto.setName(name);
+            dto.setEmail(email);
+            dto.setExperience(experience);
+            dto.setSpecialization(specialization);
+            dto.setAvailableHours(availableHours);
+            return dto;
+        }
+
+        Set<String> words() {
+            Set<String> words = new HashSet<>();
+            for (String source : new String[]{name, specialization}) {
+                String normalized = Utils.normalizeSearchKeyword(source);
+                if (normalized != null) {
+                    words.addAll(Arrays.asList(normalized.split(" ")));
+                }
+            }
+            return words;
+        }
+    }
+
+    private static final class Bucket {
+        private final String label;
+        private final TreeSet<Long> ids = new TreeSet<>();
+
+        private Bucket(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final class Trie {
+        private final Node root = new Node();
+
+        void add(String word, Long id) {
+            Node node = root;
+            for (int i = 0; i < word.length(); i++) {
+                node = node.children.computeIfAbsent(word.charAt(i), c -> new Node());
+            }
+            node.ids.add(id);
+        }
+
+        void remove(String word, Long id) {
+            remove(root, word, 0, id);
+        }
+
+        // Returns whether node is left without ids and children, so its parent can drop it
+        private boolean remove(Node node, String word, int depth, Long id) {
+            if (depth == word.length()) {
+                node.ids.remove(id);
+            } else {
+                Character c = word.charAt(depth);
+                Node child = node.children.get(c);
+                if (child != null && remove(child, word, depth + 1, id)) {
+                    node.children.remove(c);
+                }
+            }
+            return node.ids.isEmpty() && node.children.isEmpty();
+        }
+
+        Set<Long> findByPrefix(String prefix) {
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            Set<Long> result = new HashSet<>();
+            if (node != null) {
+                collect(node, result);
+            }
+            return result;
+        }
+
+        private void collect(Node node, Set<Long> result) {
+            result.addAll(node.ids);
+            node.children.values().forEach(child -> collect(child, result));
+        }
+
+        private static final class Node {
+            private final Map<Character, Node> children = new HashMap<>(4);
+            private final Set<Long> ids = new HashSet<>(2);
+        }
+    }
+}
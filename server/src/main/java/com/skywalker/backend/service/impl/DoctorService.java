@@ -2,19 +2,21 @@ package com.skywalker.backend.service.impl;
 
 import com.skywalker.backend.dto.DoctorDTO;
 import com.skywalker.backend.dto.Response;
+import com.skywalker.backend.event.DoctorChangedEvent;
 import com.skywalker.backend.exception.OurException;
 import com.skywalker.backend.model.Doctor;
 import com.skywalker.backend.model.User;
 import com.skywalker.backend.repository.DoctorRepository;
 import com.skywalker.backend.repository.UserRepository;
+import com.skywalker.backend.repository.projection.DoctorSummary;
 import com.skywalker.backend.security.Utils;
 import com.skywalker.backend.service.repo.IDoctorService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
 import java.util.List;
@@ -26,14 +28,21 @@ public class DoctorService implements IDoctorService {
 
     private final DoctorRepository doctorRepository;
     private final UserRepository userRepository;
+    private final TrigramSearchSupport trigramSearch;
+    private final DoctorDirectoryIndex directoryIndex;
+    private final SpecializationCatalogService specializationCatalog;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
-    @Cacheable(value = "doctors", key = "'all'")
+    @Transactional(readOnly = true)
     public Response getAllDoctors() {
         Response response = new Response();
         try {
-            List<Doctor> patients = doctorRepository.findAll();
-            response.setDoctorList(Utils.mapDoctorListToDTOList(patients));
+            if (directoryIndex.isReady()) {
+                response.setDoctorList(directoryIndex.findAll());
+            } else {
+                response.setDoctorList(Utils.mapDoctorSummaryListToDTOList(doctorRepository.findAllSummaries()));
+            }
             response.setStatusCode(200);
             response.setMessage("Doctor fetched successfully");
         } catch (Exception e) {
@@ -43,34 +52,49 @@ public class DoctorService implements IDoctorService {
         return response;
     }
 
+    @Transactional(readOnly = true)
     public Response getAllDoctorsPaginated(String search, String specialty, Pageable pageable) {
         Response response = new Response();
         try {
-            Page<Doctor> doctorPage;
+            String keyword = Utils.normalizeSearchKeyword(search);
+            String specialtyFilter = specialty != null && !specialty.trim().isEmpty() ? specialty : null;
+
+            // Serve from the in-memory directory; only typo-tolerant keyword search needs the database
+            if (directoryIndex.isReady()) {
+                DoctorDirectoryIndex.DirectoryPage result = directoryIndex.search(keyword, specialtyFilter, pageable);
+                if (keyword == null || !result.facets().isEmpty() || !trigramSearch.isAvailable()) {
+                    Map<String, Object> paginationData = buildPaginationData(result.page());
+                    paginationData.put("facets", result.facets());
+
+                    response.setDoctorList(result.page().getContent());
+                    response.setData(paginationData);
+                    response.setStatusCode(200);
+                    response.setMessage("Doctors fetched successfully");
+                    return response;
+                }
+            }
+
+            Page<DoctorSummary> doctorPage;
             
             // Priority: specialty filter > general search > all
             if (specialty != null && !specialty.trim().isEmpty()) {
                 // Exact specialty match
                 doctorPage = doctorRepository.findBySpecialtyExact(specialty, pageable);
             } else if (search != null && !search.trim().isEmpty()) {
-                // Search by name or specialization
-                doctorPage = doctorRepository.searchDoctors(search, pageable);
+                // Search by name or specialization (trigram-ranked when pg_trgm is installed)
+                doctorPage = trigramSearch.isAvailable()
+                        ? doctorRepository.searchDoctorsRanked(Utils.normalizeSearchKeyword(search), pageable)
+                        : doctorRepository.searchDoctors(search, pageable);
             } else {
                 // Get all doctors with pagination
-                doctorPage = doctorRepository.findAll(pageable);
+                doctorPage = doctorRepository.findAllSummaries(pageable);
             }
             
-            List<DoctorDTO> doctorDTOs = Utils.mapDoctorListToDTOList(doctorPage.getContent());
+            Page<DoctorDTO> dtoPage = doctorPage.map(Utils::mapDoctorSummaryToDTO);
+            List<DoctorDTO> doctorDTOs = dtoPage.getContent();
             
             // Prepare pagination metadata
-            Map<String, Object> paginationData = new HashMap<>();
-            paginationData.put("content", doctorDTOs);
-            paginationData.put("currentPage", doctorPage.getNumber());
-            paginationData.put("totalPages", doctorPage.getTotalPages());
-            paginationData.put("totalElements", doctorPage.getTotalElements());
-            paginationData.put("pageSize", doctorPage.getSize());
-            paginationData.put("hasNext", doctorPage.hasNext());
-            paginationData.put("hasPrevious", doctorPage.hasPrevious());
+            Map<String, Object> paginationData = buildPaginationData(dtoPage);
             
             response.setDoctorList(doctorDTOs);
             response.setData(paginationData);
@@ -85,12 +109,23 @@ public class DoctorService implements IDoctorService {
     }
     
     public Response getAllSpecializations() {
+        return getAllSpecializations(specializationCatalog.getCatalog().orElse(null));
+    }
+
+    /**
+     * A null catalog means neither the directory index nor the database could provide one.
+     */
+    public Response getAllSpecializations(SpecializationCatalogService.Catalog catalog) {
         Response response = new Response();
+        if (catalog == null) {
+            response.setStatusCode(503);
+            response.setMessage("Specializations are unavailable, please retry");
+            return response;
+        }
         try {
-            List<String> specializations = doctorRepository.findAllSpecializations();
-            
             Map<String, Object> data = new HashMap<>();
-            data.put("specializations", specializations);
+            data.put("specializations", catalog.specializations());
+            data.put("counts", catalog.counts());
             
             response.setData(data);
             response.setStatusCode(200);
@@ -121,19 +156,18 @@ public class DoctorService implements IDoctorService {
     }
 
     @Override
-    @Cacheable(value = "doctors", key = "'spec-' + #specialization")
+    @Transactional(readOnly = true)
     public Response getDoctorsBySpecialization(String specialization) {
         Response response = new Response();
         try {
-            List<Doctor> doctors = doctorRepository.findBySpecialization(specialization);
+            List<DoctorDTO> doctorDTOs = directoryIndex.isReady()
+                    ? directoryIndex.findBySpecialization(specialization)
+                    : Utils.mapDoctorSummaryListToDTOList(doctorRepository.findSummariesBySpecialization(specialization));
 
-            if (doctors.isEmpty()) {
+            if (doctorDTOs.isEmpty()) {
                 throw new OurException("No doctors found with specialization: " + specialization);
             }
 
-            // Convert to DTO List
-            List<DoctorDTO> doctorDTOs = Utils.mapDoctorListToDTOList(doctors);
-
             response.setDoctorList(doctorDTOs);
             response.setStatusCode(200);
             response.setMessage("Doctors fetched successfully");
@@ -149,7 +183,6 @@ public class DoctorService implements IDoctorService {
     }
 
     @Override
-    @CacheEvict(value = "doctors", allEntries = true)
     public Response updateDoctor(Long doctorId, Doctor request) {
         Response response = new Response();
         try {
@@ -164,6 +197,7 @@ public class DoctorService implements IDoctorService {
             if (request.getAvailableHours() != null) doctor.setAvailableHours(request.getAvailableHours());
 
             doctorRepository.save(doctor);
+            eventPublisher.publishEvent(DoctorChangedEvent.updated(doctorId));
 
             response.setStatusCode(200);
             response.setMessage("Doctor updated successfully");
@@ -192,6 +226,7 @@ public class DoctorService implements IDoctorService {
             Long userId = doctor.getUser().getId();
             doctorRepository.deleteById(doctor.getId());
             userRepository.deleteById(userId);
+            eventPublisher.publishEvent(DoctorChangedEvent.deleted(id));
 
             response.setStatusCode(200);
             response.setMessage("Doctor deleted successfully");
@@ -205,4 +240,16 @@ public class DoctorService implements IDoctorService {
         }
         return response;
     }
+
+    private Map<String, Object> buildPaginationData(Page<DoctorDTO> doctorPage) {
+        Map<String, Object> paginationData = new HashMap<>();
+        paginationData.put("content", doctorPage.getContent());
+        paginationData.put("currentPage", doctorPage.getNumber());
+        paginationData.put("totalPages", doctorPage.getTotalPages());
+        paginationData.put("totalElements", doctorPage.getTotalElements());
+        paginationData.put("pageSize", doctorPage.getSize());
+        paginationData.put("hasNext", doctorPage.hasNext());
+        paginationData.put("hasPrevious", doctorPage.hasPrevious());
+        return paginationData;
+    }
 }
@@ -1,20 +1,28 @@
 package com.skywalker.backend.service.impl;
 
 import com.skywalker.backend.exception.OurException;
+import com.skywalker.backend.model.Appointment;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
+    private static final DateTimeFormatter REMINDER_TIME = DateTimeFormatter.ofPattern("EEEE, d MMMM yyyy 'at' HH:mm");
+
     private final JavaMailSender mailSender;
 
     @Value("${spring.application.name:HealthMate}")
@@ -50,6 +58,57 @@ public class EmailService {
             """, purpose, otpCode, appName);
     }
 
+    /**
+     * Sends the reminders for several appointments over one SMTP connection.
+     * Failures are logged rather than thrown, as reminders go out in the background.
+     */
+    public void sendAppointmentReminders(List<Appointment> appointments) {
+        List<MimeMessage> messages = new ArrayList<>(appointments.size());
+        for (Appointment appointment : appointments) {
+            try {
+                MimeMessage message = mailSender.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+                helper.setTo(appointment.getPatient().getUser().getEmail());
+                helper.setSubject("Appointment reminder - " + appName);
+                helper.setText(buildReminderEmailBody(appointment), true);
+                messages.add(message);
+            } catch (MessagingException e) {
+                log.error("Failed to build reminder email for appointment {}", appointment.getId(), e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+        try {
+            mailSender.send(messages.toArray(new MimeMessage[0]));
+            log.info("Sent {} appointment reminder emails", messages.size());
+        } catch (MailException e) {
+            log.error("Failed to send {} appointment reminder emails: {}", messages.size(), e.getMessage());
+        }
+    }
+
+    private String buildReminderEmailBody(Appointment appointment) {
+        return String.format("""
+            <html>
+            <body style="font-family: Arial, sans-serif; line-height: 1.6; color: #333;">
+                <div style="max-width: 600px; margin: 0 auto; padding: 20px; border: 1px solid #ddd; border-radius: 5px;">
+                    <h2 style="color: #007bff;">Appointment Reminder</h2>
+                    <p>Hello %s,</p>
+                    <p>This is a reminder of your appointment with <strong>Dr. %s</strong> on <strong>%s</strong>.</p>
+                    <p>Appointment code: <strong>%s</strong></p>
+                    <p>If you cannot make it, please cancel so the time can go to another patient.</p>
+                    <hr style="border: none; border-top: 1px solid #ddd; margin: 20px 0;">
+                    <p style="font-size: 12px; color: #777;">
+                        Best regards,<br>
+                        <strong>%s Team</strong>
+                    </p>
+                </div>
+            </body>
+            </html>
+            """, appointment.getPatient().getUser().getName(), appointment.getDoctor().getUser().getName(),
+                appointment.getAppointmentDateTime().format(REMINDER_TIME), appointment.getAppointmentCode(), appName);
+    }
+
     private void sendEmail(String to, String subject, String body) {
         try {
             MimeMessage message = mailSender.createMimeMessage();
@@ -6,21 +6,33 @@ import com.skywalker.backend.model.User;
 import com.skywalker.backend.repository.NotificationRepository;
 import com.skywalker.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
     private final SimpMessagingTemplate messagingTemplate;
 
+    @Value("${notifications.retention.days:90}")
+    private int retentionDays;
+
     @Transactional
     public void sendNotification(Long userId, String message) {
         User user = userRepository.findById(userId).orElse(null);
@@ -44,13 +56,41 @@ public class NotificationService {
         );
     }
 
-    public List<NotificationDTO> getUserNotifications(Long userId) {
-        List<Notification> notifications = notificationRepository.findByUserIdOrderByTimestampDesc(userId);
+    /**
+     * Stores several notifications in one transaction, so the inserts are batched, then pushes each one.
+     * Every notification must have its user set.
+     */
+    @Transactional
+    public void sendNotifications(List<Notification> notifications) {
+        notificationRepository.saveAll(notifications);
+        for (Notification notification : notifications) {
+            messagingTemplate.convertAndSendToUser(
+                notification.getUser().getEmail(),
+                "/queue/notifications",
+                mapToDTO(notification)
+            );
+        }
+    }
+
+    /**
+     * Cursor-paginated notification history, newest first.
+     * Pass the timestamp and id of the last notification received to fetch the next page.
+     */
+    @Transactional(readOnly = true)
+    public List<NotificationDTO> getUserNotifications(Long userId, LocalDateTime beforeTimestamp,
+                                                      Long beforeId, Integer size) {
+        int pageSize = size == null || size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        PageRequest limit = PageRequest.of(0, pageSize);
+
+        List<Notification> notifications = beforeTimestamp == null || beforeId == null
+                ? notificationRepository.findLatestByUserId(userId, limit)
+                : notificationRepository.findByUserIdBeforeCursor(userId, beforeTimestamp, beforeId, limit);
         return notifications.stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<NotificationDTO> getUnreadNotifications(Long userId) {
         List<Notification> notifications = notificationRepository.findByUserIdAndIsReadFalseOrderByTimestampDesc(userId);
         return notifications.stream()
@@ -68,15 +108,25 @@ public class NotificationService {
 
     @Transactional
     public void markAllAsRead(Long userId) {
-        List<Notification> notifications = notificationRepository.findByUserIdAndIsReadFalseOrderByTimestampDesc(userId);
-        notifications.forEach(notification -> notification.setIsRead(true));
-        notificationRepository.saveAll(notifications);
+        // Single UPDATE statement instead of loading and saving every unread row
+        notificationRepository.markAllAsReadByUserId(userId);
     }
 
     public Long getUnreadCount(Long userId) {
         return notificationRepository.countByUserIdAndIsReadFalse(userId);
     }
 
+    /**
+     * Purge notifications older than the configured retention window (scheduled task)
+     */
+    @Transactional
+    @Scheduled(cron = "${notifications.retention.cron:0 30 3 * * *}") // Run daily at 03:30 by default
+    public void purgeExpiredNotifications() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int deleted = notificationRepository.deleteByTimestampBefore(cutoff);
+        log.info("Purged {} notifications older than {} days", deleted, retentionDays);
+    }
+
     private NotificationDTO mapToDTO(Notification notification) {
         NotificationDTO dto = new NotificationDTO();
         dto.setId(notification.getId());
@@ -7,6 +7,7 @@ import com.skywalker.backend.model.Patient;
 import com.skywalker.backend.model.User;
 import com.skywalker.backend.repository.PatientRepository;
 import com.skywalker.backend.repository.UserRepository;
+import com.skywalker.backend.repository.projection.PatientSummary;
 import com.skywalker.backend.security.Utils;
 import com.skywalker.backend.service.repo.IPatientService;
 import lombok.RequiredArgsConstructor;
@@ -26,13 +27,14 @@ public class PatientService implements IPatientService {
 
     private final PatientRepository patientRepository;
     private final UserRepository userRepository;
+    private final TrigramSearchSupport trigramSearch;
 
     @Override
+    @Transactional(readOnly = true)
     public Response getAllPatients() {
         Response response = new Response();
         try {
-            List<Patient> patients = patientRepository.findAll();
-            response.setPatientList(Utils.mapPatientListToDTOList(patients));
+            response.setPatientList(Utils.mapPatientSummaryListToDTOList(patientRepository.findAllSummaries()));
             response.setStatusCode(200);
             response.setMessage("Patient fetched successfully");
         } catch (Exception e) {
@@ -43,19 +45,22 @@ public class PatientService implements IPatientService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Response getAllPatientsPaginated(String search, int page, int size) {
         Response response = new Response();
         try {
             Pageable pageable = PageRequest.of(page, size);
-            Page<Patient> patientPage;
+            Page<PatientSummary> patientPage;
             
             if (search != null && !search.trim().isEmpty()) {
-                patientPage = patientRepository.searchPatients(search, pageable);
+                patientPage = trigramSearch.isAvailable()
+                        ? patientRepository.searchPatientsRanked(Utils.normalizeSearchKeyword(search), pageable)
+                        : patientRepository.searchPatients(search, pageable);
             } else {
-                patientPage = patientRepository.findAll(pageable);
+                patientPage = patientRepository.findAllSummaries(pageable);
             }
             
-            List<PatientDTO> patientDTOs = Utils.mapPatientListToDTOList(patientPage.getContent());
+            List<PatientDTO> patientDTOs = Utils.mapPatientSummaryListToDTOList(patientPage.getContent());
             
             // Prepare pagination metadata
             Map<String, Object> paginationData = new HashMap<>();
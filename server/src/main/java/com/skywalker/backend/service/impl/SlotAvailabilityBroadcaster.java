@@ -0,0 +1,70 @@
+package com.skywalker.backend.service.impl;
+
+import com.skywalker.backend.cache.CacheInvalidationListener;
+import com.skywalker.backend.domain.SlotStatus;
+import com.skywalker.backend.event.TimeSlotChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Keeps the {@link SlotAvailabilityEngine} of every node in step. Each node holds availability on its own heap,
+ * so a committed slot change is published on a Redis channel and the other nodes apply it to their engine.
+ * <p>
+ * The shared {@code httpTimeSlots} entries are evicted again on each receiving node once its engine is
+ * updated: until then that node may have written the old availability back into the cache. Messages are
+ * fire-and-forget; the periodic rebuild and the cache TTL bound staleness when one is lost.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SlotAvailabilityBroadcaster implements MessageListener {
+
+    public static final String CHANNEL = "healthmate:slot-availability:changed";
+
+    private static final String NONE = "-";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redisTemplate;
+    private final SlotAvailabilityEngine availabilityEngine;
+    private final CacheInvalidationListener cacheInvalidationListener;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTimeSlotChanged(TimeSlotChangedEvent event) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, String.join(" ", nodeId,
+                    event.getDoctorId().toString(), event.getStartDate().toString(), event.getEndDate().toString(),
+                    event.getSlotId() == null ? NONE : event.getSlotId().toString(),
+                    event.getStatus() == null ? NONE : event.getStatus().name()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to broadcast slot change for doctor {}: {}", event.getDoctorId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(" ");
+        if (parts.length != 6 || parts[0].equals(nodeId)) {
+            return;
+        }
+        TimeSlotChangedEvent event;
+        try {
+            event = new TimeSlotChangedEvent(Long.valueOf(parts[1]), LocalDate.parse(parts[2]), LocalDate.parse(parts[3]),
+                    NONE.equals(parts[4]) ? null : Long.valueOf(parts[4]),
+                    NONE.equals(parts[5]) ? null : SlotStatus.valueOf(parts[5]));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed slot change message: {}", e.getMessage());
+            return;
+        }
+        availabilityEngine.onTimeSlotChanged(event);
+        cacheInvalidationListener.onTimeSlotChanged(event);
+    }
+}
@@ -0,0 +1,524 @@
+package com.skywalker.backend.service.impl;
+
+import com.skywalker.backend.domain.SlotStatus;
+import com.skywalker.backend.dto.TimeSlotDTO;
+import com.skywalker.backend.event.TimeSlotChangedEvent;
+import com.skywalker.backend.model.TimeSlot;
+import com.skywalker.backend.repository.TimeSlotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory slot availability.
+ * Each doctor-day is held as its slots sorted by start time (ids and start/end seconds in parallel arrays)
+ * plus a bitset of the free ones, so availability lookups never touch the database.
+ * <p>
+ * Every day in the rolling window starting today is loaded at startup and on each refresh; a missing
+ * day inside the window has no slots. Days outside the window are loaded on first use and dropped on
+ * the next refresh, or earlier once more than lazy-days-max of them are held. Booking and releasing flip
+ * single bits once the change is committed. {@link SlotAvailabilityBroadcaster} passes committed changes
+ * on to the other nodes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SlotAvailabilityEngine {
+
+    private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+
+    private final TimeSlotRepository timeSlotRepository;
+
+    @Value("${availability.window-days:60}")
+    private int windowDays;
+
+    @Value("${availability.lazy-days-max:5000}")
+    private int lazyDaysMax;
+
+    private volatile State state = State.empty();
+    private volatile boolean ready = false;
+
+    // A lock rather than a monitor: writers may reload days from the database while holding it,
+    // which would pin the carrier thread of a virtual thread inside a synchronized block
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Changes applied while a rebuild is loading, replayed onto the new state. Guarded by writeLock
+    private List<TimeSlotChangedEvent> journal;
+    // Days outside the window being loaded, each with the changes that arrived meanwhile. Guarded by writeLock
+    private final List<LazyLoad> lazyLoads = new ArrayList<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${availability.refresh-ms:300000}",
+               fixedDelayString = "${availability.refresh-ms:300000}")
+    public void refresh() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        writeLock.lock();
+        try {
+            journal = new ArrayList<>();
+        } finally {
+            writeLock.unlock();
+        }
+        try {
+            LocalDate windowStart = LocalDate.now();
+            LocalDate windowEnd = windowStart.plusDays(windowDays - 1L);
+            State newState = new State(windowStart, windowEnd);
+            List<TimeSlot> slots = timeSlotRepository.findAllWithDoctorBySlotDateBetween(windowStart, windowEnd);
+            DayAvailability.group(slots).forEach(newState::put);
+
+            writeLock.lock();
+            try {
+                journal.forEach(event -> apply(newState, event));
+                state = newState;
+            } finally {
+                writeLock.unlock();
+            }
+            ready = true;
+            log.info("Slot availability built with {} slots from {} to {}", slots.size(), windowStart, windowEnd);
+        } catch (Exception e) {
+            log.error("Failed to build slot availability: {}", e.getMessage());
+        } finally {
+            writeLock.lock();
+            try {
+                journal = null;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    // Runs before the cache listeners so evicted responses are rebuilt from the updated bitmaps
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTimeSlotChanged(TimeSlotChangedEvent event) {
+        writeLock.lock();
+        try {
+            apply(state, event);
+            if (journal != null) {
+                journal.add(event);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Whether every day from startDate to endDate is held in memory, so a range search needs no database reads.
+     */
+    public boolean covers(LocalDate startDate, LocalDate endDate) {
+        State current = state;
+        return ready && current.covers(startDate) && current.covers(endDate);
+    }
+
+    /**
+     * Free slots of a doctor on a date, ordered by start time.
+     */
+    public List<TimeSlotDTO> findFreeSlots(Long doctorId, LocalDate date) {
+        DayAvailability day = getDay(state, doctorId, date);
+        return day == null ? List.of() : day.freeSlots();
+    }
+
+    /**
+     * Earliest free slot among the given doctors starting at or after {@code from}, searched up to the
+     * end of the availability window. Ties on start go to the lower doctor id.
+     */
+    public Optional<TimeSlotDTO> findFirstFree(Collection<Long> doctorIds, LocalDateTime from) {
+        State current = state;
+        List<Long> ordered = doctorIds.stream().sorted().toList();
+        int fromSecond = from.toLocalTime().toSecondOfDay();
+
+        for (LocalDate date = from.toLocalDate(); !date.isAfter(current.windowEnd); date = date.plusDays(1)) {
+            DayAvailability best = null;
+            int bestIndex = -1;
+            for (Long doctorId : ordered) {
+                DayAvailability day = getDay(current, doctorId, date);
+                if (day == null) {
+                    continue;
+                }
+                int index = day.nextFree(0, date.equals(from.toLocalDate()) ? fromSecond : 0, SECONDS_PER_DAY);
+                if (index >= 0 && (best == null || day.startSeconds[index] < best.startSeconds[bestIndex])) {
+                    best = day;
+                    bestIndex = index;
+                }
+            }
+            if (best != null) {
+                return Optional.of(best.toDTO(bestIndex));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The first {@code limit} free slots among the given doctors that start at or after {@code start}, no later
+     * than {@code endDate}, and lie within the time-of-day window, ordered by date, start time and doctor id.
+     * Each doctor contributes an ordered cursor over its days; cursors are merged with a priority queue so
+     * only as many slots as requested are visited. Only days inside the window are searched: callers check
+     * {@link #covers} and query the database for other ranges.
+     */
+    public List<TimeSlotDTO> findEarliestFree(Collection<Long> doctorIds, LocalDateTime start, LocalDate endDate,
+                                              LocalTime fromTime, LocalTime toTime, int limit) {
+        State current = state;
+        int fromSecond = fromTime == null ? 0 : fromTime.toSecondOfDay();
+        int toSecond = toTime == null ? SECONDS_PER_DAY : toTime.toSecondOfDay();
+        // On the first day nothing that has already started
+        int firstDayFromSecond = Math.max(fromSecond, start.toLocalTime().toSecondOfDay());
+
+        PriorityQueue<Cursor> queue = new PriorityQueue<>(Comparator
+                .comparing((Cursor cursor) -> cursor.date)
+                .thenComparingInt(cursor -> cursor.day.startSeconds[cursor.index])
+                .thenComparing(cursor -> cursor.doctorId));
+        for (Long doctorId : new LinkedHashSet<>(doctorIds)) {
+            Cursor cursor = new Cursor(current, doctorId, start.toLocalDate(), endDate, firstDayFromSecond, fromSecond, toSecond);
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+        }
+
+        List<TimeSlotDTO> result = new ArrayList<>(Math.min(limit, 64));
+        while (result.size() < limit && !queue.isEmpty()) {
+            Cursor cursor = queue.poll();
+            result.add(cursor.day.toDTO(cursor.index));
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+        }
+        return result;
+    }
+
+    private DayAvailability getDay(State current, Long doctorId, LocalDate date) {
+        DayAvailability day = current.get(doctorId, date);
+        if (day != null || current.covers(date)) {
+            return day;
+        }
+        // Outside the window: load on first use. Changes committed while loading are journaled and replayed
+        // before the day is stored, as a rebuild does
+        LazyLoad load = new LazyLoad(doctorId, date, new ArrayList<>());
+        writeLock.lock();
+        try {
+            lazyLoads.add(load);
+        } finally {
+            writeLock.unlock();
+        }
+        try {
+            day = loadDay(doctorId, date);
+        } finally {
+            writeLock.lock();
+            try {
+                // By identity: two threads may be loading the same day
+                lazyLoads.removeIf(pending -> pending == load);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        writeLock.lock();
+        try {
+            boolean replayed = true;
+            for (TimeSlotChangedEvent event : load.events()) {
+                if (event.getSlotId() == null || !day.setFree(event.getSlotId(), event.getStatus() == SlotStatus.AVAILABLE)) {
+                    replayed = false;
+                    break;
+                }
+            }
+            if (replayed) {
+                DayAvailability existing = current.get(doctorId, date);
+                if (existing != null) {
+                    return existing;
+                }
+                current.putLazy(day, lazyDaysMax);
+                return day;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        // A change the loaded day cannot absorb, such as regenerated slots: read the day again, outside the
+        // lock so slot writers are not held up, and leave it uncached for the next use to load
+        return loadDay(doctorId, date);
+    }
+
+    private DayAvailability loadDay(Long doctorId, LocalDate date) {
+        return DayAvailability.group(timeSlotRepository.findAllWithDoctorByDoctorIdAndSlotDateBetween(doctorId, date, date))
+                .getOrDefault(doctorId, Map.of())
+                .getOrDefault(date, DayAvailability.empty(doctorId, date));
+    }
+
+    // Callers hold writeLock
+    private void apply(State target, TimeSlotChangedEvent event) {
+        Long doctorId = event.getDoctorId();
+        if (event.getSlotId() != null) {
+            DayAvailability day = target.get(doctorId, event.getStartDate());
+            if (day == null && !target.covers(event.getStartDate())) {
+                journalLazyLoads(event);
+                return;
+            }
+            if (day != null && day.setFree(event.getSlotId(), event.getStatus() == SlotStatus.AVAILABLE)) {
+                return;
+            }
+        }
+        reload(target, doctorId, event.getStartDate(), event.getEndDate());
+    }
+
+    // Callers hold writeLock
+    private void journalLazyLoads(TimeSlotChangedEvent event) {
+        for (LazyLoad load : lazyLoads) {
+            if (load.doctorId().equals(event.getDoctorId())
+                    && !load.date().isBefore(event.getStartDate()) && !load.date().isAfter(event.getEndDate())) {
+                load.events().add(event);
+            }
+        }
+    }
+
+    // Reload the in-window part of a range; drop lazily loaded days so they are fetched again on use
+    private void reload(State target, Long doctorId, LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, DayAvailability> doctorDays = target.days.get(doctorId);
+        if (doctorDays != null) {
+            doctorDays.keySet().removeIf(date -> !date.isBefore(startDate) && !date.isAfter(endDate));
+            target.lazyDays.removeIf(key -> key.doctorId().equals(doctorId)
+                    && !key.date().isBefore(startDate) && !key.date().isAfter(endDate));
+        }
+        journalLazyLoads(TimeSlotChangedEvent.forRange(doctorId, startDate, endDate));
+        LocalDate from = startDate.isBefore(target.windowStart) ? target.windowStart : startDate;
+        LocalDate to = endDate.isAfter(target.windowEnd) ? target.windowEnd : endDate;
+        if (from.isAfter(to)) {
+            return;
+        }
+        DayAvailability.group(timeSlotRepository.findAllWithDoctorByDoctorIdAndSlotDateBetween(doctorId, from, to))
+                .forEach(target::put);
+    }
+
+    // ------------------- INTERNALS -------------------
+
+    /**
+     * Walks the free slots of one doctor in (date, start) order.
+     */
+    private final class Cursor {
+        private final State state;
+        private final Long doctorId;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final int firstDayFromSecond;
+        private final int fromSecond;
+        private final int toSecond;
+        private LocalDate date;
+        private DayAvailability day;
+        private int index;
+
+        private Cursor(State state, Long doctorId, LocalDate startDate, LocalDate endDate,
+                       int firstDayFromSecond, int fromSecond, int toSecond) {
+            this.state = state;
+            this.doctorId = doctorId;
+            this.startDate = startDate;
+            this.date = startDate;
+            this.endDate = endDate;
+            this.firstDayFromSecond = firstDayFromSecond;
+            this.fromSecond = fromSecond;
+            this.toSecond = toSecond;
+        }
+
+        private int fromSecond() {
+            return date.equals(startDate) ? firstDayFromSecond : fromSecond;
+        }
+
+        boolean advance() {
+            if (day != null) {
+                index = day.nextFree(index + 1, fromSecond(), toSecond);
+                if (index >= 0) {
+                    return true;
+                }
+                date = date.plusDays(1);
+            }
+            for (; !date.isAfter(endDate) && !date.isAfter(state.windowEnd); date = date.plusDays(1)) {
+                day = state.get(doctorId, date);
+                if (day != null) {
+                    index = day.nextFree(0, fromSecond(), toSecond);
+                    if (index >= 0) {
+                        return true;
+                    }
+                }
+            }
+            day = null;
+            return false;
+        }
+    }
+
+    /**
+     * A day outside the window being loaded, with the changes to replay onto it.
+     */
+    private record LazyLoad(Long doctorId, LocalDate date, List<TimeSlotChangedEvent> events) {
+    }
+
+    private record DayKey(Long doctorId, LocalDate date) {
+    }
+
+    private static final class State {
+        private final LocalDate windowStart;
+        private final LocalDate windowEnd;
+        private final Map<Long, Map<LocalDate, DayAvailability>> days = new ConcurrentHashMap<>();
+        // Days outside the window, oldest first. Guarded by writeLock
+        private final Set<DayKey> lazyDays = new LinkedHashSet<>();
+
+        private State(LocalDate windowStart, LocalDate windowEnd) {
+            this.windowStart = windowStart;
+            this.windowEnd = windowEnd;
+        }
+
+        static State empty() {
+            LocalDate today = LocalDate.now();
+            return new State(today, today.minusDays(1));
+        }
+
+        boolean covers(LocalDate date) {
+            return !date.isBefore(windowStart) && !date.isAfter(windowEnd);
+        }
+
+        DayAvailability get(Long doctorId, LocalDate date) {
+            Map<LocalDate, DayAvailability> doctorDays = days.get(doctorId);
+            return doctorDays == null ? null : doctorDays.get(date);
+        }
+
+        void put(Long doctorId, Map<LocalDate, DayAvailability> doctorDays) {
+            days.computeIfAbsent(doctorId, id -> new ConcurrentHashMap<>()).putAll(doctorDays);
+        }
+
+        // Callers hold writeLock. Drops the oldest days outside the window beyond max
+        void putLazy(DayAvailability day, int max) {
+            days.computeIfAbsent(day.doctorId, id -> new ConcurrentHashMap<>()).put(day.date, day);
+            lazyDays.add(new DayKey(day.doctorId, day.date));
+            Iterator<DayKey> oldest = lazyDays.iterator();
+            while (lazyDays.size() > max && oldest.hasNext()) {
+                DayKey key = oldest.next();
+                oldest.remove();
+                Map<LocalDate, DayAvailability> doctorDays = days.get(key.doctorId());
+                if (doctorDays != null) {
+                    doctorDays.remove(key.date());
+                }
+            }
+        }
+    }
+
+    static final class DayAvailability {
+        private final Long doctorId;
+        private final String doctorName;
+        private final LocalDate date;
+        private final long[] slotIds;
+        private final int[] startSeconds;
+        private final int[] endSeconds;
+        private final BitSet free; // Guarded by this
+
+        private DayAvailability(Long doctorId, String doctorName, LocalDate date, List<TimeSlot> slots) {
+            this.doctorId = doctorId;
+            this.doctorName = doctorName;
+            this.date = date;
+            this.slotIds = new long[slots.size()];
+            this.startSeconds = new int[slots.size()];
+            this.endSeconds = new int[slots.size()];
+            this.free = new BitSet(slots.size());
+            for (int i = 0; i < slots.size(); i++) {
+                TimeSlot slot = slots.get(i);
+                slotIds[i] = slot.getId();
+                startSeconds[i] = slot.getStartTime().toSecondOfDay();
+                endSeconds[i] = slot.getEndTime().toSecondOfDay();
+                free.set(i, slot.getStatus() == SlotStatus.AVAILABLE);
+            }
+        }
+
+        static DayAvailability empty(Long doctorId, LocalDate date) {
+            return new DayAvailability(doctorId, null, date, List.of());
+        }
+
+        /**
+         * Groups slots by doctor and date, each day sorted by start time.
+         */
+        static Map<Long, Map<LocalDate, DayAvailability>> group(List<TimeSlot> slots) {
+            Map<Long, Map<LocalDate, List<TimeSlot>>> grouped = new HashMap<>();
+            for (TimeSlot slot : slots) {
+                grouped.computeIfAbsent(slot.getDoctor().getId(), id -> new HashMap<>())
+                        .computeIfAbsent(slot.getSlotDate(), date -> new ArrayList<>())
+                        .add(slot);
+            }
+            Map<Long, Map<LocalDate, DayAvailability>> result = new HashMap<>(grouped.size() * 2);
+            grouped.forEach((doctorId, byDate) -> {
+                Map<LocalDate, DayAvailability> doctorDays = new HashMap<>(byDate.size() * 2);
+                byDate.forEach((date, daySlots) -> {
+                    daySlots.sort(Comparator.comparing(TimeSlot::getStartTime));
+                    String doctorName = daySlots.get(0).getDoctor().getUser().getName();
+                    doctorDays.put(date, new DayAvailability(doctorId, doctorName, date, daySlots));
+                });
+                result.put(doctorId, doctorDays);
+            });
+            return result;
+        }
+
+        /**
+         * Returns false when the slot is not part of this day.
+         */
+        synchronized boolean setFree(long slotId, boolean isFree) {
+            for (int i = 0; i < slotIds.length; i++) {
+                if (slotIds[i] == slotId) {
+                    free.set(i, isFree);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Index of the first free slot at or after {@code fromIndex} that starts at or after
+         * {@code fromSecond} and ends by {@code toSecond}, or -1.
+         */
+        synchronized int nextFree(int fromIndex, int fromSecond, int toSecond) {
+            for (int i = free.nextSetBit(fromIndex); i >= 0; i = free.nextSetBit(i + 1)) {
+                if (startSeconds[i] >= toSecond) {
+                    break;
+                }
+                if (startSeconds[i] >= fromSecond && endSeconds[i] <= toSecond) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        synchronized List<TimeSlotDTO> freeSlots() {
+            List<TimeSlotDTO> result = new ArrayList<>(free.cardinality());
+            for (int i = free.nextSetBit(0); i >= 0; i = free.nextSetBit(i + 1)) {
+                result.add(toDTO(i));
+            }
+            return result;
+        }
+
+        TimeSlotDTO toDTO(int index) {
+            TimeSlotDTO dto = new TimeSlotDTO();
+            dto.setId(slotIds[index]);
+            dto.setDoctorId(doctorId);
+            dto.setDoctorName(doctorName);
+            dto.setSlotDate(date);
+            dto.setStartTime(LocalTime.ofSecondOfDay(startSeconds[index]));
+            dto.setEndTime(LocalTime.ofSecondOfDay(endSeconds[index]));
+            dto.setStatus(SlotStatus.AVAILABLE);
+            return dto;
+        }
+    }
+}
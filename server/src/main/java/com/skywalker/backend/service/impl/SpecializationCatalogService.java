@@ -0,0 +1,73 @@
+package com.skywalker.backend.service.impl;
+
+import com.skywalker.backend.repository.DoctorRepository;
+import com.skywalker.backend.repository.projection.SpecializationCount;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Specialization -> doctor count catalog with a content-derived ETag.
+ * Counts come from the in-memory {@link DoctorDirectoryIndex}, which is patched on every doctor
+ * create/update/delete, so the catalog is only recomputed when the directory version changes.
+ * Specializations keep the index's alphabetical order.
+ * <p>
+ * Until the index has been built, for instance after a failed startup build, each call counts doctors per
+ * specialization in the database instead.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SpecializationCatalogService {
+
+    private final DoctorDirectoryIndex directoryIndex;
+    private final DoctorRepository doctorRepository;
+
+    private volatile Catalog catalog;
+
+    /**
+     * The current catalog, or empty when the directory index is not built and the database cannot be read.
+     */
+    public Optional<Catalog> getCatalog() {
+        if (!directoryIndex.isReady()) {
+            return fromDatabase();
+        }
+        long version = directoryIndex.getVersion();
+        Catalog current = catalog;
+        if (current == null || current.version() != version) {
+            current = build(version, directoryIndex.getSpecializationCounts());
+            catalog = current;
+        }
+        return Optional.of(current);
+    }
+
+    private Optional<Catalog> fromDatabase() {
+        try {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (SpecializationCount count : doctorRepository.findAllSpecializations()) {
+                counts.put(count.getSpecialization(), count.getCount());
+            }
+            // Never matches an index version, so the first catalog built from the index replaces it
+            return Optional.of(build(-1, counts));
+        } catch (Exception e) {
+            log.warn("Failed to count specializations: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Catalog build(long version, Map<String, Long> counts) {
+        String etag = "\"" + DigestUtils.md5DigestAsHex(counts.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+        return new Catalog(version, List.copyOf(counts.keySet()), Collections.unmodifiableMap(new LinkedHashMap<>(counts)), etag);
+    }
+
+    public record Catalog(long version, List<String> specializations, Map<String, Long> counts, String etag) {
+    }
+}
@@ -1,33 +1,50 @@
 package com.skywalker.backend.service.impl;
 
 import com.skywalker.backend.domain.SlotStatus;
+import com.skywalker.backend.dto.DoctorDTO;
 import com.skywalker.backend.dto.Response;
 import com.skywalker.backend.dto.SlotGenerationRequest;
 import com.skywalker.backend.dto.TimeSlotDTO;
+import com.skywalker.backend.event.TimeSlotChangedEvent;
 import com.skywalker.backend.exception.OurException;
 import com.skywalker.backend.model.Doctor;
 import com.skywalker.backend.model.DoctorSchedule;
 import com.skywalker.backend.model.TimeSlot;
+import com.skywalker.backend.observability.HealthmateMetrics;
 import com.skywalker.backend.repository.DoctorRepository;
 import com.skywalker.backend.repository.TimeSlotRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TimeSlotService {
 
+    private static final int DEFAULT_SEARCH_DAYS = 7;
+    private static final int MAX_SEARCH_DAYS = 31;
+    private static final int DEFAULT_SEARCH_LIMIT = 10;
+    private static final int MAX_SEARCH_LIMIT = 100;
+
     private final TimeSlotRepository timeSlotRepository;
     private final DoctorRepository doctorRepository;
     private final DoctorScheduleService scheduleService;
+    private final SlotAvailabilityEngine availabilityEngine;
+    private final DoctorDirectoryIndex directoryIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Response generateTimeSlots(Long doctorId, SlotGenerationRequest request) {
@@ -36,18 +53,26 @@ public class TimeSlotService {
             Doctor doctor = doctorRepository.findById(doctorId)
                     .orElseThrow(() -> new OurException("Doctor not found"));
 
+            // One query for the slots that already exist instead of one per candidate slot
+            Set<LocalDateTime> existingStarts = timeSlotRepository.findByDoctorIdAndSlotDateBetween(
+                            doctorId, request.getStartDate(), request.getEndDate())
+                    .stream()
+                    .map(slot -> slot.getSlotDate().atTime(slot.getStartTime()))
+                    .collect(Collectors.toSet());
+            Map<DayOfWeek, List<DoctorSchedule>> schedulesByDay = new EnumMap<>(DayOfWeek.class);
+
             List<TimeSlot> generatedSlots = new ArrayList<>();
             LocalDate currentDate = request.getStartDate();
 
             while (!currentDate.isAfter(request.getEndDate())) {
-                // Get doctor's schedule for this day of week
-                List<DoctorSchedule> daySchedules = scheduleService.getDoctorScheduleForDay(
-                        doctorId, currentDate.getDayOfWeek());
+                // Get doctor's schedule for this day of week, once per weekday
+                List<DoctorSchedule> daySchedules = schedulesByDay.computeIfAbsent(currentDate.getDayOfWeek(),
+                        day -> scheduleService.getDoctorScheduleForDay(doctorId, day));
 
                 for (DoctorSchedule schedule : daySchedules) {
                     if (schedule.getIsActive()) {
                         generatedSlots.addAll(generateSlotsForSchedule(
-                                doctor, currentDate, schedule, request.getSlotDurationMinutes()));
+                                doctor, currentDate, schedule, request.getSlotDurationMinutes(), existingStarts));
                     }
                 }
 
@@ -55,6 +80,8 @@ public class TimeSlotService {
             }
 
             List<TimeSlot> savedSlots = timeSlotRepository.saveAll(generatedSlots);
+            eventPublisher.publishEvent(
+                    TimeSlotChangedEvent.forRange(doctorId, request.getStartDate(), request.getEndDate()));
             List<TimeSlotDTO> slotDTOs = savedSlots.stream()
                     .map(this::mapToDTO)
                     .collect(Collectors.toList());
@@ -73,8 +100,8 @@ public class TimeSlotService {
         return response;
     }
 
-    private List<TimeSlot> generateSlotsForSchedule(Doctor doctor, LocalDate date, 
-                                                     DoctorSchedule schedule, Integer durationMinutes) {
+    private List<TimeSlot> generateSlotsForSchedule(Doctor doctor, LocalDate date, DoctorSchedule schedule,
+                                                     Integer durationMinutes, Set<LocalDateTime> existingStarts) {
         List<TimeSlot> slots = new ArrayList<>();
         LocalTime currentTime = schedule.getStartTime();
         LocalTime endTime = schedule.getEndTime();
@@ -83,9 +110,8 @@ public class TimeSlotService {
                currentTime.plusMinutes(durationMinutes).equals(endTime)) {
             
             // Check if slot already exists
-            if (timeSlotRepository.findByDoctorIdAndSlotDateAndStartTime(
-                    doctor.getId(), date, currentTime).isEmpty()) {
-                
+            if (!existingStarts.contains(date.atTime(currentTime))) {
+
                 TimeSlot slot = new TimeSlot();
                 slot.setDoctor(doctor);
                 slot.setSlotDate(date);
@@ -101,16 +127,18 @@ public class TimeSlotService {
         return slots;
     }
 
-    @Cacheable(value = "timeSlots", key = "#doctorId + '-' + #date")
     public Response getAvailableSlots(Long doctorId, LocalDate date) {
         Response response = new Response();
         try {
-            List<TimeSlot> slots = timeSlotRepository.findByDoctorIdAndSlotDateAndStatus(
-                    doctorId, date, SlotStatus.AVAILABLE);
-            
-            List<TimeSlotDTO> slotDTOs = slots.stream()
-                    .map(this::mapToDTO)
-                    .collect(Collectors.toList());
+            List<TimeSlotDTO> slotDTOs;
+            if (availabilityEngine.isReady()) {
+                slotDTOs = availabilityEngine.findFreeSlots(doctorId, date);
+            } else {
+                slotDTOs = timeSlotRepository.findByDoctorIdAndSlotDateAndStatus(doctorId, date, SlotStatus.AVAILABLE)
+                        .stream()
+                        .map(this::mapToDTO)
+                        .collect(Collectors.toList());
+            }
 
             response.setStatusCode(200);
             response.setMessage("Available slots fetched successfully");
@@ -123,17 +151,114 @@ public class TimeSlotService {
         return response;
     }
 
+    public Response getFirstAvailableSlot(String specialization, LocalDate fromDate) {
+        Response response = new Response();
+        try {
+            if (!availabilityEngine.isReady()) {
+                throw new OurException("Slot availability is not ready yet");
+            }
+            List<Long> doctorIds = findDoctorIds(specialization);
+            if (doctorIds.isEmpty()) {
+                throw new OurException("No doctors found for specialization: " + specialization);
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime from = fromDate == null || !fromDate.isAfter(now.toLocalDate())
+                    ? now
+                    : fromDate.atStartOfDay();
+            TimeSlotDTO slot = availabilityEngine.findFirstFree(doctorIds, from)
+                    .orElseThrow(() -> new OurException("No available slot found for specialization: " + specialization));
+
+            response.setStatusCode(200);
+            response.setMessage("First available slot fetched successfully");
+            response.setTimeSlot(slot);
+
+        } catch (OurException e) {
+            response.setStatusCode(404);
+            response.setMessage(e.getMessage());
+        } catch (Exception e) {
+            response.setStatusCode(500);
+            response.setMessage("Error fetching first available slot: " + e.getMessage());
+        }
+        return response;
+    }
+
+    /**
+     * Earliest free slots across the doctors of a specialization (or a single doctor) within a date range
+     * and a time-of-day window.
+     */
+    public Response searchAvailableSlots(String specialization, Long doctorId, LocalDate startDate, LocalDate endDate,
+                                         LocalTime fromTime, LocalTime toTime, Integer limit) {
+        Response response = new Response();
+        try {
+            if (doctorId == null && (specialization == null || specialization.isBlank())) {
+                throw new OurException("Either specialization or doctorId is required");
+            }
+            LocalDateTime now = LocalDateTime.now();
+            LocalDate today = now.toLocalDate();
+            LocalDate from = startDate == null || startDate.isBefore(today) ? today : startDate;
+            LocalDate to = endDate == null ? from.plusDays(DEFAULT_SEARCH_DAYS - 1L) : endDate;
+            if (to.isBefore(from)) {
+                throw new OurException("endDate must not be before startDate");
+            }
+            if (to.isAfter(from.plusDays(MAX_SEARCH_DAYS - 1L))) {
+                throw new OurException("Date range cannot exceed " + MAX_SEARCH_DAYS + " days");
+            }
+            if (fromTime != null && toTime != null && !fromTime.isBefore(toTime)) {
+                throw new OurException("fromTime must be before toTime");
+            }
+            int pageSize = limit == null || limit < 1 ? DEFAULT_SEARCH_LIMIT : Math.min(limit, MAX_SEARCH_LIMIT);
+
+            // Slots that have already started today are no longer bookable
+            LocalDateTime start = from.equals(today) ? now : from.atStartOfDay();
+
+            List<Long> doctorIds = doctorId != null ? List.of(doctorId) : findDoctorIds(specialization);
+
+            List<TimeSlotDTO> slotDTOs;
+            if (doctorIds.isEmpty()) {
+                slotDTOs = List.of();
+            } else if (availabilityEngine.covers(from, to)) {
+                slotDTOs = availabilityEngine.findEarliestFree(doctorIds, start, to, fromTime, toTime, pageSize);
+            } else {
+                slotDTOs = timeSlotRepository.findEarliestByDoctorIdsInWindow(doctorIds, SlotStatus.AVAILABLE,
+                                from, start.toLocalTime(), to,
+                                fromTime == null ? LocalTime.MIN : fromTime,
+                                toTime == null ? LocalTime.MAX : toTime,
+                                PageRequest.of(0, pageSize))
+                        .stream()
+                        .map(this::mapToDTO)
+                        .collect(Collectors.toList());
+            }
+
+            response.setStatusCode(200);
+            response.setMessage(slotDTOs.size() + " available slots found");
+            response.setTimeSlotList(slotDTOs);
+
+        } catch (OurException e) {
+            response.setStatusCode(400);
+            response.setMessage(e.getMessage());
+        } catch (Exception e) {
+            response.setStatusCode(500);
+            response.setMessage("Error searching slots: " + e.getMessage());
+        }
+        return response;
+    }
+
     @Transactional
     public TimeSlot bookSlot(Long slotId) throws OurException {
         TimeSlot slot = timeSlotRepository.findByIdWithLock(slotId)
                 .orElseThrow(() -> new OurException("Time slot not found"));
 
         if (slot.getStatus() != SlotStatus.AVAILABLE) {
+            HealthmateMetrics.bookingConflict("time-slot");
             throw new OurException("Time slot is not available");
         }
 
         slot.setStatus(SlotStatus.BOOKED);
-        return timeSlotRepository.save(slot);
+        TimeSlot saved = timeSlotRepository.save(slot);
+        eventPublisher.publishEvent(TimeSlotChangedEvent.forSlot(
+                slot.getDoctor().getId(), slot.getSlotDate(), slot.getId(), SlotStatus.BOOKED));
+        return saved;
     }
 
     @Transactional
@@ -142,9 +267,19 @@ public class TimeSlotService {
             slot.setStatus(SlotStatus.AVAILABLE);
             slot.setAppointment(null);
             timeSlotRepository.save(slot);
+            eventPublisher.publishEvent(TimeSlotChangedEvent.forSlot(
+                    slot.getDoctor().getId(), slot.getSlotDate(), slot.getId(), SlotStatus.AVAILABLE));
         });
     }
 
+    // The directory index answers once it is built; until then the database does
+    private List<Long> findDoctorIds(String specialization) {
+        if (!directoryIndex.isReady()) {
+            return doctorRepository.findIdsBySpecialization(specialization.trim());
+        }
+        return directoryIndex.findBySpecialization(specialization).stream().map(DoctorDTO::getId).toList();
+    }
+
     private TimeSlotDTO mapToDTO(TimeSlot slot) {
         TimeSlotDTO dto = new TimeSlotDTO();
         dto.setId(slot.getId());
@@ -0,0 +1,49 @@
+package com.skywalker.backend.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells the doctor, patient and user searches whether they can run the ranked pg_trgm queries.
+ * <p>
+ * The V4 migration does not guarantee the extension: creating it needs privileges that managed databases do not
+ * always grant, so V4 skips it with a warning and Flyway never runs it again. The ranked queries fail without
+ * it, so the services need to know which case they run in. This checks pg_extension once at startup instead of
+ * on every search.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TrigramSearchSupport {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${search.trigram.enabled:true}")
+    private boolean enabled;
+
+    private volatile boolean available = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            log.info("Trigram search disabled, using LIKE search");
+            return;
+        }
+        try {
+            available = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm')", Boolean.class));
+        } catch (Exception e) {
+            log.warn("Could not check for pg_trgm: {}", e.getMessage());
+        }
+        log.info(available ? "Trigram search ready" : "pg_trgm unavailable, falling back to LIKE search");
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+}
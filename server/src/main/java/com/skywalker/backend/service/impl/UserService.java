@@ -2,6 +2,7 @@ package com.skywalker.backend.service.impl;
 
 import com.skywalker.backend.domain.USER_ROLE;
 import com.skywalker.backend.dto.*;
+import com.skywalker.backend.event.DoctorChangedEvent;
 import com.skywalker.backend.exception.OurException;
 import com.skywalker.backend.model.User;
 import com.skywalker.backend.repository.DoctorRepository;
@@ -11,6 +12,7 @@ import com.skywalker.backend.security.CustomUserDetails;
 import com.skywalker.backend.security.Utils;
 import com.skywalker.backend.service.repo.IUserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -27,6 +29,8 @@ public class UserService implements IUserService {
     private final UserRepository userRepository;
     private final DoctorRepository doctorRepository;
     private final PatientRepository patientRepository;
+    private final TrigramSearchSupport trigramSearch;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Response getAllUsers() {
@@ -51,7 +55,9 @@ public class UserService implements IUserService {
             org.springframework.data.domain.Page<User> userPage;
             
             if (search != null && !search.trim().isEmpty()) {
-                userPage = userRepository.searchUsers(search, pageable);
+                userPage = trigramSearch.isAvailable()
+                        ? userRepository.searchUsersRanked(Utils.normalizeSearchKeyword(search), pageable)
+                        : userRepository.searchUsers(search, pageable);
             } else {
                 userPage = userRepository.findAll(pageable);
             }
@@ -173,6 +179,7 @@ public class UserService implements IUserService {
             user.setPhoneNumber(updatedUser.getPhoneNumber());
             user.setDateOfBirth(updatedUser.getDateOfBirth());
             userRepository.save(user);
+            publishIfDoctor(user);
 
             response.setStatusCode(200);
             response.setMessage("User updated successfully");
@@ -226,6 +233,7 @@ public class UserService implements IUserService {
             user.setDateOfBirth(updatedUser.getDateOfBirth());
 
             userRepository.save(user);
+            publishIfDoctor(user);
             response.setStatusCode(400);
             response.setMessage("User Updated ");
             response.setUser(Utils.mapUserToDTO(user));
@@ -249,6 +257,7 @@ public class UserService implements IUserService {
 
             if (user.getRole() == USER_ROLE.ROLE_DOCTOR) {
                 doctorRepository.deleteByUserId(id);
+                eventPublisher.publishEvent(DoctorChangedEvent.deleted(id));
                 response.setMessage("Doctor record deleted");
             } else if (user.getRole() == USER_ROLE.ROLE_PATIENT) {
                 patientRepository.deleteByUserId(id);
@@ -268,4 +277,11 @@ public class UserService implements IUserService {
         }
         return response;
     }
+
+    // Doctor names live on the user row, keep the doctor directory in sync
+    private void publishIfDoctor(User user) {
+        if (user.getRole() == USER_ROLE.ROLE_DOCTOR) {
+            eventPublisher.publishEvent(DoctorChangedEvent.updated(user.getId()));
+        }
+    }
 }
@@ -0,0 +1,305 @@
+package com.skywalker.backend.service.impl;
+
+import com.skywalker.backend.domain.STATUS;
+import com.skywalker.backend.domain.SlotStatus;
+import com.skywalker.backend.domain.WaitlistStatus;
+import com.skywalker.backend.event.AppointmentChangedEvent;
+import com.skywalker.backend.event.TimeSlotChangedEvent;
+import com.skywalker.backend.model.WaitlistEntry;
+import com.skywalker.backend.observability.HealthmateMetrics;
+import com.skywalker.backend.repository.AppointmentRepository;
+import com.skywalker.backend.repository.TimeSlotRepository;
+import com.skywalker.backend.repository.WaitlistEntryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory waitlists: the waiting patients of each doctor-day, ordered by when they joined.
+ * <p>
+ * When an appointment is cancelled or deleted, or a slot is released, the freed time is offered to the head
+ * of that doctor-day's queue without querying for it. Each open offer has a timer; when it runs out, or the
+ * patient declines, the time moves on to the next patient in line. Nothing scans the waitlist table apart
+ * from the startup load and the periodic rebuild that picks up joins made on other nodes.
+ * <p>
+ * Entries change state through conditional updates, so a queue that is briefly stale is harmless: an entry
+ * already offered, booked or removed elsewhere fails its update and is skipped.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WaitlistEngine {
+
+    private static final Comparator<Waiter> JOIN_ORDER =
+            Comparator.comparing(Waiter::joinedAt).thenComparing(Waiter::entryId);
+
+    private final WaitlistEntryRepository waitlistRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final TimeSlotRepository timeSlotRepository;
+    private final NotificationService notificationService;
+    private final TaskScheduler taskScheduler;
+
+    @Value("${waitlist.offer-ttl-ms:900000}")
+    private long offerTtlMs;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Guarded by lock
+    private Map<QueueKey, TreeSet<Waiter>> queues = new HashMap<>();
+    // Joins made while a rebuild is loading, added to the new queues. Guarded by lock
+    private List<Waiter> journal;
+    // Open offers by entry id, each with its expiry timer
+    private final Map<Long, Offer> offers = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${waitlist.refresh-ms:60000}",
+               fixedDelayString = "${waitlist.refresh-ms:60000}")
+    public void refresh() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        lock.lock();
+        try {
+            journal = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            List<WaitlistEntry> entries = waitlistRepository.findActiveFrom(LocalDate.now());
+            Map<QueueKey, TreeSet<Waiter>> rebuilt = new HashMap<>();
+            int waiting = 0;
+            for (WaitlistEntry entry : entries) {
+                Waiter waiter = Waiter.of(entry);
+                if (entry.getStatus() == WaitlistStatus.WAITING) {
+                    add(rebuilt, waiter);
+                    waiting++;
+                } else {
+                    // Offers made before a restart or on another node expire here too; only one expiry wins
+                    track(waiter, entry.getOfferedDateTime(), entry.getOfferExpiresAt());
+                }
+            }
+
+            lock.lock();
+            try {
+                journal.forEach(waiter -> add(rebuilt, waiter));
+                queues = rebuilt;
+            } finally {
+                lock.unlock();
+            }
+            log.info("Waitlists built with {} waiting and {} offered entries", waiting, entries.size() - waiting);
+        } catch (Exception e) {
+            log.error("Failed to build waitlists: {}", e.getMessage());
+        } finally {
+            lock.lock();
+            try {
+                journal = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (event.releasesTime()) {
+            offerSafely(event.getDoctorId(), event.getAppointmentDateTime());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTimeSlotChanged(TimeSlotChangedEvent event) {
+        if (event.getSlotId() != null && event.getStatus() == SlotStatus.AVAILABLE) {
+            timeSlotRepository.findById(event.getSlotId()).ifPresent(slot ->
+                    offerSafely(event.getDoctorId(), slot.getSlotDate().atTime(slot.getStartTime())));
+        }
+    }
+
+    /**
+     * Queues a committed WAITING entry behind everyone who joined before it.
+     */
+    public void enqueue(WaitlistEntry entry) {
+        Waiter waiter = Waiter.of(entry);
+        lock.lock();
+        try {
+            add(queues, waiter);
+            if (journal != null) {
+                journal.add(waiter);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes a cancelled entry out of its queue. A cancelled offer is passed on to the next patient.
+     */
+    public void remove(WaitlistEntry entry) {
+        Waiter waiter = Waiter.of(entry);
+        lock.lock();
+        try {
+            TreeSet<Waiter> queue = queues.get(waiter.key());
+            if (queue != null) {
+                queue.remove(waiter);
+            }
+        } finally {
+            lock.unlock();
+        }
+        Offer offer = offers.remove(entry.getId());
+        if (offer != null) {
+            offer.timer().cancel(false);
+        }
+        if (entry.getStatus() == WaitlistStatus.OFFERED) {
+            passOn(entry.getDoctor().getId(), entry.getOfferedDateTime());
+        }
+    }
+
+    /**
+     * Stops the expiry timer of an offer that was taken up.
+     */
+    public void offerAccepted(Long entryId) {
+        Offer offer = offers.remove(entryId);
+        if (offer != null) {
+            offer.timer().cancel(false);
+        }
+    }
+
+    /**
+     * 1-based place in line of a waiting entry, or null when it is not queued on this node.
+     */
+    public Integer position(WaitlistEntry entry) {
+        Waiter waiter = Waiter.of(entry);
+        lock.lock();
+        try {
+            TreeSet<Waiter> queue = queues.get(waiter.key());
+            return queue == null || !queue.contains(waiter) ? null : queue.headSet(waiter).size() + 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Offers a freed appointment time to the first patient in line for that doctor and day who can still take it.
+     */
+    public void offer(Long doctorId, LocalDateTime time) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!time.isAfter(now) || isOffered(doctorId, time)) {
+            return;
+        }
+        // The offer never outlives the appointment time itself
+        LocalDateTime expiresAt = now.plus(offerTtlMs, ChronoUnit.MILLIS).truncatedTo(ChronoUnit.SECONDS);
+        if (expiresAt.isAfter(time)) {
+            expiresAt = time;
+        }
+
+        QueueKey key = new QueueKey(doctorId, time.toLocalDate());
+        Waiter next;
+        while ((next = poll(key)) != null) {
+            if (waitlistRepository.markOffered(next.entryId(), time, expiresAt, now) == 1) {
+                HealthmateMetrics.waitlist("offered");
+                track(next, time, expiresAt);
+                notificationService.sendNotification(next.patientId(),
+                        "An appointment on " + time + " opened up with the doctor you are waiting for. " +
+                        "Book it from your waitlist before " + expiresAt + ", after that it goes to the next patient.");
+                return;
+            }
+            // Offered, booked or cancelled on another node since this queue was loaded
+        }
+    }
+
+    void expire(Waiter waiter, LocalDateTime time) {
+        offers.remove(waiter.entryId());
+        if (waitlistRepository.markExpired(waiter.entryId(), LocalDateTime.now()) == 0) {
+            // Booked or cancelled in time, or expired by another node
+            return;
+        }
+        HealthmateMetrics.waitlist("expired");
+        notificationService.sendNotification(waiter.patientId(),
+                "Your waitlist offer for " + time + " has expired and was passed on to the next patient.");
+        passOn(waiter.doctorId(), time);
+    }
+
+    private void passOn(Long doctorId, LocalDateTime time) {
+        // The patient holding the offer may have booked the time directly in the meantime
+        if (!appointmentRepository.existsByDoctorIdAndAppointmentDateTimeAndStatusNot(doctorId, time, STATUS.CANCELED)) {
+            offerSafely(doctorId, time);
+        }
+    }
+
+    private void offerSafely(Long doctorId, LocalDateTime time) {
+        try {
+            offer(doctorId, time);
+        } catch (RuntimeException e) {
+            log.warn("Failed to offer {} with doctor {} from the waitlist: {}", time, doctorId, e.getMessage());
+        }
+    }
+
+    private boolean isOffered(Long doctorId, LocalDateTime time) {
+        return offers.values().stream()
+                .anyMatch(offer -> offer.waiter().doctorId().equals(doctorId) && offer.time().equals(time));
+    }
+
+    private void track(Waiter waiter, LocalDateTime time, LocalDateTime expiresAt) {
+        offers.computeIfAbsent(waiter.entryId(), id -> new Offer(waiter, time, taskScheduler.schedule(
+                () -> expire(waiter, time), expiresAt.atZone(ZoneId.systemDefault()).toInstant())));
+    }
+
+    private Waiter poll(QueueKey key) {
+        lock.lock();
+        try {
+            TreeSet<Waiter> queue = queues.get(key);
+            if (queue == null) {
+                return null;
+            }
+            Waiter head = queue.pollFirst();
+            if (queue.isEmpty()) {
+                queues.remove(key);
+            }
+            return head;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void add(Map<QueueKey, TreeSet<Waiter>> target, Waiter waiter) {
+        target.computeIfAbsent(waiter.key(), key -> new TreeSet<>(JOIN_ORDER)).add(waiter);
+    }
+
+    private record QueueKey(Long doctorId, LocalDate date) {
+    }
+
+    record Waiter(Long entryId, Long patientId, Long doctorId, LocalDate date, LocalDateTime joinedAt) {
+
+        static Waiter of(WaitlistEntry entry) {
+            // Reading the ids of the lazy associations does not load them. The join time is cut to what the
+            // column stores, so an entry read back from the database matches the one queued after saving it
+            return new Waiter(entry.getId(), entry.getPatient().getId(), entry.getDoctor().getId(),
+                    entry.getDesiredDate(), entry.getCreatedAt().truncatedTo(ChronoUnit.MILLIS));
+        }
+
+        QueueKey key() {
+            return new QueueKey(doctorId, date);
+        }
+    }
+
+    private record Offer(Waiter waiter, LocalDateTime time, ScheduledFuture<?> timer) {
+    }
+}
@@ -0,0 +1,227 @@
+package com.skywalker.backend.service.impl;
+
+import com.skywalker.backend.domain.WaitlistStatus;
+import com.skywalker.backend.dto.Response;
+import com.skywalker.backend.dto.WaitlistEntryDTO;
+import com.skywalker.backend.exception.OurException;
+import com.skywalker.backend.model.Appointment;
+import com.skywalker.backend.model.Doctor;
+import com.skywalker.backend.model.Patient;
+import com.skywalker.backend.model.WaitlistEntry;
+import com.skywalker.backend.observability.HealthmateMetrics;
+import com.skywalker.backend.repository.DoctorRepository;
+import com.skywalker.backend.repository.PatientRepository;
+import com.skywalker.backend.repository.WaitlistEntryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Joining, leaving and taking up offers from a doctor's waitlist for a day. Offers themselves are made by
+ * {@link WaitlistEngine} when a time frees up.
+ */
+@Service
+@RequiredArgsConstructor
+public class WaitlistService {
+
+    private static final String ALREADY_WAITING = "Already on the waitlist for this doctor and date";
+
+    private final WaitlistEntryRepository waitlistRepository;
+    private final DoctorRepository doctorRepository;
+    private final PatientRepository patientRepository;
+    private final AppointmentService appointmentService;
+    private final AuditLogService auditLogService;
+    private final WaitlistEngine waitlistEngine;
+
+    public Response joinWaitlist(Long patientId, Long doctorId, LocalDate date) {
+        Response response = new Response();
+        try {
+            if (date == null || date.isBefore(LocalDate.now())) {
+                throw new OurException("Date must be today or later");
+            }
+            Doctor doctor = doctorRepository.findById(doctorId).orElse(null);
+            Patient patient = patientRepository.findById(patientId).orElse(null);
+            if (doctor == null || patient == null) {
+                response.setStatusCode(404);
+                response.setMessage(doctor == null ? "Doctor not found" : "Patient not found");
+                return response;
+            }
+            if (waitlistRepository.existsActive(patientId, doctorId, date)) {
+                throw new OurException(ALREADY_WAITING);
+            }
+
+            WaitlistEntry entry = new WaitlistEntry();
+            entry.setPatient(patient);
+            entry.setDoctor(doctor);
+            entry.setDesiredDate(date);
+            WaitlistEntry saved;
+            try {
+                saved = waitlistRepository.save(entry);
+            } catch (DataIntegrityViolationException e) {
+                // Lost a race with a concurrent join (uk_waitlist_entries_active)
+                throw new OurException(ALREADY_WAITING);
+            }
+            // Queued only once committed, so an offer can never reach an entry that was rolled back
+            waitlistEngine.enqueue(saved);
+            HealthmateMetrics.waitlist("joined");
+
+            auditLogService.logAction(
+                    patientId,
+                    "WAITLIST_JOINED",
+                    "Joined the waitlist of doctor ID: " + doctorId + " for " + date
+            );
+
+            response.setStatusCode(200);
+            response.setMessage("Added to the waitlist");
+            response.setWaitlistEntry(mapToDTO(saved, doctor, patient));
+
+        } catch (OurException e) {
+            response.setStatusCode(400);
+            response.setMessage(e.getMessage());
+        } catch (Exception e) {
+            response.setStatusCode(500);
+            response.setMessage("Error joining waitlist: " + e.getMessage());
+        }
+        return response;
+    }
+
+    @Transactional(readOnly = true)
+    public Response getPatientWaitlist(Long patientId) {
+        Response response = new Response();
+        try {
+            List<WaitlistEntryDTO> entries = waitlistRepository.findActiveByPatientId(patientId, LocalDate.now()).stream()
+                    .map(entry -> mapToDTO(entry, entry.getDoctor(), null))
+                    .toList();
+
+            response.setStatusCode(200);
+            response.setMessage("Waitlist fetched successfully");
+            response.setWaitlistEntryList(entries);
+
+        } catch (Exception e) {
+            response.setStatusCode(500);
+            response.setMessage("Error fetching waitlist: " + e.getMessage());
+        }
+        return response;
+    }
+
+    @Transactional(readOnly = true)
+    public Response getDoctorWaitlist(Long doctorId, LocalDate date) {
+        Response response = new Response();
+        try {
+            List<WaitlistEntryDTO> entries = waitlistRepository.findActiveByDoctorIdAndDate(doctorId, date).stream()
+                    .map(entry -> mapToDTO(entry, null, entry.getPatient()))
+                    .toList();
+
+            response.setStatusCode(200);
+            response.setMessage("Waitlist fetched successfully");
+            response.setWaitlistEntryList(entries);
+
+        } catch (Exception e) {
+            response.setStatusCode(500);
+            response.setMessage("Error fetching waitlist: " + e.getMessage());
+        }
+        return response;
+    }
+
+    /**
+     * Books the offered time for the patient. If someone booked it directly in the meantime the entry goes
+     * back into line at its original position.
+     */
+    public Response acceptOffer(Long entryId) {
+        Response response = new Response();
+        try {
+            WaitlistEntry entry = waitlistRepository.findById(entryId).orElse(null);
+            if (entry == null) {
+                response.setStatusCode(404);
+                response.setMessage("Waitlist entry not found");
+                return response;
+            }
+            // Claimed before booking so the expiry timer cannot pass the time on while it is being booked
+            LocalDateTime now = LocalDateTime.now();
+            if (entry.getStatus() != WaitlistStatus.OFFERED || waitlistRepository.markBooked(entryId, now) == 0) {
+                throw new OurException("No open offer for this waitlist entry");
+            }
+            waitlistEngine.offerAccepted(entryId);
+
+            Appointment appointment = new Appointment();
+            appointment.setAppointmentDateTime(entry.getOfferedDateTime());
+            appointment.setNotes("Booked from the waitlist");
+            Response booking = appointmentService.createAppointment(
+                    entry.getPatient().getId(), entry.getDoctor().getId(), appointment);
+            if (booking.getStatusCode() != 200) {
+                waitlistRepository.markWaiting(entryId, LocalDateTime.now());
+                entry.setStatus(WaitlistStatus.WAITING);
+                waitlistEngine.enqueue(entry);
+                return booking;
+            }
+            HealthmateMetrics.waitlist("booked");
+            booking.setMessage("Appointment booked from the waitlist");
+            return booking;
+
+        } catch (OurException e) {
+            response.setStatusCode(400);
+            response.setMessage(e.getMessage());
+        } catch (Exception e) {
+            response.setStatusCode(500);
+            response.setMessage("Error accepting waitlist offer: " + e.getMessage());
+        }
+        return response;
+    }
+
+    /**
+     * Leaves the waitlist. Declining an open offer this way passes it on to the next patient right away.
+     */
+    public Response leaveWaitlist(Long entryId) {
+        Response response = new Response();
+        try {
+            WaitlistEntry entry = waitlistRepository.findById(entryId).orElse(null);
+            if (entry == null) {
+                response.setStatusCode(404);
+                response.setMessage("Waitlist entry not found");
+                return response;
+            }
+            if (waitlistRepository.markCanceled(entryId, LocalDateTime.now()) == 0) {
+                throw new OurException("Waitlist entry is no longer active");
+            }
+            waitlistEngine.remove(entry);
+
+            response.setStatusCode(200);
+            response.setMessage("Removed from the waitlist");
+
+        } catch (OurException e) {
+            response.setStatusCode(400);
+            response.setMessage(e.getMessage());
+        } catch (Exception e) {
+            response.setStatusCode(500);
+            response.setMessage("Error leaving waitlist: " + e.getMessage());
+        }
+        return response;
+    }
+
+    private WaitlistEntryDTO mapToDTO(WaitlistEntry entry, Doctor doctor, Patient patient) {
+        WaitlistEntryDTO dto = new WaitlistEntryDTO();
+        dto.setId(entry.getId());
+        dto.setPatientId(entry.getPatient().getId());
+        dto.setDoctorId(entry.getDoctor().getId());
+        if (patient != null) {
+            dto.setPatientName(patient.getUser().getName());
+        }
+        if (doctor != null) {
+            dto.setDoctorName(doctor.getUser().getName());
+        }
+        dto.setDesiredDate(entry.getDesiredDate());
+        dto.setStatus(entry.getStatus());
+        if (entry.getStatus() == WaitlistStatus.WAITING) {
+            dto.setPosition(waitlistEngine.position(entry));
+        }
+        dto.setOfferedDateTime(entry.getOfferedDateTime());
+        dto.setOfferExpiresAt(entry.getOfferExpiresAt());
+        dto.setCreatedAt(entry.getCreatedAt());
+        return dto;
+    }
+}
@@ -0,0 +1,138 @@
+-- =========================================
+-- HealthMate - Baseline Schema
+-- =========================================
+-- The schema as hibernate.ddl-auto=update left it before migrations took over.
+-- Databases created that way are baselined at this version and start from V2.
+-- Unique and foreign key constraint names are the ones Hibernate generated, so
+-- later migrations can reference them on fresh and existing databases alike.
+
+-- =========================================
+-- USERS
+-- =========================================
+CREATE TABLE users (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name          VARCHAR(255) NOT NULL,
+    email         VARCHAR(255) NOT NULL,
+    password      VARCHAR(255) NOT NULL,
+    phone_number  VARCHAR(255) NOT NULL,
+    role          VARCHAR(255) NOT NULL CHECK (role IN ('ROLE_ADMIN', 'ROLE_PATIENT', 'ROLE_DOCTOR')),
+    gender        VARCHAR(255) NOT NULL CHECK (gender IN ('MALE', 'FEMALE', 'OTHER')),
+    date_of_birth DATE         NOT NULL,
+    address       VARCHAR(255) NOT NULL,
+    created_date  TIMESTAMP(6),
+    updated_date  TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email),
+    CONSTRAINT uk9q63snka3mdh91as4io72espi UNIQUE (phone_number)
+);
+
+-- =========================================
+-- DOCTORS AND PATIENTS
+-- =========================================
+CREATE TABLE doctors (
+    user_id         BIGINT       NOT NULL,
+    specialization  VARCHAR(255) NOT NULL,
+    experience      INTEGER      NOT NULL,
+    available_hours VARCHAR(255) NOT NULL,
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6),
+    PRIMARY KEY (user_id),
+    CONSTRAINT fke9pf5qtxxkdyrwibaevo9frtk FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE patients (
+    user_id    BIGINT NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    PRIMARY KEY (user_id),
+    CONSTRAINT fkuwca24wcd1tg6pjex8lmc0y7 FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE doctor_schedules (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    doctor_id   BIGINT       NOT NULL,
+    day_of_week VARCHAR(255) NOT NULL CHECK (day_of_week IN ('MONDAY', 'TUESDAY', 'WEDNESDAY', 'THURSDAY',
+                                                              'FRIDAY', 'SATURDAY', 'SUNDAY')),
+    start_time  TIME(6)      NOT NULL,
+    end_time    TIME(6)      NOT NULL,
+    is_active   BOOLEAN      NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fkqptts4sun4tpv6elafrnrfeup FOREIGN KEY (doctor_id) REFERENCES doctors (user_id)
+);
+
+-- =========================================
+-- TIME SLOTS AND APPOINTMENTS
+-- =========================================
+CREATE TABLE time_slots (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    doctor_id  BIGINT       NOT NULL,
+    slot_date  DATE         NOT NULL,
+    start_time TIME(6)      NOT NULL,
+    end_time   TIME(6)      NOT NULL,
+    status     VARCHAR(255) NOT NULL CHECK (status IN ('AVAILABLE', 'BOOKED', 'BLOCKED')),
+    version    BIGINT,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk9qnt7bsmp0vdy8om6n9uwgo9m UNIQUE (doctor_id, slot_date, start_time),
+    CONSTRAINT fkbiuoj962mxxbggbgbhxkg120h FOREIGN KEY (doctor_id) REFERENCES doctors (user_id)
+);
+
+CREATE TABLE appointments (
+    id                    BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    appointment_code      VARCHAR(255) NOT NULL,
+    appointment_date_time TIMESTAMP(6) NOT NULL,
+    status                VARCHAR(255) CHECK (status IN ('SCHEDULED', 'COMPLETED', 'CANCELED', 'CONFIRMED')),
+    notes                 VARCHAR(255),
+    doctor_id             BIGINT       NOT NULL,
+    patient_id            BIGINT       NOT NULL,
+    time_slot_id          BIGINT,
+    created_at            TIMESTAMP(6),
+    updated_at            TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk88w59a3uq8pvoxypr2ejldy0h UNIQUE (appointment_code),
+    CONSTRAINT ukf7jaoiai8s59821di42yhpsuw UNIQUE (time_slot_id),
+    CONSTRAINT fkmujeo4tymoo98cmf7uj3vsv76 FOREIGN KEY (doctor_id) REFERENCES doctors (user_id),
+    CONSTRAINT fk8exap5wmg8kmb1g1rx3by21yt FOREIGN KEY (patient_id) REFERENCES patients (user_id),
+    CONSTRAINT fklt1cehvx9m01l4s0ibvx60xv1 FOREIGN KEY (time_slot_id) REFERENCES time_slots (id)
+);
+
+-- =========================================
+-- NOTIFICATIONS, AUDIT AND OTP
+-- =========================================
+CREATE TABLE notifications (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id   BIGINT        NOT NULL,
+    message   VARCHAR(1000) NOT NULL,
+    is_read   BOOLEAN       NOT NULL,
+    timestamp TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk9y21adhxn0ayjhfocscqox7bh FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE audit_logs (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id   BIGINT,
+    action    VARCHAR(500) NOT NULL,
+    details   VARCHAR(2000),
+    timestamp TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fkjs4iimve3y0xssbtve5ysyef0 FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE otp_tokens (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    email      VARCHAR(255) NOT NULL,
+    otp_code   VARCHAR(6)   NOT NULL,
+    purpose    VARCHAR(50)  NOT NULL CHECK (purpose IN ('PASSWORD_CHANGE', 'PASSWORD_RESET')),
+    is_used    BOOLEAN      NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    used_at    TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_email_purpose ON otp_tokens (email, purpose);
+CREATE INDEX idx_expires_at ON otp_tokens (expires_at);
@@ -0,0 +1,31 @@
+-- =========================================
+-- Pooled sequences for the high-volume tables
+-- =========================================
+-- Hibernate reserves 50 ids per nextval (pooled-lo), which lets it batch inserts.
+-- INCREMENT BY must match allocationSize in the entities' @SequenceGenerator.
+-- Existing ids are kept: each sequence is moved past max(id) and never backwards.
+-- The column default keeps plain SQL inserts (data.sql, scripts) working.
+
+CREATE SEQUENCE IF NOT EXISTS time_slots_seq INCREMENT BY 50;
+ALTER TABLE time_slots ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE time_slots ALTER COLUMN id SET DEFAULT nextval('time_slots_seq');
+SELECT setval('time_slots_seq', GREATEST((SELECT COALESCE(max(id), 0) FROM time_slots) + 50,
+                                         (SELECT last_value FROM time_slots_seq)));
+
+CREATE SEQUENCE IF NOT EXISTS doctor_schedules_seq INCREMENT BY 50;
+ALTER TABLE doctor_schedules ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE doctor_schedules ALTER COLUMN id SET DEFAULT nextval('doctor_schedules_seq');
+SELECT setval('doctor_schedules_seq', GREATEST((SELECT COALESCE(max(id), 0) FROM doctor_schedules) + 50,
+                                               (SELECT last_value FROM doctor_schedules_seq)));
+
+CREATE SEQUENCE IF NOT EXISTS notifications_seq INCREMENT BY 50;
+ALTER TABLE notifications ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE notifications ALTER COLUMN id SET DEFAULT nextval('notifications_seq');
+SELECT setval('notifications_seq', GREATEST((SELECT COALESCE(max(id), 0) FROM notifications) + 50,
+                                            (SELECT last_value FROM notifications_seq)));
+
+CREATE SEQUENCE IF NOT EXISTS audit_logs_seq INCREMENT BY 50;
+ALTER TABLE audit_logs ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE audit_logs ALTER COLUMN id SET DEFAULT nextval('audit_logs_seq');
+SELECT setval('audit_logs_seq', GREATEST((SELECT COALESCE(max(id), 0) FROM audit_logs) + 50,
+                                         (SELECT last_value FROM audit_logs_seq)));
@@ -0,0 +1,43 @@
+-- =========================================
+-- Hot-path indexes
+-- =========================================
+-- CONCURRENTLY keeps the tables writable while the indexes build, so Flyway runs
+-- this script outside a transaction. If a build fails, drop the INVALID index
+-- it leaves behind and repair the migration before retrying.
+
+-- Doctor and patient appointment lists, day views and the double-booking check
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_doctor_date
+    ON appointments (doctor_id, appointment_date_time);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_patient_date
+    ON appointments (patient_id, appointment_date_time);
+
+-- Status filters with a date range (admin lists, scheduled jobs)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_status_date
+    ON appointments (status, appointment_date_time);
+
+-- Upcoming bookings only: completed and canceled history, most of the table, stays out
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_doctor_active
+    ON appointments (doctor_id, appointment_date_time)
+    WHERE status IN ('SCHEDULED', 'CONFIRMED');
+
+-- Unread list, unread count and mark-all-read
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_user_read_timestamp
+    ON notifications (user_id, is_read, timestamp);
+
+-- Notification feed, paged newest first by (timestamp, id) keyset
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_user_timestamp
+    ON notifications (user_id, timestamp DESC, id DESC);
+
+-- Per-user audit trail, newest first
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_audit_logs_user_timestamp
+    ON audit_logs (user_id, timestamp);
+
+-- Free slot lookups; booked and blocked slots are skipped
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_time_slots_available
+    ON time_slots (doctor_id, slot_date, start_time)
+    WHERE status = 'AVAILABLE';
+
+-- Unused OTPs are the only ones ever looked up
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_otp_tokens_active
+    ON otp_tokens (email, purpose)
+    WHERE is_used = false;
@@ -0,0 +1,24 @@
+-- =========================================
+-- Trigram search
+-- =========================================
+-- pg_trgm and the GIN expression indexes behind the ranked doctor/patient/user search.
+-- Creating the extension needs privileges that managed databases do not always grant;
+-- without it the migration still succeeds and search falls back to LIKE queries.
+
+DO $$
+BEGIN
+    CREATE EXTENSION IF NOT EXISTS pg_trgm;
+EXCEPTION WHEN OTHERS THEN
+    RAISE WARNING 'pg_trgm unavailable, search falls back to LIKE: %', SQLERRM;
+END
+$$;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm') THEN
+        CREATE INDEX IF NOT EXISTS idx_users_name_trgm ON users USING gin (lower(name) gin_trgm_ops);
+        CREATE INDEX IF NOT EXISTS idx_users_email_trgm ON users USING gin (lower(email) gin_trgm_ops);
+        CREATE INDEX IF NOT EXISTS idx_doctors_specialization_trgm ON doctors USING gin (lower(specialization) gin_trgm_ops);
+    END IF;
+END
+$$;
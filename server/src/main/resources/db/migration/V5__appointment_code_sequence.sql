@@ -0,0 +1,8 @@
+-- =========================================
+-- Appointment codes
+-- =========================================
+-- AppointmentCodeService reserves 50 codes per nextval; INCREMENT BY must match its BLOCK_SIZE.
+-- Each code encodes a distinct sequence value, so codes are unique without a lookup per code.
+-- Codes issued before this migration (random hex, seed data) keep their own formats.
+
+CREATE SEQUENCE IF NOT EXISTS appointment_code_seq INCREMENT BY 50;
@@ -0,0 +1,33 @@
+-- =========================================
+-- Waitlist
+-- =========================================
+-- Patients waiting for a time with a doctor on a given day. WaitlistEngine keeps the
+-- active entries in memory and moves them WAITING -> OFFERED -> BOOKED/EXPIRED with
+-- conditional updates. Entries go with their patient or doctor.
+
+CREATE SEQUENCE IF NOT EXISTS waitlist_entries_seq INCREMENT BY 50;
+
+CREATE TABLE waitlist_entries (
+    id                BIGINT       NOT NULL DEFAULT nextval('waitlist_entries_seq'),
+    patient_id        BIGINT       NOT NULL,
+    doctor_id         BIGINT       NOT NULL,
+    desired_date      DATE         NOT NULL,
+    status            VARCHAR(255) NOT NULL CHECK (status IN ('WAITING', 'OFFERED', 'BOOKED', 'EXPIRED', 'CANCELED')),
+    offered_date_time TIMESTAMP(6),
+    offer_expires_at  TIMESTAMP(6),
+    created_at        TIMESTAMP(6),
+    updated_at        TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_waitlist_entries_patient FOREIGN KEY (patient_id) REFERENCES patients (user_id) ON DELETE CASCADE,
+    CONSTRAINT fk_waitlist_entries_doctor FOREIGN KEY (doctor_id) REFERENCES doctors (user_id) ON DELETE CASCADE
+);
+
+-- One active entry per patient, doctor and day
+CREATE UNIQUE INDEX uk_waitlist_entries_active
+    ON waitlist_entries (patient_id, doctor_id, desired_date)
+    WHERE status IN ('WAITING', 'OFFERED');
+
+-- Engine load and doctor-day lists; finished entries, most of the table, stay out
+CREATE INDEX idx_waitlist_entries_active_date
+    ON waitlist_entries (desired_date, doctor_id)
+    WHERE status IN ('WAITING', 'OFFERED');
@@ -0,0 +1,14 @@
+-- =========================================
+-- NO_SHOW appointment status
+-- =========================================
+-- Past appointments that were never confirmed are closed as NO_SHOW by AppointmentAutoCloseJob.
+-- The baseline CHECK was declared inline, so Postgres named it appointments_status_check; databases created
+-- by ddl-auto=update got the same name. NOT VALID adds it without a long lock, VALIDATE then scans the table
+-- under a lock that still allows writes.
+
+ALTER TABLE appointments DROP CONSTRAINT IF EXISTS appointments_status_check;
+
+ALTER TABLE appointments ADD CONSTRAINT appointments_status_check
+    CHECK (status IN ('SCHEDULED', 'COMPLETED', 'CANCELED', 'CONFIRMED', 'NO_SHOW')) NOT VALID;
+
+ALTER TABLE appointments VALIDATE CONSTRAINT appointments_status_check;
@@ -0,0 +1,209 @@
+-- =========================================
+-- Monthly partitions for appointments
+-- =========================================
+-- appointments becomes a table range-partitioned by month of appointment_date_time, so queries bounded by
+-- date only read the months they cover. The rows are copied within this migration's transaction, which
+-- keeps appointments locked until it commits: on a large database, run it in a maintenance window.
+--
+-- Unique constraints on a partitioned table must include the partition key:
+--  * The primary key becomes (id, appointment_date_time). Ids still come from one sequence.
+--  * time_slot_id is unique together with appointment_date_time. A slot's appointment starts at the slot's
+--    start, so this still means one appointment per slot.
+--  * Appointment codes stay unique across all partitions, archived ones included, through appointment_codes,
+--    which a trigger keeps in step.
+-- Rows outside every monthly partition go to appointments_default. AppointmentPartitionMaintenance calls
+-- appointments_ensure_partitions() daily: it creates the coming months and moves parked rows to their month.
+
+ALTER TABLE appointments RENAME TO appointments_unpartitioned;
+
+CREATE TABLE appointments (
+    id                    BIGINT       NOT NULL,
+    appointment_code      VARCHAR(255) NOT NULL,
+    appointment_date_time TIMESTAMP(6) NOT NULL,
+    status                VARCHAR(255) CHECK (status IN ('SCHEDULED', 'COMPLETED', 'CANCELED', 'CONFIRMED', 'NO_SHOW')),
+    notes                 VARCHAR(255),
+    doctor_id             BIGINT       NOT NULL,
+    patient_id            BIGINT       NOT NULL,
+    time_slot_id          BIGINT,
+    created_at            TIMESTAMP(6),
+    updated_at            TIMESTAMP(6)
+) PARTITION BY RANGE (appointment_date_time);
+
+CREATE TABLE appointments_default PARTITION OF appointments DEFAULT;
+
+-- Creates the partition for the month starting at month_start unless it exists. Rows of that month parked
+-- in appointments_default move into it. Returns whether it created the partition.
+CREATE FUNCTION appointments_create_partition(month_start DATE) RETURNS BOOLEAN
+LANGUAGE plpgsql AS $$
+DECLARE
+    partition_name TEXT := format('appointments_y%sm%s', to_char(month_start, 'YYYY'), to_char(month_start, 'MM'));
+    month_end      DATE := (month_start + INTERVAL '1 month')::DATE;
+    parked         BOOLEAN;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+    -- A new partition cannot be attached while the default partition holds rows in its range
+    SELECT EXISTS (SELECT 1 FROM appointments_default
+                   WHERE appointment_date_time >= month_start AND appointment_date_time < month_end)
+    INTO parked;
+    IF parked THEN
+        CREATE TEMP TABLE appointments_parked (LIKE appointments) ON COMMIT DROP;
+        WITH moved AS (DELETE FROM appointments_default
+                       WHERE appointment_date_time >= month_start AND appointment_date_time < month_end
+                       RETURNING *)
+        INSERT INTO appointments_parked SELECT * FROM moved;
+    END IF;
+    EXECUTE format('CREATE TABLE %I PARTITION OF appointments FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, month_start, month_end);
+    IF parked THEN
+        INSERT INTO appointments SELECT * FROM appointments_parked;
+        DROP TABLE appointments_parked;
+    END IF;
+    RETURN TRUE;
+END
+$$;
+
+-- Creates the partitions of the current month, the next months_ahead months and any month with rows parked
+-- in appointments_default. Returns how many it created.
+CREATE FUNCTION appointments_ensure_partitions(months_ahead INT) RETURNS INT
+LANGUAGE plpgsql AS $$
+DECLARE
+    month_start DATE;
+    created     INT := 0;
+BEGIN
+    -- Instances run this side by side
+    PERFORM pg_advisory_xact_lock(hashtext('appointments_partitions'));
+    FOR month_start IN
+        SELECT DISTINCT date_trunc('month', appointment_date_time)::DATE FROM appointments_default
+        UNION
+        SELECT generate_series(date_trunc('month', localtimestamp),
+                               date_trunc('month', localtimestamp) + make_interval(months => months_ahead),
+                               INTERVAL '1 month')::DATE
+        ORDER BY 1
+    LOOP
+        IF appointments_create_partition(month_start) THEN
+            created := created + 1;
+        END IF;
+    END LOOP;
+    RETURN created;
+END
+$$;
+
+-- =========================================
+-- Archive
+-- =========================================
+-- Archived months are detached from appointments, so the application no longer sees them, and kept as
+-- read-only tables in the archive schema. Their foreign keys are dropped: an archived row does not stop
+-- its doctor, patient or slot from being deleted.
+
+CREATE SCHEMA IF NOT EXISTS archive;
+
+CREATE FUNCTION archive.reject_writes() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    RAISE EXCEPTION '%.% is archived and read-only', TG_TABLE_SCHEMA, TG_TABLE_NAME;
+END
+$$;
+
+-- Archives the monthly partitions that end on or before cutoff. Returns how many it archived.
+CREATE FUNCTION appointments_archive_partitions(cutoff DATE) RETURNS INT
+LANGUAGE plpgsql AS $$
+DECLARE
+    partition_name TEXT;
+    fk             TEXT;
+    archived       INT := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('appointments_partitions'));
+    FOR partition_name IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'appointments'::regclass
+          AND c.relname ~ '^appointments_y[0-9]{4}m[0-9]{2}$'
+          AND to_date(substr(c.relname, 15, 4) || substr(c.relname, 20, 2), 'YYYYMM') + INTERVAL '1 month' <= cutoff
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('ALTER TABLE appointments DETACH PARTITION %I', partition_name);
+        FOR fk IN SELECT conname FROM pg_constraint
+                  WHERE conrelid = partition_name::regclass AND contype = 'f'
+        LOOP
+            EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', partition_name, fk);
+        END LOOP;
+        EXECUTE format('ALTER TABLE %I SET SCHEMA archive', partition_name);
+        EXECUTE format('CREATE TRIGGER reject_writes BEFORE INSERT OR UPDATE OR DELETE OR TRUNCATE ON archive.%I '
+                       'FOR EACH STATEMENT EXECUTE FUNCTION archive.reject_writes()', partition_name);
+        archived := archived + 1;
+    END LOOP;
+    RETURN archived;
+END
+$$;
+
+-- =========================================
+-- Appointment codes
+-- =========================================
+
+CREATE TABLE appointment_codes (
+    code VARCHAR(255) NOT NULL,
+    PRIMARY KEY (code)
+);
+
+CREATE FUNCTION appointment_codes_sync() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP IN ('DELETE', 'UPDATE') THEN
+        DELETE FROM appointment_codes WHERE code = OLD.appointment_code;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        INSERT INTO appointment_codes (code) VALUES (NEW.appointment_code);
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+-- An update that moves a row to another month runs as a delete and an insert, which keeps its code
+CREATE TRIGGER appointment_codes_sync AFTER INSERT OR DELETE ON appointments
+    FOR EACH ROW EXECUTE FUNCTION appointment_codes_sync();
+
+CREATE TRIGGER appointment_codes_change AFTER UPDATE OF appointment_code ON appointments
+    FOR EACH ROW WHEN (OLD.appointment_code IS DISTINCT FROM NEW.appointment_code)
+    EXECUTE FUNCTION appointment_codes_sync();
+
+-- =========================================
+-- Copy
+-- =========================================
+
+-- Every month with appointments, up to a year ahead
+SELECT appointments_create_partition(month_start::DATE)
+FROM generate_series(
+        LEAST(date_trunc('month', (SELECT min(appointment_date_time) FROM appointments_unpartitioned)),
+              date_trunc('month', localtimestamp)),
+        date_trunc('month', localtimestamp) + INTERVAL '12 months',
+        INTERVAL '1 month') AS month_start;
+
+INSERT INTO appointments (id, appointment_code, appointment_date_time, status, notes, doctor_id, patient_id,
+                          time_slot_id, created_at, updated_at)
+SELECT id, appointment_code, appointment_date_time, status, notes, doctor_id, patient_id,
+       time_slot_id, created_at, updated_at
+FROM appointments_unpartitioned;
+
+DROP TABLE appointments_unpartitioned;
+
+CREATE SEQUENCE appointments_id_seq OWNED BY appointments.id;
+ALTER TABLE appointments ALTER COLUMN id SET DEFAULT nextval('appointments_id_seq');
+SELECT setval('appointments_id_seq', (SELECT COALESCE(max(id), 0) + 1 FROM appointments), FALSE);
+
+ALTER TABLE appointments ADD CONSTRAINT appointments_pkey PRIMARY KEY (id, appointment_date_time);
+ALTER TABLE appointments ADD CONSTRAINT uk_appointments_time_slot UNIQUE (time_slot_id, appointment_date_time);
+ALTER TABLE appointments ADD CONSTRAINT fk_appointments_doctor FOREIGN KEY (doctor_id) REFERENCES doctors (user_id);
+ALTER TABLE appointments ADD CONSTRAINT fk_appointments_patient FOREIGN KEY (patient_id) REFERENCES patients (user_id);
+ALTER TABLE appointments ADD CONSTRAINT fk_appointments_time_slot FOREIGN KEY (time_slot_id) REFERENCES time_slots (id);
+
+-- The V3 indexes, now one per partition
+CREATE INDEX idx_appointments_doctor_date ON appointments (doctor_id, appointment_date_time);
+CREATE INDEX idx_appointments_patient_date ON appointments (patient_id, appointment_date_time);
+CREATE INDEX idx_appointments_status_date ON appointments (status, appointment_date_time);
+CREATE INDEX idx_appointments_doctor_active ON appointments (doctor_id, appointment_date_time)
+    WHERE status IN ('SCHEDULED', 'CONFIRMED');
+-- Lookups by code, which no longer come with a unique index
+CREATE INDEX idx_appointments_code ON appointments (appointment_code);
@@ -0,0 +1,58 @@
+-- =========================================
+-- One active appointment per doctor and time
+-- =========================================
+-- The availability check and the insert of a booking are separate statements, so two concurrent bookings of
+-- the same doctor and time could both pass the check. With this index the second insert fails instead, and
+-- AppointmentService reports the time as no longer available. The index includes appointment_date_time, the
+-- partition key, so it can be unique on the partitioned table. It replaces the non-unique
+-- idx_appointments_doctor_active, which had the same columns and predicate.
+--
+-- Double bookings already stored would stop the index from building: of each doctor and time, every active
+-- appointment but the first booked is canceled. Each one gets an APPOINTMENT_AUTO_CANCELED audit entry and a
+-- notification to its patient and doctor, so staff can find the patients to rebook:
+--   SELECT * FROM audit_logs WHERE action = 'APPOINTMENT_AUTO_CANCELED';
+
+CREATE TEMP TABLE appointments_double_booked ON COMMIT DROP AS
+SELECT booked.id, booked.appointment_code, booked.appointment_date_time, booked.doctor_id, booked.patient_id,
+       booked.status, doctor.name AS doctor_name, patient.name AS patient_name
+FROM (SELECT id, appointment_code, appointment_date_time, doctor_id, patient_id, status,
+             row_number() OVER (PARTITION BY doctor_id, appointment_date_time
+                                ORDER BY created_at NULLS LAST, id) AS rank
+      FROM appointments
+      WHERE status IN ('SCHEDULED', 'CONFIRMED')) booked
+JOIN users doctor ON doctor.id = booked.doctor_id
+JOIN users patient ON patient.id = booked.patient_id
+WHERE booked.rank > 1;
+
+UPDATE appointments a
+SET status = 'CANCELED', updated_at = localtimestamp
+FROM appointments_double_booked d
+WHERE a.id = d.id
+  AND a.appointment_date_time = d.appointment_date_time;
+
+-- No user: the migration acted, not a person
+INSERT INTO audit_logs (user_id, action, details, timestamp)
+SELECT NULL, 'APPOINTMENT_AUTO_CANCELED',
+       format('Appointment ID: %s (%s) of patient ID: %s with doctor ID: %s at %s changed from %s to CANCELED: '
+              'the doctor was already booked at that time', id, appointment_code, patient_id, doctor_id,
+              appointment_date_time, status),
+       localtimestamp
+FROM appointments_double_booked;
+
+INSERT INTO notifications (user_id, message, is_read, timestamp)
+SELECT patient_id,
+       format('Your appointment %s with Dr. %s on %s was canceled because the doctor had already been booked '
+              'at that time. Please book another time.', appointment_code, doctor_name, appointment_date_time),
+       FALSE, localtimestamp
+FROM appointments_double_booked
+UNION ALL
+SELECT doctor_id,
+       format('Appointment %s with %s on %s was canceled because you were already booked at that time.',
+              appointment_code, patient_name, appointment_date_time),
+       FALSE, localtimestamp
+FROM appointments_double_booked;
+
+DROP INDEX idx_appointments_doctor_active;
+
+CREATE UNIQUE INDEX uk_appointments_doctor_active ON appointments (doctor_id, appointment_date_time)
+    WHERE status IN ('SCHEDULED', 'CONFIRMED');
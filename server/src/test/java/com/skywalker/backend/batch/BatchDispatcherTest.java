@@ -0,0 +1,118 @@
+package com.skywalker.backend.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skywalker.backend.dto.BatchRequest;
+import com.skywalker.backend.dto.BatchResponse;
+import com.skywalker.backend.exception.OurException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.WebInvocationPrivilegeEvaluator;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BatchDispatcherTest {
+
+    private final DispatcherServlet dispatcherServlet = mock(DispatcherServlet.class);
+    private final WebInvocationPrivilegeEvaluator privilegeEvaluator = mock(WebInvocationPrivilegeEvaluator.class);
+    private final BatchDispatcher dispatcher = new BatchDispatcher(dispatcherServlet, privilegeEvaluator, 4, 8, 3);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.destroy();
+    }
+
+    @Test
+    void testDispatch_EmbedsEachRouteResponse() throws Exception {
+        // Arrange
+        when(privilegeEvaluator.isAllowed(any(), any(), any(), any())).thenReturn(true);
+        Map<String, HttpServletRequest> seen = new ConcurrentHashMap<>();
+        doAnswer(invocation -> {
+            HttpServletRequest request = invocation.getArgument(0);
+            HttpServletResponse response = invocation.getArgument(1);
+            seen.put(request.getServletPath(), request);
+            response.setContentType("application/json");
+            response.getOutputStream().write(("{\"path\":\"" + request.getServletPath() + "\"}")
+                    .getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(dispatcherServlet).service(any(), any());
+
+        // Act
+        BatchResponse result = dispatcher.dispatch(
+                batch("/api/doctors/3", "/api/doctors/3/slots?date=2025-10-15&specialty=General%20Medicine"),
+                batchRequest(), new MockHttpServletResponse());
+
+        // Assert
+        assertEquals(List.of("0", "1"), result.getResponses().stream().map(BatchResponse.SubResponse::getId).toList());
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(result));
+        assertEquals("/api/doctors/3/slots", json.get("responses").get(1).get("body").get("path").asText());
+
+        HttpServletRequest slots = seen.get("/api/doctors/3/slots");
+        assertEquals("GET", slots.getMethod());
+        assertEquals("2025-10-15", slots.getParameter("date"));
+        assertEquals("General Medicine", slots.getParameter("specialty"));
+        assertEquals("Bearer token", slots.getHeader("Authorization"));
+        assertNull(slots.getHeader("Accept-Encoding"));
+        assertNull(slots.getHeader("If-None-Match"));
+    }
+
+    @Test
+    void testDispatch_UrlRulesDenyRoute_Forbidden() throws Exception {
+        // Arrange
+        when(privilegeEvaluator.isAllowed(any(), eq("/api/dashboard/admin"), eq("GET"), nullable(Authentication.class)))
+                .thenReturn(false);
+
+        // Act
+        BatchResponse result = dispatcher.dispatch(batch("/api/dashboard/admin"), batchRequest(),
+                new MockHttpServletResponse());
+
+        // Assert
+        assertEquals(HttpServletResponse.SC_FORBIDDEN, result.getResponses().get(0).getStatus());
+        verify(dispatcherServlet, never()).service(any(), any());
+    }
+
+    @Test
+    void testDispatch_RejectsPathsOutsideTheApi() {
+        for (String path : List.of("/actuator/prometheus", "/api/batch", "/api/../actuator/env",
+                "http://other/api/doctors")) {
+            assertThrows(OurException.class,
+                    () -> dispatcher.dispatch(batch(path), batchRequest(), new MockHttpServletResponse()), path);
+        }
+        assertThrows(OurException.class, () -> dispatcher.dispatch(
+                batch("/api/a", "/api/b", "/api/c", "/api/d"), batchRequest(), new MockHttpServletResponse()));
+    }
+
+    private static BatchRequest batch(String... paths) {
+        BatchRequest batch = new BatchRequest();
+        batch.setRequests(Arrays.stream(paths).map(path -> {
+            BatchRequest.SubRequest subRequest = new BatchRequest.SubRequest();
+            subRequest.setPath(path);
+            return subRequest;
+        }).toList());
+        return batch;
+    }
+
+    private static MockHttpServletRequest batchRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/batch");
+        request.addHeader("Authorization", "Bearer token");
+        request.addHeader("Accept-Encoding", "gzip");
+        request.addHeader("If-None-Match", "\"abc\"");
+        request.addHeader("Content-Type", "application/json");
+        return request;
+    }
+}
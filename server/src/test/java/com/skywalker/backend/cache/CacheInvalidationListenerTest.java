@@ -0,0 +1,48 @@
+package com.skywalker.backend.cache;
+
+import com.skywalker.backend.domain.STATUS;
+import com.skywalker.backend.event.AppointmentChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationListenerTest {
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private HttpResponseCache httpResponseCache;
+
+    @Mock
+    private Cache dashboardStats;
+
+    @InjectMocks
+    private CacheInvalidationListener listener;
+
+    @Test
+    void testOnAppointmentChanged_EvictsDashboards() {
+        // Arrange
+        when(cacheManager.getCache("dashboardStats")).thenReturn(dashboardStats);
+        AppointmentChangedEvent event = new AppointmentChangedEvent(10L, 3L, 7L,
+                LocalDateTime.of(2026, 1, 15, 9, 0), null, STATUS.SCHEDULED);
+
+        // Act
+        listener.onAppointmentChanged(event);
+
+        // Assert
+        verify(dashboardStats).evict("admin");
+        verify(dashboardStats).evict("doctor-3");
+        verify(httpResponseCache).evict(HttpResponseCache.DASHBOARD, "admin");
+        verify(httpResponseCache).evict(HttpResponseCache.DASHBOARD, "doctor-3");
+    }
+}
@@ -0,0 +1,107 @@
+package com.skywalker.backend.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.skywalker.backend.domain.SlotStatus;
+import com.skywalker.backend.dto.Response;
+import com.skywalker.backend.dto.TimeSlotDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachePayloadSerializerTest {
+
+    @Test
+    void testRoundTrip_Uncompressed() {
+        // Arrange
+        CachePayloadSerializer<Response> serializer = new CachePayloadSerializer<>(Response.class, Integer.MAX_VALUE);
+        Response response = slotsResponse(4);
+
+        // Act
+        byte[] bytes = serializer.serialize(response);
+
+        // Assert
+        assertEquals(CachePayloadSerializer.FORMAT_SMILE, bytes[0]);
+        assertEquals(response, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void testRoundTrip_CompressedAboveThreshold() {
+        // Arrange
+        CachePayloadSerializer<Response> serializer = new CachePayloadSerializer<>(Response.class, 64);
+        Response response = slotsResponse(32);
+
+        // Act
+        byte[] bytes = serializer.serialize(response);
+
+        // Assert
+        assertEquals(CachePayloadSerializer.FORMAT_SMILE_DEFLATED, bytes[0]);
+        assertEquals(response, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void testDeserialize_LegacyJsonIsCacheMiss() {
+        // Arrange
+        byte[] legacy = legacySerializer().serialize(slotsResponse(1));
+
+        // Act & Assert
+        assertNull(new CachePayloadSerializer<>(Response.class, 1024).deserialize(legacy));
+    }
+
+    // Round-trip times are compared by CacheCodecBenchmark in the benchmarks module
+    @Test
+    void testCompareWithGenericJson_Bytes() {
+        // Arrange
+        RedisSerializer<Object> legacy = legacySerializer();
+        CachePayloadSerializer<Response> compact = new CachePayloadSerializer<>(Response.class, 1024);
+        Response response = slotsResponse(32);
+
+        // Act
+        byte[] legacyBytes = legacy.serialize(response);
+        byte[] compactBytes = compact.serialize(response);
+
+        // Assert
+        assertEquals(response, compact.deserialize(compactBytes));
+        assertTrue(compactBytes.length * 3 < legacyBytes.length,
+                "compact payload should be at least 3x smaller");
+    }
+
+    // Previous format: GenericJackson2JsonRedisSerializer with embedded @class metadata.
+    // The stock instance cannot write java.time values, so register the module it was missing.
+    private GenericJackson2JsonRedisSerializer legacySerializer() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.activateDefaultTyping(mapper.getPolymorphicTypeValidator(),
+                ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        return new GenericJackson2JsonRedisSerializer(mapper);
+    }
+
+    private Response slotsResponse(int slotCount) {
+        List<TimeSlotDTO> slots = new ArrayList<>();
+        LocalTime start = LocalTime.of(9, 0);
+        for (int i = 0; i < slotCount; i++) {
+            TimeSlotDTO slot = new TimeSlotDTO();
+            slot.setId(1000L + i);
+            slot.setDoctorId(3L);
+            slot.setDoctorName("Dr. Rajesh Kumar");
+            slot.setSlotDate(LocalDate.of(2026, 1, 15));
+            slot.setStartTime(start.plusMinutes(15L * i));
+            slot.setEndTime(start.plusMinutes(15L * (i + 1)));
+            slot.setStatus(SlotStatus.AVAILABLE);
+            slots.add(slot);
+        }
+        Response response = new Response();
+        response.setStatusCode(200);
+        response.setMessage("Available slots fetched successfully");
+        response.setTimeSlotList(slots);
+        return response;
+    }
+}
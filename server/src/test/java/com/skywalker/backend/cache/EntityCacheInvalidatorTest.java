@@ -0,0 +1,115 @@
+package com.skywalker.backend.cache;
+
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class EntityCacheInvalidatorTest {
+
+    private static final String USER = "com.skywalker.backend.model.User";
+
+    private final CacheImplementor cache = mock(CacheImplementor.class);
+    private final SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class);
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+    private final EntityPersister persister = mock(EntityPersister.class);
+
+    @BeforeEach
+    void setUp() {
+        when(sessionFactory.getCache()).thenReturn(cache);
+        when(persister.getEntityName()).thenReturn(USER);
+    }
+
+    @Test
+    void testUpdate_EvictedOnOtherNodesOnly() {
+        // Arrange
+        EntityCacheInvalidator writer = invalidator(null);
+        EntityCacheInvalidator other = invalidator(null);
+        writer.onPostUpdate(new PostUpdateEvent(new Object(), 7L, null, null, null, persister, null));
+        Message message = published();
+
+        // Act
+        writer.onMessage(message, null);
+        other.onMessage(message, null);
+
+        // Assert
+        verify(cache, times(1)).evictEntityData(USER, 7L);
+        verify(cache, never()).evictNaturalIdData(any(String.class));
+        verifyNoInteractions(taskScheduler);
+    }
+
+    @Test
+    void testDelete_AlsoEvictsNaturalIds() {
+        // Arrange
+        EntityCacheInvalidator writer = invalidator(null);
+        EntityCacheInvalidator other = invalidator(null);
+        writer.onPostDelete(new PostDeleteEvent(new Object(), 7L, null, persister, null));
+
+        // Act
+        other.onMessage(published(), null);
+
+        // Assert
+        verify(cache).evictEntityData(USER, 7L);
+        verify(cache).evictNaturalIdData(USER);
+    }
+
+    @Test
+    void testWithReplicas_EvictsAgainAfterReplicaLag() {
+        // Arrange
+        EntityCacheInvalidator writer = invalidator(null);
+        EntityCacheInvalidator other = invalidator(Duration.ofSeconds(3));
+        writer.onPostUpdate(new PostUpdateEvent(new Object(), 7L, null, null, null, persister, null));
+        ArgumentCaptor<Runnable> reEviction = ArgumentCaptor.forClass(Runnable.class);
+
+        // Act
+        other.onMessage(published(), null);
+        verify(taskScheduler).schedule(reEviction.capture(), any(Instant.class));
+        reEviction.getValue().run();
+
+        // Assert
+        verify(cache, times(2)).evictEntityData(USER, 7L);
+    }
+
+    @Test
+    void testRedisUnavailable_CommitPathUnaffected() {
+        // Arrange
+        EntityCacheInvalidator writer = invalidator(null);
+        doThrow(new RedisConnectionFailureException("Simulated outage"))
+                .when(redisTemplate).convertAndSend(eq(EntityCacheInvalidator.CHANNEL), any(String.class));
+
+        // Act
+        writer.onPostUpdate(new PostUpdateEvent(new Object(), 7L, null, null, null, persister, null));
+
+        // Assert
+        verify(redisTemplate).convertAndSend(eq(EntityCacheInvalidator.CHANNEL), any(String.class));
+    }
+
+    private EntityCacheInvalidator invalidator(Duration replicaLag) {
+        return new EntityCacheInvalidator(sessionFactory, redisTemplate, taskScheduler, replicaLag);
+    }
+
+    private Message published() {
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, atLeastOnce()).convertAndSend(eq(EntityCacheInvalidator.CHANNEL), body.capture());
+        return new DefaultMessage(EntityCacheInvalidator.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getValue().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,28 @@
+package com.skywalker.backend.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpResponseCacheTest {
+
+    private static final String ETAG = "\"0123456789abcdef\"";
+
+    @Test
+    void testMatchesIfNoneMatch_WeakListAndWildcard() {
+        // Act & Assert
+        assertTrue(HttpResponseCache.matchesIfNoneMatch(ETAG, ETAG));
+        assertTrue(HttpResponseCache.matchesIfNoneMatch("W/" + ETAG, ETAG));
+        assertTrue(HttpResponseCache.matchesIfNoneMatch("\"other\", W/" + ETAG, ETAG));
+        assertTrue(HttpResponseCache.matchesIfNoneMatch("*", ETAG));
+    }
+
+    @Test
+    void testMatchesIfNoneMatch_NoMatch() {
+        // Act & Assert
+        assertFalse(HttpResponseCache.matchesIfNoneMatch(null, ETAG));
+        assertFalse(HttpResponseCache.matchesIfNoneMatch("", ETAG));
+        assertFalse(HttpResponseCache.matchesIfNoneMatch("\"other\", W/\"another\"", ETAG));
+        assertFalse(HttpResponseCache.matchesIfNoneMatch("\"0123456789abcdef-gzip\"", ETAG));
+    }
+}
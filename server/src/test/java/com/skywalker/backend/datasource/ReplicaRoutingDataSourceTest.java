@@ -0,0 +1,151 @@
+package com.skywalker.backend.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final String SERVICE_READ = "com.skywalker.backend.service.impl.DashboardService.getAdminDashboard";
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final DataSource primary = mock(DataSource.class);
+    private final Map<String, Connection> replicaConnections = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("patient@healthmate.com", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testReadOnlyServiceTransaction_RoundRobinOverReplicas() throws Exception {
+        // Arrange
+        ReplicaRoutingDataSource routing = routing(replica("replica-1", 0), replica("replica-2", 40));
+        readOnly(SERVICE_READ);
+
+        // Act
+        List<Connection> connections = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            connections.add(routing.getConnection());
+        }
+
+        // Assert
+        Connection first = replicaConnections.get("replica-1");
+        Connection second = replicaConnections.get("replica-2");
+        assertEquals(List.of(first, second, first, second), connections);
+    }
+
+    @Test
+    void testReadWriteAndRepositoryTransactions_StayOnPrimary() throws Exception {
+        // Arrange
+        ReplicaRoutingDataSource routing = routing(replica("replica-1", 0));
+
+        // Act
+        Connection outsideTransaction = routing.getConnection();
+        readOnly("org.springframework.data.jpa.repository.support.SimpleJpaRepository.findById");
+        Connection repositoryDefault = routing.getConnection();
+        readOnly("com.skywalker.backend.repository.UserRepositoryCustomImpl.findByEmail");
+        Connection repositoryFragment = routing.getConnection();
+
+        // Assert
+        assertSame(primaryConnection, outsideTransaction);
+        assertSame(primaryConnection, repositoryDefault);
+        assertSame(primaryConnection, repositoryFragment);
+    }
+
+    @Test
+    void testWrite_PinsUserToPrimary() throws Exception {
+        // Arrange
+        ReplicaRoutingDataSource routing = routing(replica("replica-1", 0));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionName(
+                "com.skywalker.backend.service.impl.TimeSlotService.bookSlot");
+        routing.getConnection();
+
+        // Act
+        readOnly(SERVICE_READ);
+        Connection pinnedRead = routing.getConnection();
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("other@healthmate.com", null, List.of()));
+        Connection otherUserRead = routing.getConnection();
+
+        // Assert
+        assertSame(primaryConnection, pinnedRead);
+        assertSame(replicaConnections.get("replica-1"), otherUserRead);
+    }
+
+    @Test
+    void testLaggingOrUnreachableReplicas_FallBackToPrimary() throws Exception {
+        // Arrange
+        DataSource unreachable = mock(DataSource.class);
+        when(unreachable.getConnection()).thenThrow(new SQLException("Connection refused"));
+        ReplicaRoutingDataSource routing = routing(Map.entry("replica-1", unreachable), replica("replica-2", 5000));
+        readOnly(SERVICE_READ);
+
+        // Act
+        Connection connection = routing.getConnection();
+
+        // Assert
+        assertSame(primaryConnection, connection);
+    }
+
+    @SafeVarargs
+    private ReplicaRoutingDataSource routing(Map.Entry<String, DataSource>... replicas) {
+        Map<String, DataSource> targets = new LinkedHashMap<>();
+        for (Map.Entry<String, DataSource> replica : replicas) {
+            targets.put(replica.getKey(), replica.getValue());
+        }
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(targets, 2000);
+        monitor.checkLag();
+        return new ReplicaRoutingDataSource(primary, monitor, new ReadYourWritesPin(60000));
+    }
+
+    private Map.Entry<String, DataSource> replica(String name, long lagMs) throws SQLException {
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(1);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(resultSet.getLong(1)).thenReturn(lagMs);
+        Statement statement = mock(Statement.class);
+        when(statement.executeQuery(ReplicaLagMonitor.LAG_QUERY)).thenReturn(resultSet);
+
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(statement);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        replicaConnections.put(name, connection);
+        return Map.entry(name, dataSource);
+    }
+
+    private static void readOnly(String transactionName) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        TransactionSynchronizationManager.setCurrentTransactionName(transactionName);
+    }
+}
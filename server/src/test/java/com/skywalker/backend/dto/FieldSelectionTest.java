@@ -0,0 +1,92 @@
+package com.skywalker.backend.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skywalker.backend.config.FieldSelectionConfig;
+import com.skywalker.backend.domain.STATUS;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldSelectionTest {
+
+    private final ObjectMapper objectMapper = objectMapper();
+
+    @Test
+    void testNoSelection_WritesEverything() throws Exception {
+        // Act
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(appointmentsResponse()));
+
+        // Assert
+        JsonNode appointment = json.get("appointmentList").get(0);
+        assertEquals("NOTE", appointment.get("notes").asText());
+        assertEquals("Cardiology", appointment.get("doctor").get("specialization").asText());
+        assertEquals("Ravi", appointment.get("patient").get("name").asText());
+    }
+
+    @Test
+    void testSelection_KeepsNamedPathsAndEnvelope() throws Exception {
+        // Arrange
+        FieldSelection selection = FieldSelection.parse("id, status,doctor.name,patient");
+
+        // Act
+        JsonNode json = objectMapper.readTree(
+                objectMapper.writer(selection.filters()).writeValueAsString(appointmentsResponse()));
+
+        // Assert
+        assertEquals(200, json.get("statusCode").asInt());
+        JsonNode appointment = json.get("appointmentList").get(0);
+        assertEquals(List.of("id", "status", "doctor", "patient"), fieldNames(appointment));
+        assertEquals(List.of("name"), fieldNames(appointment.get("doctor")));
+        assertEquals(List.of("id", "name"), fieldNames(appointment.get("patient")));
+    }
+
+    @Test
+    void testParse_BlankIsNoSelection() {
+        assertNull(FieldSelection.parse(null));
+        assertNull(FieldSelection.parse(" , "));
+    }
+
+    private static ObjectMapper objectMapper() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new FieldSelectionConfig().fieldSelectionCustomizer().customize(builder);
+        return builder.build();
+    }
+
+    private static Response appointmentsResponse() {
+        DoctorDTO doctor = new DoctorDTO();
+        doctor.setId(3L);
+        doctor.setName("Dr. Amit Sharma");
+        doctor.setSpecialization("Cardiology");
+
+        PatientDTO patient = new PatientDTO();
+        patient.setId(9L);
+        patient.setName("Ravi");
+
+        AppointmentDTO appointment = new AppointmentDTO();
+        appointment.setId(1L);
+        appointment.setNotes("NOTE");
+        appointment.setStatus(STATUS.SCHEDULED);
+        appointment.setAppointmentCode("APT-1");
+        appointment.setAppointmentDateTime(LocalDateTime.of(2026, 1, 5, 10, 0));
+        appointment.setDoctor(doctor);
+        appointment.setPatient(patient);
+
+        Response response = new Response();
+        response.setStatusCode(200);
+        response.setMessage("successful");
+        response.setAppointmentList(List.of(appointment));
+        return response;
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -0,0 +1,226 @@
+package com.skywalker.backend.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skywalker.backend.cache.CachePayloadSerializer;
+import com.skywalker.backend.dto.Response;
+import com.skywalker.backend.dto.StatusRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings("unchecked")
+class IdempotencyGuardTest {
+
+    private final RedisTemplate<String, IdempotencyRecord> redisTemplate = mock(RedisTemplate.class);
+    private final ValueOperations<String, IdempotencyRecord> values = mock(ValueOperations.class);
+    private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+    private final ScheduledFuture<Object> renewal = mock(ScheduledFuture.class);
+    private final Map<String, IdempotencyRecord> redis = new ConcurrentHashMap<>();
+    private final List<String> renewed = new ArrayList<>();
+    private final CachePayloadSerializer<IdempotencyRecord> serializer =
+            new CachePayloadSerializer<>(IdempotencyRecord.class, Integer.MAX_VALUE);
+    private final AtomicInteger executions = new AtomicInteger();
+    private IdempotencyGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.setIfAbsent(anyString(), any(), any(Duration.class)))
+                .thenAnswer(invocation -> redis.putIfAbsent(invocation.getArgument(0), invocation.getArgument(1)) == null);
+        when(values.get(anyString())).thenAnswer(invocation -> redis.get(invocation.<String>getArgument(0)));
+        doAnswer(invocation -> redis.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(values).set(anyString(), any(), any(Duration.class));
+        when(redisTemplate.delete(anyString())).thenAnswer(invocation -> redis.remove(invocation.<String>getArgument(0)) != null);
+        // The renewal script: extends the key only while it holds the given pending record
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                anyList(), any(), any())).thenAnswer(invocation -> {
+            String key = invocation.<List<String>>getArgument(3).get(0);
+            IdempotencyRecord stored = redis.get(key);
+            byte[] storedBytes = serializer.serialize(stored);
+            if (stored == null || !Arrays.equals(storedBytes, invocation.<byte[]>getArgument(4))) {
+                return 0L;
+            }
+            renewed.add(key + ":" + new String(invocation.<byte[]>getArgument(5)));
+            return 1L;
+        });
+        doReturn(renewal).when(taskScheduler).scheduleAtFixedRate(any(Runnable.class), any(Instant.class), any(Duration.class));
+        guard = new IdempotencyGuard(redisTemplate, new ObjectMapper(), new SimpleMeterRegistry(), taskScheduler,
+                60000, 30000, 2000);
+    }
+
+    @Test
+    void testRetry_ReplaysFirstResponse() {
+        // Act
+        ResponseEntity<Response> first = guard.execute("key-1", request(), status("CONFIRMED"), action(200));
+        ResponseEntity<Response> retry = guard.execute("key-1", request(), status("CONFIRMED"), action(200));
+
+        // Assert
+        assertEquals(1, executions.get());
+        assertEquals(first.getBody().getMessage(), retry.getBody().getMessage());
+        assertNull(first.getHeaders().getFirst(IdempotencyGuard.REPLAYED_HEADER));
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyGuard.REPLAYED_HEADER));
+    }
+
+    @Test
+    void testSameKeyDifferentRequest_Rejected() {
+        // Act
+        guard.execute("key-1", request(), status("CONFIRMED"), action(200));
+        ResponseEntity<Response> other = guard.execute("key-1", request(), status("CANCELED"), action(200));
+
+        // Assert
+        assertEquals(422, other.getStatusCode().value());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testServerError_NotKept() {
+        // Act
+        guard.execute("key-1", request(), status("CONFIRMED"), action(500));
+        ResponseEntity<Response> retry = guard.execute("key-1", request(), status("CONFIRMED"), action(200));
+
+        // Assert
+        assertEquals(200, retry.getStatusCode().value());
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void testConcurrentDuplicate_WaitsForFirst() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<Response> slow = () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return action(200).get();
+        };
+
+        // Act
+        CompletableFuture<ResponseEntity<Response>> first =
+                CompletableFuture.supplyAsync(() -> guard.execute("key-1", request(), status("CONFIRMED"), slow));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<ResponseEntity<Response>> duplicate =
+                CompletableFuture.supplyAsync(() -> guard.execute("key-1", request(), status("CONFIRMED"), slow));
+        Thread.sleep(100);
+        release.countDown();
+
+        // Assert
+        assertEquals(200, first.get(5, TimeUnit.SECONDS).getStatusCode().value());
+        assertEquals("true", duplicate.get(5, TimeUnit.SECONDS).getHeaders().getFirst(IdempotencyGuard.REPLAYED_HEADER));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testLongRunningWrite_LockRenewedUntilDone() {
+        // Arrange
+        ArgumentCaptor<Runnable> renew = ArgumentCaptor.forClass(Runnable.class);
+        Supplier<Response> slow = () -> {
+            verify(taskScheduler).scheduleAtFixedRate(renew.capture(), any(Instant.class), eq(Duration.ofMillis(10000)));
+            // Past lock-ms: each renewal pushes the pending record's expiry out again
+            renew.getValue().run();
+            renew.getValue().run();
+            return action(200).get();
+        };
+
+        // Act
+        guard.execute("key-1", request(), status("CONFIRMED"), slow);
+
+        // Assert
+        assertEquals(List.of("healthmate:idempotency:anonymous:key-1:30000",
+                "healthmate:idempotency:anonymous:key-1:30000"), renewed);
+        verify(renewal).cancel(false);
+        assertTrue(redis.get("healthmate:idempotency:anonymous:key-1").isCompleted());
+    }
+
+    @Test
+    void testRenewalAfterCompletion_LeavesStoredResponseAlone() {
+        // Arrange
+        ArgumentCaptor<Runnable> renew = ArgumentCaptor.forClass(Runnable.class);
+        guard.execute("key-1", request(), status("CONFIRMED"), action(200));
+        verify(taskScheduler).scheduleAtFixedRate(renew.capture(), any(Instant.class), any(Duration.class));
+
+        // Act: a renewal that was already running when the task was cancelled
+        renew.getValue().run();
+
+        // Assert
+        assertTrue(renewed.isEmpty());
+        verify(redisTemplate, never()).expire(anyString(), any(Duration.class));
+        assertTrue(redis.get("healthmate:idempotency:anonymous:key-1").isCompleted());
+    }
+
+    @Test
+    void testRedisUnavailable_TrackedLocally() {
+        // Arrange
+        when(values.setIfAbsent(anyString(), any(), any(Duration.class)))
+                .thenThrow(new RedisConnectionFailureException("Simulated outage"));
+
+        // Act
+        guard.execute("key-1", request(), status("CONFIRMED"), action(200));
+        ResponseEntity<Response> retry = guard.execute("key-1", request(), status("CONFIRMED"), action(200));
+
+        // Assert
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyGuard.REPLAYED_HEADER));
+        assertEquals(1, executions.get());
+        verifyNoInteractions(taskScheduler);
+    }
+
+    @Test
+    void testNoKey_AlwaysExecutes() {
+        // Act
+        guard.execute(null, request(), status("CONFIRMED"), action(200));
+        guard.execute(null, request(), status("CONFIRMED"), action(200));
+
+        // Assert
+        assertEquals(2, executions.get());
+        verifyNoInteractions(values);
+    }
+
+    private Supplier<Response> action(int statusCode) {
+        return () -> {
+            Response response = new Response();
+            response.setStatusCode(statusCode);
+            response.setMessage("execution " + executions.incrementAndGet());
+            return response;
+        };
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("PUT", "/api/appointments/7/status");
+    }
+
+    private static StatusRequest status(String status) {
+        StatusRequest request = new StatusRequest();
+        request.setStatus(status);
+        return request;
+    }
+}
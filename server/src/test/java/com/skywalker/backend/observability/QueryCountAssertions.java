@@ -0,0 +1,56 @@
+package com.skywalker.backend.observability;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pins the number of JDBC statements an action issues, e.g. a MockMvc call against an endpoint:
+ *
+ * <pre>
+ * QueryCountAssertions.assertQueryCount(2, () -> mockMvc.perform(get("/api/doctors/3")));
+ * </pre>
+ *
+ * Needs the application DataSource to be wrapped by {@link QueryInspector#wrap}, which
+ * {@link QueryInspectionConfig} does whenever {@code query-inspection.enabled} is on.
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static QueryStats capture(ThrowingRunnable action) throws Exception {
+        QueryStats stats = QueryInspector.begin();
+        try {
+            action.run();
+        } finally {
+            QueryInspector.end();
+        }
+        return stats;
+    }
+
+    public static QueryStats assertQueryCount(int expected, ThrowingRunnable action) throws Exception {
+        QueryStats stats = capture(action);
+        assertEquals(expected, stats.getQueryCount(),
+                () -> "Unexpected statement count, executed: " + stats.getStatements());
+        return stats;
+    }
+
+    public static QueryStats assertMaxQueryCount(int max, ThrowingRunnable action) throws Exception {
+        QueryStats stats = capture(action);
+        assertTrue(stats.getQueryCount() <= max, () -> "Expected at most " + max + " statements but got "
+                + stats.getQueryCount() + ": " + stats.getStatements());
+        return stats;
+    }
+
+    public static void assertNoRepeatedStatements(QueryStats stats, int threshold) {
+        Map<String, Integer> repeated = stats.getRepeatedStatements(threshold);
+        assertTrue(repeated.isEmpty(), () -> "Possible N+1, statements repeated: " + repeated);
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
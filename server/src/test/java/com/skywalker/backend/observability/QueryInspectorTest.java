@@ -0,0 +1,116 @@
+package com.skywalker.backend.observability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class QueryInspectorTest {
+
+    private static final String FIND_DOCTOR = "select d.user_id, d.specialization from doctors d where d.user_id = ?";
+
+    @Mock
+    private DataSource target;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement statement;
+    @Mock
+    private ResultSet resultSet;
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        dataSource = QueryInspector.wrap(target);
+    }
+
+    @Test
+    void testAssertQueryCount_RepeatedStatementIsReportedAsNPlusOne() throws Exception {
+        // Act
+        QueryStats stats = QueryCountAssertions.assertQueryCount(6, () -> {
+            query("select u.id from users u where u.role = ?");
+            for (int i = 0; i < 5; i++) {
+                query(FIND_DOCTOR);
+            }
+        });
+
+        // Assert
+        assertEquals(Map.of(FIND_DOCTOR, 5), stats.getRepeatedStatements(5));
+        assertThrows(AssertionError.class, () -> QueryCountAssertions.assertNoRepeatedStatements(stats, 5));
+        assertThrows(AssertionError.class, () -> QueryCountAssertions.assertMaxQueryCount(1, () -> {
+            query(FIND_DOCTOR);
+            query(FIND_DOCTOR);
+        }));
+    }
+
+    @Test
+    void testNestedScopes_StatementRecordedInEnclosingScope() throws Exception {
+        // Act
+        QueryStats outer = QueryCountAssertions.capture(() -> {
+            query(FIND_DOCTOR);
+            QueryStats inner = QueryCountAssertions.capture(() -> query(FIND_DOCTOR));
+            assertEquals(1, inner.getQueryCount());
+        });
+
+        // Assert
+        assertEquals(2, outer.getQueryCount());
+    }
+
+    @Test
+    void testShape_NormalizesWhitespaceAndInLists() {
+        // Act & Assert
+        assertEquals("select * from users where id in (?)",
+                QueryStats.shape("select *\n  from users\twhere id in (?, ?,?)"));
+    }
+
+    @Test
+    void testSlowStatements_AboveThreshold() throws Exception {
+        // Arrange
+        when(statement.executeQuery()).thenAnswer(invocation -> {
+            Thread.sleep(30);
+            return resultSet;
+        });
+
+        // Act
+        QueryStats stats = QueryCountAssertions.capture(() -> query(FIND_DOCTOR));
+
+        // Assert
+        assertTrue(stats.getSlowStatements(20).containsKey(FIND_DOCTOR));
+        assertTrue(stats.getSlowStatements(10_000).isEmpty());
+    }
+
+    @Test
+    void testOutsideScope_NothingRecorded() throws Exception {
+        // Act
+        query(FIND_DOCTOR);
+        QueryStats stats = QueryCountAssertions.capture(() -> { });
+
+        // Assert
+        assertEquals(0, stats.getQueryCount());
+    }
+
+    private void query(String sql) throws Exception {
+        try (Connection c = dataSource.getConnection(); PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.executeQuery();
+        }
+    }
+}
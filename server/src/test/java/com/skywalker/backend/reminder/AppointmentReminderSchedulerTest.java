@@ -0,0 +1,151 @@
+package com.skywalker.backend.reminder;
+
+import com.skywalker.backend.domain.STATUS;
+import com.skywalker.backend.event.AppointmentChangedEvent;
+import com.skywalker.backend.model.Appointment;
+import com.skywalker.backend.model.Doctor;
+import com.skywalker.backend.model.Patient;
+import com.skywalker.backend.repository.AppointmentRepository;
+import com.skywalker.backend.repository.projection.AppointmentTime;
+import com.skywalker.backend.service.impl.EmailService;
+import com.skywalker.backend.service.impl.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AppointmentReminderSchedulerTest {
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @InjectMocks
+    private AppointmentReminderScheduler scheduler;
+
+    private final LocalDateTime inTwoHours = LocalDateTime.now().plusHours(2);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(scheduler, "enabled", true);
+        ReflectionTestUtils.setField(scheduler, "leadMinutes", new long[]{1440, 60});
+        ReflectionTestUtils.setField(scheduler, "horizonHours", 6L);
+        ReflectionTestUtils.setField(scheduler, "catchUpMinutes", 30L);
+        ReflectionTestUtils.setField(scheduler, "batchSize", 200);
+    }
+
+    @Test
+    void testInitialize_LoadsWindowInOneQuery() {
+        // Arrange
+        when(appointmentRepository.findActiveTimesBetween(any(), any()))
+                .thenReturn(List.of(time(1L, inTwoHours), time(2L, inTwoHours.plusHours(3))));
+
+        // Act
+        scheduler.initialize();
+
+        // Assert: only the one-hour reminders fall within the six-hour window
+        verify(appointmentRepository, times(1)).findActiveTimesBetween(any(), any());
+        assertEquals(2, scheduler.pending());
+    }
+
+    @Test
+    void testAppointmentChanges_MoveAndDropReminders() {
+        // Arrange
+        when(appointmentRepository.findActiveTimesBetween(any(), any())).thenReturn(List.of(time(1L, inTwoHours)));
+        scheduler.initialize();
+
+        // Act
+        scheduler.onAppointmentChanged(AppointmentChangedEvent.created(appointment(2L, inTwoHours, STATUS.SCHEDULED)));
+        scheduler.onAppointmentChanged(AppointmentChangedEvent.statusChanged(
+                appointment(1L, inTwoHours.plusHours(1), STATUS.CONFIRMED), STATUS.SCHEDULED));
+        int afterBookingAndReschedule = scheduler.pending();
+        scheduler.onAppointmentChanged(AppointmentChangedEvent.statusChanged(
+                appointment(2L, inTwoHours, STATUS.CANCELED), STATUS.SCHEDULED));
+
+        // Assert
+        assertEquals(2, afterBookingAndReschedule);
+        assertEquals(1, scheduler.pending());
+    }
+
+    @Test
+    void testInitialize_ReplaysChangesMadeWhileLoading() {
+        // Arrange
+        when(appointmentRepository.findActiveTimesBetween(any(), any())).thenAnswer(invocation -> {
+            // Committed after the window was read: two new bookings and a cancellation of one the query returns
+            scheduler.onAppointmentChanged(AppointmentChangedEvent.created(appointment(2L, inTwoHours, STATUS.SCHEDULED)));
+            scheduler.onAppointmentChanged(AppointmentChangedEvent.created(
+                    appointment(3L, inTwoHours.plusHours(1), STATUS.SCHEDULED)));
+            scheduler.onAppointmentChanged(AppointmentChangedEvent.statusChanged(
+                    appointment(1L, inTwoHours, STATUS.CANCELED), STATUS.SCHEDULED));
+            return List.of(time(1L, inTwoHours));
+        });
+
+        // Act
+        scheduler.initialize();
+
+        // Assert: only the new bookings' one-hour reminders
+        assertEquals(2, scheduler.pending());
+    }
+
+    @Test
+    void testDispatch_SkipsRescheduledAppointments() {
+        // Arrange: moved on another node since the reminder was scheduled
+        when(appointmentRepository.findAllWithParticipants(any(), any(), any()))
+                .thenReturn(List.of(appointment(1L, inTwoHours.plusDays(1), STATUS.SCHEDULED)));
+
+        // Act
+        scheduler.dispatch(List.of(new AppointmentReminderScheduler.Reminder(1L, inTwoHours, 60)));
+
+        // Assert
+        verifyNoInteractions(redisTemplate, notificationService, emailService);
+    }
+
+    private AppointmentTime time(Long id, LocalDateTime dateTime) {
+        return new AppointmentTime() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getAppointmentDateTime() {
+                return dateTime;
+            }
+        };
+    }
+
+    private Appointment appointment(Long id, LocalDateTime dateTime, STATUS status) {
+        Patient patient = new Patient();
+        patient.setId(10L);
+        Doctor doctor = new Doctor();
+        doctor.setId(5L);
+
+        Appointment appointment = new Appointment();
+        appointment.setId(id);
+        appointment.setDoctor(doctor);
+        appointment.setPatient(patient);
+        appointment.setAppointmentDateTime(dateTime);
+        appointment.setStatus(status);
+        return appointment;
+    }
+}
@@ -0,0 +1,76 @@
+package com.skywalker.backend.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void testAdvance_FiresInOrderAcrossLevels() {
+        // Arrange: 10 ticks of 1s per level, so these land on levels 0, 1 and 2
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 10, START);
+        wheel.add("level2", START + 250_000);
+        wheel.add("level0", START + 5_000);
+        wheel.add("level1", START + 42_000);
+
+        // Act
+        List<String> early = wheel.advance(START + 41_000);
+        List<String> middle = wheel.advance(START + 42_000);
+        List<String> late = wheel.advance(START + 250_999);
+
+        // Assert
+        assertEquals(List.of("level0"), early);
+        assertEquals(List.of("level1"), middle);
+        assertEquals(List.of("level2"), late);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testAdvance_NeverFiresBeforeItsTick() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 10, START);
+        wheel.add("reminder", START + 123_456);
+
+        // Act
+        List<String> before = wheel.advance(START + 122_999);
+        List<String> on = wheel.advance(START + 123_000);
+
+        // Assert
+        assertTrue(before.isEmpty());
+        assertEquals(List.of("reminder"), on);
+    }
+
+    @Test
+    void testCancel_RemovesTimer() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 10, START);
+        TimingWheel.Timer<String> cancelled = wheel.add("cancelled", START + 30_000);
+        wheel.add("kept", START + 30_000);
+
+        // Act
+        wheel.cancel(cancelled);
+        wheel.cancel(cancelled);
+
+        // Assert
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("kept"), wheel.advance(START + 60_000));
+    }
+
+    @Test
+    void testAdd_PastExpirationFiresOnNextAdvance() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 10, START);
+        wheel.advance(START + 5_000);
+
+        // Act
+        wheel.add("missed", START - 60_000);
+
+        // Assert
+        assertEquals(List.of("missed"), wheel.advance(START + 5_000));
+    }
+}
@@ -0,0 +1,124 @@
+package com.skywalker.backend.service;
+
+import com.skywalker.backend.model.Notification;
+import com.skywalker.backend.model.User;
+import com.skywalker.backend.repository.AppointmentRepository;
+import com.skywalker.backend.repository.UserRepository;
+import com.skywalker.backend.repository.projection.DoctorCount;
+import com.skywalker.backend.service.impl.AppointmentAutoCloseJob;
+import com.skywalker.backend.service.impl.AuditLogService;
+import com.skywalker.backend.service.impl.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AppointmentAutoCloseJobTest {
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private AuditLogService auditLogService;
+
+    @InjectMocks
+    private AppointmentAutoCloseJob autoCloseJob;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(autoCloseJob, "graceMinutes", 120L);
+        ReflectionTestUtils.setField(autoCloseJob, "lookbackDays", 90L);
+        ReflectionTestUtils.setField(autoCloseJob, "batchSize", 10);
+        ReflectionTestUtils.setField(autoCloseJob, "maxBatches", 5);
+    }
+
+    @Test
+    void testClosePast_ChunksUntilShortBatch() {
+        // Arrange: two full chunks of confirmed appointments, then a partial one
+        when(appointmentRepository.transitionPast(eq("CONFIRMED"), eq("COMPLETED"), any(), any(), eq(10), any()))
+                .thenReturn(List.of(count(1L, 6), count(2L, 4)), List.of(count(1L, 10)), List.of(count(2L, 3)));
+        when(appointmentRepository.transitionPast(eq("SCHEDULED"), eq("NO_SHOW"), any(), any(), eq(10), any()))
+                .thenReturn(List.of(count(2L, 2)));
+        when(userRepository.findAllById(any())).thenReturn(List.of(user(1L), user(2L)));
+
+        // Act
+        int closed = autoCloseJob.closePastAppointments();
+
+        // Assert
+        assertEquals(25, closed);
+        verify(appointmentRepository, times(3)).transitionPast(eq("CONFIRMED"), any(), any(), any(), anyInt(), any());
+        verify(auditLogService).logAction(eq("APPOINTMENTS_AUTO_COMPLETED"), contains("Moved 23 "));
+        verify(auditLogService).logAction(eq("APPOINTMENTS_AUTO_NO_SHOW"), contains("Moved 2 "));
+    }
+
+    @Test
+    void testClosePast_OneNotificationPerDoctor() {
+        // Arrange
+        when(appointmentRepository.transitionPast(eq("CONFIRMED"), any(), any(), any(), anyInt(), any()))
+                .thenReturn(List.of(count(1L, 3)));
+        when(appointmentRepository.transitionPast(eq("SCHEDULED"), any(), any(), any(), anyInt(), any()))
+                .thenReturn(List.of(count(1L, 2)));
+        when(userRepository.findAllById(any())).thenReturn(List.of(user(1L)));
+
+        // Act
+        autoCloseJob.closePastAppointments();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Notification>> sent = ArgumentCaptor.forClass(List.class);
+        verify(notificationService).sendNotifications(sent.capture());
+        assertEquals(1, sent.getValue().size());
+        assertTrue(sent.getValue().get(0).getMessage().contains("3 marked completed, 2 never confirmed"));
+    }
+
+    @Test
+    void testClosePast_NothingStale() {
+        // Arrange
+        when(appointmentRepository.transitionPast(any(), any(), any(), any(), anyInt(), any())).thenReturn(List.of());
+
+        // Act
+        int closed = autoCloseJob.closePastAppointments();
+
+        // Assert
+        assertEquals(0, closed);
+        verifyNoInteractions(auditLogService, notificationService, userRepository);
+    }
+
+    private DoctorCount count(Long doctorId, long count) {
+        return new DoctorCount() {
+            @Override
+            public Long getDoctorId() {
+                return doctorId;
+            }
+
+            @Override
+            public Long getCount() {
+                return count;
+            }
+        };
+    }
+
+    private User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+}
@@ -0,0 +1,76 @@
+package com.skywalker.backend.service;
+
+import com.skywalker.backend.service.impl.AppointmentCodeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AppointmentCodeServiceTest {
+
+    private final AtomicLong sequence = new AtomicLong(1);
+    private final AtomicLong sequenceCalls = new AtomicLong();
+    // Stand-in for nextval on a sequence with INCREMENT BY 50
+    private final AppointmentCodeService codes = new AppointmentCodeService(new JdbcTemplate() {
+        @Override
+        public <T> T queryForObject(String sql, Class<T> requiredType) {
+            sequenceCalls.incrementAndGet();
+            return requiredType.cast(sequence.getAndAdd(50));
+        }
+    });
+
+    @Test
+    void testNextCode_UniqueAndReservedInBlocks() {
+        // Act
+        Set<String> issued = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            issued.add(codes.nextCode());
+        }
+
+        // Assert
+        assertEquals(10_000, issued.size());
+        assertEquals(200, sequenceCalls.get());
+        for (String code : issued) {
+            assertTrue(code.matches("APT-[0-9A-HJKMNP-TV-Z]{4}-[0-9A-HJKMNP-TV-Z]{4}"), code);
+            assertEquals(code, codes.normalize(code));
+        }
+    }
+
+    @Test
+    void testNormalize_AcceptsTypingVariants() {
+        // Arrange
+        String code = codes.nextCode();
+        String typed = code.toLowerCase().replace('0', 'o').replace('1', 'l');
+
+        // Act & Assert
+        assertEquals(code, codes.normalize(" " + typed + " "));
+    }
+
+    @Test
+    void testNormalize_RejectsMistypedCodes() {
+        String code = codes.nextCode();
+        char[] chars = code.toCharArray();
+        for (int i = 4; i < chars.length; i++) {
+            if (chars[i] == '-') {
+                continue;
+            }
+            char[] typo = chars.clone();
+            typo[i] = typo[i] == 'X' ? 'Y' : 'X';
+            assertNull(codes.normalize(new String(typo)), new String(typo));
+        }
+        assertNull(codes.normalize("APT-1234"));
+        assertNull(codes.normalize("APT-ABCD-EFG!"));
+        assertNull(codes.normalize("' OR 1=1 --"));
+        assertNull(codes.normalize(null));
+    }
+
+    @Test
+    void testNormalize_KeepsEarlierFormats() {
+        assertEquals("APT-2025-001", codes.normalize("APT-2025-001"));
+        assertEquals("APT-3FA85F6457", codes.normalize("apt-3fa85f6457"));
+    }
+}
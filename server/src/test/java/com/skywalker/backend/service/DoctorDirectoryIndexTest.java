@@ -0,0 +1,129 @@
+package com.skywalker.backend.service;
+
+import com.skywalker.backend.dto.DoctorDTO;
+import com.skywalker.backend.event.DoctorChangedEvent;
+import com.skywalker.backend.repository.DoctorRepository;
+import com.skywalker.backend.repository.projection.DoctorSummary;
+import com.skywalker.backend.service.impl.DoctorDirectoryIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DoctorDirectoryIndexTest {
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @InjectMocks
+    private DoctorDirectoryIndex directoryIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(doctorRepository.findAllSummaries()).thenReturn(Arrays.asList(
+                doctor(1L, "Dr. Rajesh Kumar", "Cardiology"),
+                doctor(2L, "Dr. Priya Sharma", "Pediatrics"),
+                doctor(3L, "Dr. Amit Sharma", "Cardiology")
+        ));
+        directoryIndex.rebuild();
+    }
+
+    @Test
+    void testSearch_PrefixAndFacets() {
+        // Act
+        DoctorDirectoryIndex.DirectoryPage result = directoryIndex.search("sha", null, PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(2, result.page().getTotalElements());
+        assertEquals(List.of(2L, 3L), result.page().getContent().stream().map(DoctorDTO::getId).toList());
+        assertEquals(1L, result.facets().get("Cardiology"));
+        assertEquals(1L, result.facets().get("Pediatrics"));
+    }
+
+    @Test
+    void testSearch_KeywordAndSpecialization() {
+        // Act
+        DoctorDirectoryIndex.DirectoryPage result = directoryIndex.search("sharma", "cardiology", PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(1, result.page().getTotalElements());
+        assertEquals(3L, result.page().getContent().get(0).getId());
+    }
+
+    @Test
+    void testSearch_UnfilteredPagesFollowChanges() {
+        // Arrange
+        DoctorDirectoryIndex.DirectoryPage before = directoryIndex.search(null, null, PageRequest.of(0, 2));
+        when(doctorRepository.findSummaryById(4L)).thenReturn(Optional.of(doctor(4L, "Dr. Neha Gupta", "Dermatology")));
+
+        // Act
+        DoctorDirectoryIndex.DirectoryPage again = directoryIndex.search(null, null, PageRequest.of(0, 2));
+        directoryIndex.onDoctorChanged(DoctorChangedEvent.updated(4L));
+        DoctorDirectoryIndex.DirectoryPage after = directoryIndex.search(null, "dermatology", PageRequest.of(1, 2));
+
+        // Assert
+        assertEquals(List.of(1L, 2L), before.page().getContent().stream().map(DoctorDTO::getId).toList());
+        assertEquals(3, before.page().getTotalElements());
+        assertSame(before.facets(), again.facets());
+        assertEquals(2L, before.facets().get("Cardiology"));
+        assertEquals(1, after.page().getTotalElements());
+        assertTrue(after.page().getContent().isEmpty());
+        assertEquals(1L, after.facets().get("Dermatology"));
+        assertEquals(List.of(1L, 2L, 3L, 4L), directoryIndex.findAll().stream().map(DoctorDTO::getId).toList());
+    }
+
+    @Test
+    void testOnDoctorChanged_UpdatesIndexes() {
+        // Arrange
+        when(doctorRepository.findSummaryById(2L)).thenReturn(Optional.of(doctor(2L, "Dr. Priya Sharma", "Cardiology")));
+
+        // Act
+        directoryIndex.onDoctorChanged(DoctorChangedEvent.updated(2L));
+        directoryIndex.onDoctorChanged(DoctorChangedEvent.deleted(1L));
+
+        // Assert
+        assertEquals(List.of("Cardiology"), directoryIndex.getSpecializations());
+        assertEquals(2L, directoryIndex.getSpecializationCounts().get("Cardiology"));
+        assertTrue(directoryIndex.search("rajesh", null, PageRequest.of(0, 10)).page().isEmpty());
+    }
+
+    @Test
+    void testRebuild_ReplaysChangesMadeWhileLoading() {
+        // Arrange
+        when(doctorRepository.findSummaryById(4L)).thenReturn(Optional.of(doctor(4L, "Dr. Neha Gupta", "Dermatology")));
+        when(doctorRepository.findAllSummaries()).thenAnswer(invocation -> {
+            // Committed after the snapshot was read
+            directoryIndex.onDoctorChanged(DoctorChangedEvent.updated(4L));
+            directoryIndex.onDoctorChanged(DoctorChangedEvent.deleted(1L));
+            return List.of(doctor(1L, "Dr. Rajesh Kumar", "Cardiology"));
+        });
+
+        // Act
+        directoryIndex.rebuild();
+
+        // Assert
+        assertEquals(List.of(4L), directoryIndex.findAll().stream().map(DoctorDTO::getId).toList());
+        assertEquals(List.of("Dermatology"), directoryIndex.getSpecializations());
+        assertTrue(directoryIndex.search("rajesh", null, PageRequest.of(0, 10)).page().isEmpty());
+        assertEquals(1, directoryIndex.search("neha", null, PageRequest.of(0, 10)).page().getTotalElements());
+    }
+
+    private DoctorSummary doctor(Long id, String name, String specialization) {
+        return new Summary(id, name, "doctor" + id + "@healthmate.com", specialization, 10, "09:00-17:00");
+    }
+
+    private record Summary(Long getId, String getName, String getEmail, String getSpecialization,
+                           Integer getExperience, String getAvailableHours) implements DoctorSummary {
+    }
+}
@@ -0,0 +1,89 @@
+package com.skywalker.backend.service;
+
+import com.skywalker.backend.cache.CacheInvalidationListener;
+import com.skywalker.backend.domain.SlotStatus;
+import com.skywalker.backend.event.TimeSlotChangedEvent;
+import com.skywalker.backend.service.impl.SlotAvailabilityBroadcaster;
+import com.skywalker.backend.service.impl.SlotAvailabilityEngine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SlotAvailabilityBroadcasterTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private SlotAvailabilityEngine availabilityEngine;
+
+    @Mock
+    private CacheInvalidationListener cacheInvalidationListener;
+
+    private final LocalDate date = LocalDate.of(2026, 1, 15);
+
+    @Test
+    void testOnMessage_AppliesChangeFromOtherNode() {
+        // Arrange
+        SlotAvailabilityBroadcaster sender = broadcaster();
+        SlotAvailabilityBroadcaster receiver = broadcaster();
+        Message message = publish(sender, TimeSlotChangedEvent.forSlot(3L, date, 42L, SlotStatus.BOOKED));
+
+        // Act
+        receiver.onMessage(message, null);
+
+        // Assert
+        ArgumentCaptor<TimeSlotChangedEvent> applied = ArgumentCaptor.forClass(TimeSlotChangedEvent.class);
+        verify(availabilityEngine).onTimeSlotChanged(applied.capture());
+        verify(cacheInvalidationListener).onTimeSlotChanged(applied.getValue());
+        assertEquals(3L, applied.getValue().getDoctorId());
+        assertEquals(date, applied.getValue().getStartDate());
+        assertEquals(42L, applied.getValue().getSlotId());
+        assertEquals(SlotStatus.BOOKED, applied.getValue().getStatus());
+    }
+
+    @Test
+    void testOnMessage_RangeChangeAndOwnMessage() {
+        // Arrange
+        SlotAvailabilityBroadcaster sender = broadcaster();
+        Message message = publish(sender, TimeSlotChangedEvent.forRange(3L, date, date.plusDays(6)));
+
+        // Act
+        sender.onMessage(message, null);
+        broadcaster().onMessage(message, null);
+
+        // Assert: ignored by the node that sent it, applied once by the other
+        ArgumentCaptor<TimeSlotChangedEvent> applied = ArgumentCaptor.forClass(TimeSlotChangedEvent.class);
+        verify(availabilityEngine).onTimeSlotChanged(applied.capture());
+        assertEquals(date.plusDays(6), applied.getValue().getEndDate());
+        assertNull(applied.getValue().getSlotId());
+        assertNull(applied.getValue().getStatus());
+    }
+
+    private SlotAvailabilityBroadcaster broadcaster() {
+        return new SlotAvailabilityBroadcaster(redisTemplate, availabilityEngine, cacheInvalidationListener);
+    }
+
+    private Message publish(SlotAvailabilityBroadcaster sender, TimeSlotChangedEvent event) {
+        clearInvocations(redisTemplate);
+        sender.onTimeSlotChanged(event);
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(SlotAvailabilityBroadcaster.CHANNEL), body.capture());
+        return new DefaultMessage(SlotAvailabilityBroadcaster.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getValue().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,230 @@
+package com.skywalker.backend.service;
+
+import com.skywalker.backend.domain.SlotStatus;
+import com.skywalker.backend.dto.TimeSlotDTO;
+import com.skywalker.backend.event.TimeSlotChangedEvent;
+import com.skywalker.backend.model.Doctor;
+import com.skywalker.backend.model.TimeSlot;
+import com.skywalker.backend.model.User;
+import com.skywalker.backend.repository.TimeSlotRepository;
+import com.skywalker.backend.service.impl.SlotAvailabilityEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SlotAvailabilityEngineTest {
+
+    @Mock
+    private TimeSlotRepository timeSlotRepository;
+
+    @InjectMocks
+    private SlotAvailabilityEngine availabilityEngine;
+
+    private final LocalDate tomorrow = LocalDate.now().plusDays(1);
+    private Doctor cardiologist;
+    private Doctor pediatrician;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(availabilityEngine, "windowDays", 30);
+        ReflectionTestUtils.setField(availabilityEngine, "lazyDaysMax", 100);
+        cardiologist = doctor(1L, "Dr. Rajesh Kumar");
+        pediatrician = doctor(2L, "Dr. Priya Sharma");
+
+        when(timeSlotRepository.findAllWithDoctorBySlotDateBetween(any(), any())).thenReturn(Arrays.asList(
+                slot(11L, cardiologist, tomorrow, "10:00", SlotStatus.AVAILABLE),
+                slot(10L, cardiologist, tomorrow, "09:30", SlotStatus.BOOKED),
+                slot(12L, cardiologist, tomorrow, "10:30", SlotStatus.AVAILABLE),
+                slot(20L, pediatrician, tomorrow, "09:45", SlotStatus.AVAILABLE)
+        ));
+        availabilityEngine.rebuild();
+    }
+
+    @Test
+    void testFindFreeSlots_OrderedByStartTime() {
+        // Act
+        List<TimeSlotDTO> result = availabilityEngine.findFreeSlots(1L, tomorrow);
+
+        // Assert
+        assertEquals(List.of(11L, 12L), result.stream().map(TimeSlotDTO::getId).toList());
+        assertEquals("Dr. Rajesh Kumar", result.get(0).getDoctorName());
+        assertEquals(LocalTime.of(10, 30), result.get(0).getEndTime());
+        assertTrue(availabilityEngine.findFreeSlots(1L, tomorrow.plusDays(1)).isEmpty());
+    }
+
+    @Test
+    void testFindFirstFree_AcrossDoctors() {
+        // Act
+        Optional<TimeSlotDTO> first = availabilityEngine.findFirstFree(List.of(1L, 2L), tomorrow.atStartOfDay());
+        Optional<TimeSlotDTO> afterTen = availabilityEngine.findFirstFree(List.of(1L, 2L), tomorrow.atTime(10, 15));
+
+        // Assert
+        assertEquals(20L, first.orElseThrow().getId());
+        assertEquals(12L, afterTen.orElseThrow().getId());
+    }
+
+    @Test
+    void testFindEarliestFree_MergesDoctorsWithinTimeWindow() {
+        // Act
+        List<TimeSlotDTO> result = availabilityEngine.findEarliestFree(List.of(2L, 1L), tomorrow.atStartOfDay(), tomorrow.plusDays(6),
+                LocalTime.of(9, 0), LocalTime.of(11, 0), 2);
+        List<TimeSlotDTO> morningOnly = availabilityEngine.findEarliestFree(List.of(1L, 2L), tomorrow.atStartOfDay(), tomorrow,
+                LocalTime.of(9, 0), LocalTime.of(10, 30), 10);
+
+        // Assert
+        assertEquals(List.of(20L, 11L), result.stream().map(TimeSlotDTO::getId).toList());
+        assertEquals(List.of(20L, 11L), morningOnly.stream().map(TimeSlotDTO::getId).toList());
+    }
+
+    @Test
+    void testFindEarliestFree_SkipsSlotsStartedBeforeStartOnFirstDay() {
+        // Act
+        List<TimeSlotDTO> result = availabilityEngine.findEarliestFree(List.of(1L, 2L), tomorrow.atTime(9, 50),
+                tomorrow, null, null, 10);
+
+        // Assert
+        assertEquals(List.of(11L, 12L), result.stream().map(TimeSlotDTO::getId).toList());
+    }
+
+    @Test
+    void testOnTimeSlotChanged_BookAndRelease() {
+        // Act
+        availabilityEngine.onTimeSlotChanged(TimeSlotChangedEvent.forSlot(1L, tomorrow, 11L, SlotStatus.BOOKED));
+        availabilityEngine.onTimeSlotChanged(TimeSlotChangedEvent.forSlot(1L, tomorrow, 10L, SlotStatus.AVAILABLE));
+
+        // Assert
+        assertEquals(List.of(10L, 12L), availabilityEngine.findFreeSlots(1L, tomorrow).stream()
+                .map(TimeSlotDTO::getId).toList());
+        verify(timeSlotRepository, never()).findAllWithDoctorByDoctorIdAndSlotDateBetween(any(), any(), any());
+    }
+
+    @Test
+    void testOnTimeSlotChanged_GeneratedRangeIsReloaded() {
+        // Arrange
+        LocalDate nextDay = tomorrow.plusDays(1);
+        when(timeSlotRepository.findAllWithDoctorByDoctorIdAndSlotDateBetween(2L, tomorrow, nextDay))
+                .thenReturn(List.of(
+                        slot(20L, pediatrician, tomorrow, "09:45", SlotStatus.AVAILABLE),
+                        slot(21L, pediatrician, nextDay, "08:00", SlotStatus.AVAILABLE)));
+
+        // Act
+        availabilityEngine.onTimeSlotChanged(TimeSlotChangedEvent.forRange(2L, tomorrow, nextDay));
+
+        // Assert
+        assertEquals(21L, availabilityEngine.findFreeSlots(2L, nextDay).get(0).getId());
+        assertEquals(12L, availabilityEngine.findFirstFree(List.of(1L, 2L), tomorrow.atTime(10, 15))
+                .orElseThrow().getId());
+    }
+
+    @Test
+    void testFindFreeSlots_ReplaysChangesMadeWhileLoadingDayOutsideWindow() {
+        // Arrange
+        LocalDate later = tomorrow.plusDays(60);
+        when(timeSlotRepository.findAllWithDoctorByDoctorIdAndSlotDateBetween(1L, later, later)).thenAnswer(invocation -> {
+            // Booked after the day was read
+            availabilityEngine.onTimeSlotChanged(TimeSlotChangedEvent.forSlot(1L, later, 30L, SlotStatus.BOOKED));
+            return List.of(
+                    slot(30L, cardiologist, later, "09:00", SlotStatus.AVAILABLE),
+                    slot(31L, cardiologist, later, "09:30", SlotStatus.AVAILABLE));
+        });
+
+        // Act
+        List<TimeSlotDTO> first = availabilityEngine.findFreeSlots(1L, later);
+        List<TimeSlotDTO> cached = availabilityEngine.findFreeSlots(1L, later);
+
+        // Assert
+        assertEquals(List.of(31L), first.stream().map(TimeSlotDTO::getId).toList());
+        assertEquals(List.of(31L), cached.stream().map(TimeSlotDTO::getId).toList());
+        verify(timeSlotRepository, times(1)).findAllWithDoctorByDoctorIdAndSlotDateBetween(1L, later, later);
+    }
+
+    @Test
+    void testFindEarliestFree_NeverLoadsDaysOutsideWindow() {
+        // Act
+        List<TimeSlotDTO> result = availabilityEngine.findEarliestFree(List.of(1L, 2L), tomorrow.atStartOfDay(),
+                tomorrow.plusDays(90), null, null, 10);
+
+        // Assert
+        assertEquals(List.of(20L, 11L, 12L), result.stream().map(TimeSlotDTO::getId).toList());
+        assertTrue(availabilityEngine.covers(tomorrow, tomorrow.plusDays(20)));
+        assertFalse(availabilityEngine.covers(tomorrow, tomorrow.plusDays(90)));
+        verify(timeSlotRepository, never()).findAllWithDoctorByDoctorIdAndSlotDateBetween(any(), any(), any());
+    }
+
+    @Test
+    void testFindFreeSlots_RangeChangeWhileLoadingDayOutsideWindow_ReadsDayAgain() {
+        // Arrange
+        LocalDate later = tomorrow.plusDays(60);
+        when(timeSlotRepository.findAllWithDoctorByDoctorIdAndSlotDateBetween(1L, later, later))
+                .thenAnswer(invocation -> {
+                    // Slots regenerated after the day was read
+                    availabilityEngine.onTimeSlotChanged(TimeSlotChangedEvent.forRange(1L, later, later));
+                    return List.of(slot(30L, cardiologist, later, "09:00", SlotStatus.AVAILABLE));
+                })
+                .thenReturn(List.of(slot(32L, cardiologist, later, "11:00", SlotStatus.AVAILABLE)));
+
+        // Act
+        List<TimeSlotDTO> result = availabilityEngine.findFreeSlots(1L, later);
+
+        // Assert
+        assertEquals(List.of(32L), result.stream().map(TimeSlotDTO::getId).toList());
+        verify(timeSlotRepository, times(2)).findAllWithDoctorByDoctorIdAndSlotDateBetween(1L, later, later);
+    }
+
+    @Test
+    void testFindFreeSlots_DropsOldestDaysOutsideWindow() {
+        // Arrange
+        ReflectionTestUtils.setField(availabilityEngine, "lazyDaysMax", 2);
+        LocalDate later = tomorrow.plusDays(60);
+        when(timeSlotRepository.findAllWithDoctorByDoctorIdAndSlotDateBetween(eq(1L), any(), any())).thenReturn(List.of());
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            availabilityEngine.findFreeSlots(1L, later.plusDays(i));
+        }
+        availabilityEngine.findFreeSlots(1L, later.plusDays(2));
+        availabilityEngine.findFreeSlots(1L, later);
+
+        // Assert: the third day pushed out the first, which is loaded again
+        verify(timeSlotRepository, times(2)).findAllWithDoctorByDoctorIdAndSlotDateBetween(1L, later, later);
+        verify(timeSlotRepository, times(1)).findAllWithDoctorByDoctorIdAndSlotDateBetween(1L, later.plusDays(2), later.plusDays(2));
+    }
+
+    private TimeSlot slot(Long id, Doctor doctor, LocalDate date, String start, SlotStatus status) {
+        TimeSlot slot = new TimeSlot();
+        slot.setId(id);
+        slot.setDoctor(doctor);
+        slot.setSlotDate(date);
+        slot.setStartTime(LocalTime.parse(start));
+        slot.setEndTime(LocalTime.parse(start).plusMinutes(30));
+        slot.setStatus(status);
+        return slot;
+    }
+
+    private Doctor doctor(Long id, String name) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+
+        Doctor doctor = new Doctor();
+        doctor.setId(id);
+        doctor.setUser(user);
+        return doctor;
+    }
+}
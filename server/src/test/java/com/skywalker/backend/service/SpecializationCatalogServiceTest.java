@@ -0,0 +1,91 @@
+package com.skywalker.backend.service;
+
+import com.skywalker.backend.repository.DoctorRepository;
+import com.skywalker.backend.repository.projection.SpecializationCount;
+import com.skywalker.backend.service.impl.DoctorDirectoryIndex;
+import com.skywalker.backend.service.impl.SpecializationCatalogService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SpecializationCatalogServiceTest {
+
+    @Mock
+    private DoctorDirectoryIndex directoryIndex;
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @InjectMocks
+    private SpecializationCatalogService catalogService;
+
+    @Test
+    void testGetCatalog_IndexNotReady_CountsFromDatabase() {
+        // Arrange
+        when(directoryIndex.isReady()).thenReturn(false);
+        when(doctorRepository.findAllSpecializations()).thenReturn(List.of(
+                count("Cardiology", 2L), count("Pediatrics", 1L)));
+
+        // Act
+        SpecializationCatalogService.Catalog catalog = catalogService.getCatalog().orElseThrow();
+
+        // Assert
+        assertEquals(List.of("Cardiology", "Pediatrics"), catalog.specializations());
+        assertEquals(2L, catalog.counts().get("Cardiology"));
+        verify(directoryIndex, never()).getSpecializationCounts();
+    }
+
+    @Test
+    void testGetCatalog_IndexReady_BuiltOncePerVersion() {
+        // Arrange
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("Cardiology", 2L);
+        when(directoryIndex.isReady()).thenReturn(true);
+        when(directoryIndex.getVersion()).thenReturn(3L);
+        when(directoryIndex.getSpecializationCounts()).thenReturn(counts);
+
+        // Act
+        SpecializationCatalogService.Catalog first = catalogService.getCatalog().orElseThrow();
+        SpecializationCatalogService.Catalog second = catalogService.getCatalog().orElseThrow();
+
+        // Assert
+        assertSame(first, second);
+        verify(directoryIndex, times(1)).getSpecializationCounts();
+        verifyNoInteractions(doctorRepository);
+    }
+
+    @Test
+    void testGetCatalog_IndexNotReadyAndDatabaseDown_Empty() {
+        // Arrange
+        when(directoryIndex.isReady()).thenReturn(false);
+        when(doctorRepository.findAllSpecializations()).thenThrow(new DataAccessResourceFailureException("down"));
+
+        // Act & Assert
+        assertTrue(catalogService.getCatalog().isEmpty());
+    }
+
+    private static SpecializationCount count(String specialization, Long count) {
+        return new SpecializationCount() {
+            @Override
+            public String getSpecialization() {
+                return specialization;
+            }
+
+            @Override
+            public Long getCount() {
+                return count;
+            }
+        };
+    }
+}
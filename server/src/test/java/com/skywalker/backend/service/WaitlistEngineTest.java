@@ -0,0 +1,157 @@
+package com.skywalker.backend.service;
+
+import com.skywalker.backend.domain.STATUS;
+import com.skywalker.backend.domain.WaitlistStatus;
+import com.skywalker.backend.event.AppointmentChangedEvent;
+import com.skywalker.backend.model.Appointment;
+import com.skywalker.backend.model.Doctor;
+import com.skywalker.backend.model.Patient;
+import com.skywalker.backend.model.WaitlistEntry;
+import com.skywalker.backend.repository.AppointmentRepository;
+import com.skywalker.backend.repository.TimeSlotRepository;
+import com.skywalker.backend.repository.WaitlistEntryRepository;
+import com.skywalker.backend.service.impl.NotificationService;
+import com.skywalker.backend.service.impl.WaitlistEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WaitlistEngineTest {
+
+    @Mock
+    private WaitlistEntryRepository waitlistRepository;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private TimeSlotRepository timeSlotRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @InjectMocks
+    private WaitlistEngine waitlistEngine;
+
+    private final LocalDate tomorrow = LocalDate.now().plusDays(1);
+    private final LocalDateTime freedTime = tomorrow.atTime(10, 0);
+    private final LocalDateTime joined = LocalDateTime.now().minusHours(1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(waitlistEngine, "offerTtlMs", 900_000L);
+        // Loaded out of join order: patient 30 joined first
+        when(waitlistRepository.findActiveFrom(any())).thenReturn(List.of(
+                entry(2L, 40L, joined.plusMinutes(5)),
+                entry(1L, 30L, joined),
+                entry(3L, 50L, joined.plusMinutes(10))));
+        waitlistEngine.rebuild();
+    }
+
+    @Test
+    void testCancellation_OfferedToEarliestJoin() {
+        // Arrange
+        when(waitlistRepository.markOffered(eq(1L), eq(freedTime), any(), any())).thenReturn(1);
+
+        // Act
+        waitlistEngine.onAppointmentChanged(AppointmentChangedEvent.statusChanged(
+                canceledAppointment(), STATUS.SCHEDULED));
+
+        // Assert
+        verify(waitlistRepository, times(1)).markOffered(anyLong(), any(), any(), any());
+        verify(notificationService).sendNotification(eq(30L), contains(freedTime.toString()));
+        verify(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void testRepeatedCancel_NoSecondOffer() {
+        // Act
+        waitlistEngine.onAppointmentChanged(AppointmentChangedEvent.statusChanged(
+                canceledAppointment(), STATUS.CANCELED));
+
+        // Assert
+        verifyNoInteractions(notificationService);
+        verify(waitlistRepository, never()).markOffered(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void testOffer_SkipsEntriesTakenOnOtherNodes() {
+        // Arrange
+        when(waitlistRepository.markOffered(eq(1L), any(), any(), any())).thenReturn(0);
+        when(waitlistRepository.markOffered(eq(2L), any(), any(), any())).thenReturn(1);
+
+        // Act
+        waitlistEngine.offer(5L, freedTime);
+
+        // Assert
+        verify(notificationService).sendNotification(eq(40L), anyString());
+        verify(waitlistRepository, never()).markOffered(eq(3L), any(), any(), any());
+    }
+
+    @Test
+    void testExpiry_CascadesToNextPatient() {
+        // Arrange
+        when(waitlistRepository.markOffered(anyLong(), any(), any(), any())).thenReturn(1);
+        when(waitlistRepository.markExpired(eq(1L), any())).thenReturn(1);
+        waitlistEngine.offer(5L, freedTime);
+        ArgumentCaptor<Runnable> expiry = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(expiry.capture(), any(Instant.class));
+
+        // Act
+        expiry.getValue().run();
+
+        // Assert
+        verify(notificationService).sendNotification(eq(30L), contains("expired"));
+        verify(waitlistRepository).markOffered(eq(2L), eq(freedTime), any(), any());
+        verify(notificationService).sendNotification(eq(40L), contains(freedTime.toString()));
+    }
+
+    private WaitlistEntry entry(Long id, Long patientId, LocalDateTime createdAt) {
+        Patient patient = new Patient();
+        patient.setId(patientId);
+        Doctor doctor = new Doctor();
+        doctor.setId(5L);
+
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setId(id);
+        entry.setPatient(patient);
+        entry.setDoctor(doctor);
+        entry.setDesiredDate(tomorrow);
+        entry.setStatus(WaitlistStatus.WAITING);
+        entry.setCreatedAt(createdAt);
+        return entry;
+    }
+
+    private Appointment canceledAppointment() {
+        Patient patient = new Patient();
+        patient.setId(99L);
+        Doctor doctor = new Doctor();
+        doctor.setId(5L);
+
+        Appointment appointment = new Appointment();
+        appointment.setId(7L);
+        appointment.setDoctor(doctor);
+        appointment.setPatient(patient);
+        appointment.setAppointmentDateTime(freedTime);
+        appointment.setStatus(STATUS.CANCELED);
+        return appointment;
+    }
+}